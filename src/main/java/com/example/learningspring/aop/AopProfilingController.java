@@ -0,0 +1,64 @@
+package com.example.learningspring.aop;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+public class AopProfilingController {
+
+    @Autowired
+    MethodProfiler methodProfiler;
+
+    //Profiles the matching beans for `seconds`, then switches itself off. One session at a time
+    /*
+    curl --location --request POST 'http://localhost:8080/aop/profile?pointcut=restControllerHandler()&seconds=30&sampleRate=0.1'
+    curl --location --request POST 'http://localhost:8080/aop/profile?pointcut=within(com.example.learningspring..*)&seconds=30'
+     */
+    @PostMapping("/aop/profile")
+    public Map<String, Object> startProfiling(@RequestParam String pointcut,
+                                              @RequestParam(defaultValue = "30") long seconds,
+                                              @RequestParam(defaultValue = "1.0") double sampleRate) {
+        try {
+            return methodProfiler.start(pointcut, Duration.ofSeconds(seconds), sampleRate).snapshot();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            //Invalid pointcut, window or sample rate
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    //Results so far while running, the final results afterwards
+    /*
+    curl --location --request GET 'http://localhost:8080/aop/profile'
+     */
+    @GetMapping("/aop/profile")
+    public Map<String, Object> getProfile() {
+        ProfilingSession session = methodProfiler.getSession();
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No profiling session was started");
+        }
+        return session.snapshot();
+    }
+
+    /*
+    curl --location --request DELETE 'http://localhost:8080/aop/profile'
+     */
+    @DeleteMapping("/aop/profile")
+    public Map<String, Object> stopProfiling() {
+        ProfilingSession session = methodProfiler.stop();
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No profiling session is running");
+        }
+        return session.snapshot();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.learningspring.aop;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+public class AopTimingController {
+
+    @Autowired
+    ExecutionAop executionAop;
+
+    /*
+    curl --location --request GET 'http://localhost:8080/aop/timing'
+     */
+    @GetMapping("/aop/timing")
+    public Map<String, Object> getTiming() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", executionAop.isTimingEnabled());
+        result.put("sampleRate", executionAop.getSampleRate());
+        result.put("handlers", executionAop.getHandlerLatencies());
+        return result;
+    }
+
+    //Takes effect on the next call, without re-creating any proxy
+    /*
+    curl --location --request POST 'http://localhost:8080/aop/timing?enabled=true&sampleRate=0.1'
+     */
+    @PostMapping("/aop/timing")
+    public Map<String, Object> setTiming(@RequestParam(required = false) Boolean enabled,
+                                         @RequestParam(required = false) Double sampleRate) {
+        if (sampleRate != null) {
+            executionAop.setSampleRate(sampleRate);
+        }
+        if (enabled != null) {
+            executionAop.setTimingEnabled(enabled);
+        }
+        return getTiming();
+    }
+}
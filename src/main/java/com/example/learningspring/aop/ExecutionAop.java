@@ -1,13 +1,24 @@
 package com.example.learningspring.aop;
 
+import com.example.learningspring.metrics.LatencyRecorder;
+import com.example.learningspring.metrics.MetricRegistry;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
 @Component
 @Aspect
 public class ExecutionAop {
@@ -17,6 +28,19 @@ public class ExecutionAop {
     //JDK default proxy or CGLIB proxy will be created.
     //DefaultAopProxyFactory, CglibAopProxy, JdkDynamicAopProxy
     //ReflectiveMethodInvocation
+    //With mvn -Paspectj-ltw the advice is woven into the controllers instead, see WovenAspectsPostProcessor
+
+    //Sample rates are compared against a random int in [0, SAMPLE_SCALE)
+    private static final int SAMPLE_SCALE = 1 << 16;
+
+    @Autowired
+    MetricRegistry metricRegistry;
+
+    //Both can be changed at runtime (AopTimingController): the proxies stay, the advice checks these on every call
+    private volatile boolean timingEnabled;
+    private volatile int sampleThreshold;
+
+    private final Map<Method, LatencyRecorder> handlerLatencies = new ConcurrentHashMap<>();
 
     @Pointcut("execution(* com.example.learningspring.aop.TestAopController.*(..))")
     public void customPointcut() {
@@ -26,11 +50,73 @@ public class ExecutionAop {
     public void before() {
         System.out.println("before execution aop");
     }
-    
-    @Around("@within(org.springframework.web.bind.annotation.RestController)")
-    public void around(ProceedingJoinPoint joinPoint) throws Throwable {
-        System.out.println("around execution aop 1");
-        joinPoint.proceed();
-        System.out.println("around execution aop 2");
+
+    @Value("${aop.timing.enabled:true}")
+    public void setTimingEnabled(boolean timingEnabled) {
+        this.timingEnabled = timingEnabled;
+    }
+
+    //Fraction of calls that are timed, 0.0 - 1.0
+    @Value("${aop.timing.sample-rate:1.0}")
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleThreshold = (int) Math.round(sampleRate * SAMPLE_SCALE);
+    }
+
+    public boolean isTimingEnabled() {
+        return timingEnabled;
+    }
+
+    public double getSampleRate() {
+        return (double) sampleThreshold / SAMPLE_SCALE;
+    }
+
+    //execution(public !static ...) is all a proxy can intercept anyway. Woven by AspectJ, @within alone would also
+    //match calls, field access, constructors and private methods inside the controllers.
+    //Also usable by name in a profiling session: POST /aop/profile?pointcut=restControllerHandler()
+    @Pointcut("@within(org.springframework.web.bind.annotation.RestController) && execution(public !static * *(..))")
+    public void restControllerHandler() {
+
+    }
+
+    //Times every @RestController handler, per handler method into a lock-free histogram (LatencyRecorder).
+    //A call that isn't sampled costs two volatile reads and a random number.
+    @Around("restControllerHandler()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!timingEnabled || !isSampled()) {
+            return joinPoint.proceed();
+        }
+        LatencyRecorder latency = latencyFor(((MethodSignature) joinPoint.getSignature()).getMethod());
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            //Failed calls too: a handler that fails slowly is still slow
+            latency.recordSince(start);
+        }
+    }
+
+    private boolean isSampled() {
+        int threshold = sampleThreshold;
+        return threshold >= SAMPLE_SCALE || ThreadLocalRandom.current().nextInt(SAMPLE_SCALE) < threshold;
+    }
+
+    private LatencyRecorder latencyFor(Method method) {
+        LatencyRecorder latency = handlerLatencies.get(method);
+        if (latency == null) {
+            latency = handlerLatencies.computeIfAbsent(method, key -> metricRegistry.latency(
+                    "aop.handler." + key.getDeclaringClass().getSimpleName() + "." + key.getName()));
+        }
+        return latency;
+    }
+
+    //Per handler method, latencies in microseconds
+    public Map<String, Object> getHandlerLatencies() {
+        Map<String, Object> result = new TreeMap<>();
+        handlerLatencies.forEach((method, latency) -> result.put(
+                method.getDeclaringClass().getSimpleName() + "." + method.getName(), latency.snapshot().toMap()));
+        return result;
     }
 }
@@ -0,0 +1,141 @@
+package com.example.learningspring.aop;
+
+import com.example.learningspring.threadPool.gracefulShutdown.ExecutorLifecycleManager;
+import org.aspectj.weaver.tools.UnsupportedPointcutPrimitiveException;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+//Method level profiling for a pointcut chosen at runtime, for a bounded window (AopProfilingController).
+//The pointcut is parsed like an @Pointcut of ExecutionAop, so its named pointcuts (e.g. restControllerHandler())
+//can be used directly. Nothing is re-proxied: the session's advice is added to the existing Spring AOP proxies of
+//the matching beans (Advised.addAdvisor) and removed again when the window ends. Outside a window profiling costs
+//nothing. Beans without a proxy can't be profiled, they are listed in the result.
+@Component
+public class MethodProfiler {
+
+    @Autowired
+    ConfigurableListableBeanFactory beanFactory;
+
+    @Value("${aop.profiling.max-seconds:300}")
+    long maxSeconds;
+
+    //Bounds the memory of a session, further call paths are not recorded
+    @Value("${aop.profiling.max-nodes:10000}")
+    int maxNodes;
+
+    private final ScheduledThreadPoolExecutor scheduler = createScheduler();
+
+    private ProfilingSession session;
+    private Advisor advisor;
+    private List<Advised> profiledProxies = List.of();
+    private ScheduledFuture<?> scheduledStop;
+
+    //Not a bean, so the lifecycle manager has to be told to drain it on shutdown
+    @Autowired(required = false)
+    void setExecutorLifecycleManager(ExecutorLifecycleManager executorLifecycleManager) {
+        executorLifecycleManager.register("aopProfiler", scheduler);
+    }
+
+    public synchronized ProfilingSession start(String expression, Duration window, double sampleRate) {
+        if (session != null && session.isRunning()) {
+            throw new IllegalStateException("A profiling session is already running: " + session.getExpression());
+        }
+        if (window.isNegative() || window.isZero() || window.getSeconds() > maxSeconds) {
+            throw new IllegalArgumentException("window must be between 1 and " + maxSeconds + " seconds: " + window.getSeconds());
+        }
+        if (sampleRate <= 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be > 0 and <= 1: " + sampleRate);
+        }
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setPointcutDeclarationScope(ExecutionAop.class);
+        pointcut.setExpression(expression);
+        pointcut.setBeanFactory(beanFactory);
+        //Parses the expression here. AspectJ rejects primitives Spring AOP can't match (e.g. call()) with its own
+        //exception, report them like a syntax error
+        try {
+            pointcut.getPointcutExpression();
+        } catch (UnsupportedPointcutPrimitiveException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        List<Advised> proxies = new ArrayList<>();
+        List<String> proxiedBeans = new ArrayList<>();
+        List<String> notProxiedBeans = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            //Only beans that exist already, nothing is created for profiling
+            Object bean = beanFactory.getSingleton(beanName);
+            if (bean == null || !AopUtils.canApply(pointcut, AopUtils.getTargetClass(bean))) {
+                continue;
+            }
+            if (bean instanceof Advised advised && !advised.isFrozen()) {
+                proxies.add(advised);
+                proxiedBeans.add(beanName);
+            } else {
+                notProxiedBeans.add(beanName);
+            }
+        }
+
+        ProfilingSession started = new ProfilingSession(expression, sampleRate, maxNodes, window, proxiedBeans, notProxiedBeans);
+        Advisor sessionAdvisor = new DefaultPointcutAdvisor(pointcut, started);
+        //Last in the chain: the time is the method's (and its inner advice), not the other aspects around it
+        proxies.forEach(proxy -> proxy.addAdvisor(sessionAdvisor));
+        this.session = started;
+        this.advisor = sessionAdvisor;
+        this.profiledProxies = proxies;
+        this.scheduledStop = scheduler.schedule(() -> stop(started), window.toMillis(), TimeUnit.MILLISECONDS);
+        return started;
+    }
+
+    //Ends the running session early, returns null if none is running
+    public synchronized ProfilingSession stop() {
+        if (session == null || !session.isRunning()) {
+            return null;
+        }
+        scheduledStop.cancel(false);
+        stop(session);
+        return session;
+    }
+
+    private synchronized void stop(ProfilingSession expired) {
+        if (expired != session || !session.isRunning()) {
+            return;
+        }
+        session.finish();
+        profiledProxies.forEach(proxy -> proxy.removeAdvisor(advisor));
+        profiledProxies = List.of();
+        advisor = null;
+        System.out.println("Profiling session ended: " + session.getExpression());
+    }
+
+    //The running session, or the last one with its results. null if none was started
+    public synchronized ProfilingSession getSession() {
+        return session;
+    }
+
+    //A pending stop is dropped on shutdown instead of keeping the executor (and the lifecycle manager's drain) alive
+    //until the window ends: the advice goes away with the proxies anyway
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "Aop-Profiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.learningspring.aop;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+//One profiling window started by MethodProfiler. Added as advice to the proxies matching the pointcut, it records
+//every sampled call into a call tree: one node per call path (root -> ... -> method) with its call count, total time
+//and self time (total minus the time spent in profiled calls it made).
+//Sampling decides per outermost profiled call, a sampled call is recorded with everything it calls.
+public class ProfilingSession implements MethodInterceptor {
+
+    private static final int SAMPLE_SCALE = 1 << 16;
+
+    //Marks a thread inside an outermost call that wasn't sampled, so its nested calls aren't sampled on their own
+    private static final Frame NOT_SAMPLED = new Frame(null, 0);
+
+    private final String expression;
+    private final int sampleThreshold;
+    private final int maxNodes;
+    private final Instant startedAt;
+    private final Duration window;
+    private final List<String> proxiedBeans;
+    private final List<String> notProxiedBeans;
+
+    private final CallNode root = new CallNode("root");
+    private final AtomicInteger nodeCount = new AtomicInteger();
+    private final LongAdder sampledCalls = new LongAdder();
+    private final LongAdder droppedCalls = new LongAdder();
+    private final ThreadLocal<Frame> currentFrame = new ThreadLocal<>();
+
+    private volatile boolean running = true;
+    private volatile Instant endedAt;
+
+    ProfilingSession(String expression, double sampleRate, int maxNodes, Duration window,
+                     List<String> proxiedBeans, List<String> notProxiedBeans) {
+        this.expression = expression;
+        this.sampleThreshold = (int) Math.round(sampleRate * SAMPLE_SCALE);
+        this.maxNodes = maxNodes;
+        this.startedAt = Instant.now();
+        this.window = window;
+        this.proxiedBeans = proxiedBeans;
+        this.notProxiedBeans = notProxiedBeans;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Frame parent = currentFrame.get();
+        if (!running || parent == NOT_SAMPLED) {
+            return invocation.proceed();
+        }
+        if (parent == null && !isSampled()) {
+            currentFrame.set(NOT_SAMPLED);
+            try {
+                return invocation.proceed();
+            } finally {
+                currentFrame.remove();
+            }
+        }
+        CallNode node = child(parent == null ? root : parent.node, invocation);
+        if (node == null) {
+            //Tree is full: the call's time stays in its caller's self time
+            droppedCalls.increment();
+            return invocation.proceed();
+        }
+        if (parent == null) {
+            sampledCalls.increment();
+        }
+        Frame frame = new Frame(node, System.nanoTime());
+        currentFrame.set(frame);
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - frame.start;
+            node.record(elapsed, elapsed - frame.childNanos);
+            if (parent == null) {
+                //Nothing stays behind on pooled threads after the window
+                currentFrame.remove();
+            } else {
+                parent.childNanos += elapsed;
+                currentFrame.set(parent);
+            }
+        }
+    }
+
+    private boolean isSampled() {
+        return sampleThreshold >= SAMPLE_SCALE || ThreadLocalRandom.current().nextInt(SAMPLE_SCALE) < sampleThreshold;
+    }
+
+    //null once the tree has maxNodes nodes, e.g. for deep recursion
+    private CallNode child(CallNode parent, MethodInvocation invocation) {
+        CallNode child = parent.children.get(invocation.getMethod());
+        if (child != null) {
+            return child;
+        }
+        if (nodeCount.incrementAndGet() > maxNodes) {
+            nodeCount.decrementAndGet();
+            return null;
+        }
+        CallNode created = new CallNode(label(invocation.getMethod(), invocation));
+        child = parent.children.putIfAbsent(invocation.getMethod(), created);
+        if (child != null) {
+            nodeCount.decrementAndGet();
+            return child;
+        }
+        return created;
+    }
+
+    //The target class's method, not the interface method a JDK proxy is called with
+    private static String label(Method method, MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : method.getDeclaringClass();
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        return targetClass.getSimpleName() + "." + specific.getName();
+    }
+
+    void finish() {
+        running = false;
+        endedAt = Instant.now();
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pointcut", expression);
+        result.put("sampleRate", (double) sampleThreshold / SAMPLE_SCALE);
+        result.put("running", running);
+        result.put("startedAt", startedAt.toString());
+        result.put("window", window.toString());
+        result.put("endedAt", endedAt != null ? endedAt.toString() : null);
+        result.put("proxiedBeans", proxiedBeans);
+        //Match the pointcut, but only calls through a Spring AOP proxy can be profiled
+        result.put("notProxiedBeans", notProxiedBeans);
+        result.put("sampledCalls", sampledCalls.sum());
+        result.put("droppedCalls", droppedCalls.sum());
+        result.put("methods", methods());
+        result.put("callTree", root.childrenToMaps());
+        return result;
+    }
+
+    //Per method over all call paths, by self time. Times in microseconds.
+    //A recursive method's total counts the nested calls again
+    private List<Map<String, Object>> methods() {
+        Map<String, long[]> byMethod = new TreeMap<>();
+        root.collect(byMethod);
+        List<Map<String, Object>> methods = new ArrayList<>();
+        byMethod.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> -entry.getValue()[2]))
+                .forEach(entry -> methods.add(toMap(entry.getKey(), entry.getValue()[0], entry.getValue()[1], entry.getValue()[2])));
+        return methods;
+    }
+
+    private static Map<String, Object> toMap(String method, long calls, long totalNanos, long selfNanos) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("method", method);
+        result.put("calls", calls);
+        result.put("totalMicros", totalNanos / 1_000);
+        result.put("selfMicros", selfNanos / 1_000);
+        return result;
+    }
+
+    private static final class CallNode {
+        final String method;
+        final Map<Method, CallNode> children = new ConcurrentHashMap<>();
+        final LongAdder calls = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder selfNanos = new LongAdder();
+
+        CallNode(String method) {
+            this.method = method;
+        }
+
+        void record(long total, long self) {
+            calls.increment();
+            totalNanos.add(total);
+            selfNanos.add(self);
+        }
+
+        void collect(Map<String, long[]> byMethod) {
+            for (CallNode child : children.values()) {
+                long[] totals = byMethod.computeIfAbsent(child.method, key -> new long[3]);
+                totals[0] += child.calls.sum();
+                totals[1] += child.totalNanos.sum();
+                totals[2] += child.selfNanos.sum();
+                child.collect(byMethod);
+            }
+        }
+
+        //Children by total time, times in microseconds
+        List<Map<String, Object>> childrenToMaps() {
+            List<Map<String, Object>> result = new ArrayList<>();
+            children.values().stream()
+                    .sorted(Comparator.comparingLong(child -> -child.totalNanos.sum()))
+                    .forEach(child -> {
+                        Map<String, Object> map = toMap(child.method, child.calls.sum(), child.totalNanos.sum(), child.selfNanos.sum());
+                        if (!child.children.isEmpty()) {
+                            map.put("children", child.childrenToMaps());
+                        }
+                        result.add(map);
+                    });
+            return result;
+        }
+    }
+
+    //A call in progress on one thread, only touched by that thread
+    private static final class Frame {
+        final CallNode node;
+        final long start;
+        long childNanos;
+
+        Frame(CallNode node, long start) {
+            this.node = node;
+            this.start = start;
+        }
+    }
+}
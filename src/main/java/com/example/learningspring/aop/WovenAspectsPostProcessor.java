@@ -0,0 +1,61 @@
+package com.example.learningspring.aop;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.aspectj.annotation.AnnotationAwareAspectJAutoProxyCreator;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+//With the AspectJ weaver agent (mvn -Paspectj-ltw) the aspects listed in META-INF/aop.xml are woven into the classes
+//they advise while the JVM loads them: a call reaches the advice directly, no proxy and no interceptor chain,
+//and self-invocations (this.method()) are advised too.
+//Spring must then not apply the same aspects through proxies (the advice would run twice), and the aspect beans
+//have to be the instances AspectJ calls, otherwise @Autowired fields are injected into an instance the woven code
+//never uses. Without the agent nothing is woven and this changes nothing.
+@Component
+public class WovenAspectsPostProcessor implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        List<String> wovenAspects = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition instanceof AbstractBeanDefinition aspect && isWovenAspect(aspect, beanFactory.getBeanClassLoader())) {
+                //The bean is AspectJ's singleton, its dependencies are injected as for any other bean
+                aspect.setFactoryMethodName("aspectOf");
+                wovenAspects.add(beanName);
+            }
+        }
+        if (wovenAspects.isEmpty() || !beanFactory.containsBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)) {
+            return;
+        }
+        BeanDefinition autoProxyCreator = beanFactory.getBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME);
+        if (AnnotationAwareAspectJAutoProxyCreator.class.getName().equals(autoProxyCreator.getBeanClassName())) {
+            //The auto proxy creator only builds advisors from the aspect beans whose names match
+            String notWoven = wovenAspects.stream().map(Pattern::quote).collect(Collectors.joining("|", "^(?!(", ")$).*"));
+            autoProxyCreator.getPropertyValues().add("includePatterns", List.of(notWoven));
+        }
+        System.out.println("Aspects woven at load time, not proxied: " + wovenAspects);
+    }
+
+    private static boolean isWovenAspect(AbstractBeanDefinition definition, ClassLoader classLoader) {
+        if (!(definition instanceof AnnotatedBeanDefinition annotated)
+                || !annotated.getMetadata().hasAnnotation(Aspect.class.getName())
+                || definition.getFactoryMethodName() != null || definition.getBeanClassName() == null) {
+            return false;
+        }
+        //The weaver adds the static aspectOf() when it loads an aspect listed in aop.xml, javac doesn't generate it
+        Class<?> aspectClass = ClassUtils.resolveClassName(definition.getBeanClassName(), classLoader);
+        return ClassUtils.getStaticMethod(aspectClass, "aspectOf") != null;
+    }
+}
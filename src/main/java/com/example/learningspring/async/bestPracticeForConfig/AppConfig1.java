@@ -1,5 +1,13 @@
 package com.example.learningspring.async.bestPracticeForConfig;
 
+import com.example.learningspring.threadPool.gracefulShutdown.ExecutorLifecycleManager;
+import com.example.learningspring.threadPool.instrumentedThreadFactory.InstrumentedThreadFactory;
+import com.example.learningspring.threadPool.instrumentedThreadFactory.ThreadPoolUsageRegistry;
+import com.example.learningspring.threadPool.rejectionPolicies.CompletableTaskExecutorAdapter;
+import com.example.learningspring.threadPool.rejectionPolicies.RejectionPolicyFactory;
+import com.example.learningspring.threadPool.rejectionPolicies.RejectionPolicyType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 
@@ -11,16 +19,46 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 public class AppConfig1 implements AsyncConfigurer {
 
+    @Autowired
+    ExecutorLifecycleManager executorLifecycleManager;
+
+    @Autowired
+    RejectionPolicyFactory rejectionPolicyFactory;
+
+    @Autowired
+    ThreadPoolUsageRegistry threadPoolUsageRegistry;
+
+    @Value("${async.appConfig1.rejection-policy:CALLER_RUNS}")
+    RejectionPolicyType rejectionPolicy;
+
     private ThreadPoolExecutor poolExecutor;
+    private Executor asyncExecutor;
 
     @Override
     public synchronized Executor getAsyncExecutor() {
         if (poolExecutor == null) {
+            //Unique "AppConfig1-Async-<n>" thread names, CPU and allocation accounted per pool
+            InstrumentedThreadFactory threadFactory = threadPoolUsageRegistry != null
+                    ? threadPoolUsageRegistry.create("AppConfig1-Async")
+                    : new InstrumentedThreadFactory("AppConfig1-Async");
             poolExecutor = new ThreadPoolExecutor(3, 5, 60L, TimeUnit.SECONDS,
-                    new ArrayBlockingQueue<>(10));
+                    new ArrayBlockingQueue<>(10), threadFactory);
+
+            //CallerRunsPolicy pushes overload back onto Tomcat request threads, choose a policy per pool with a property
+            if (rejectionPolicyFactory != null) {
+                poolExecutor.setRejectedExecutionHandler(rejectionPolicyFactory.create("appConfig1AsyncExecutor", rejectionPolicy));
+            } else {
+                poolExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            }
 
-            poolExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            //This pool is not a bean, so Spring would never shut it down. Register it to be drained on context close
+            if (executorLifecycleManager != null) {
+                executorLifecycleManager.register("appConfig1AsyncExecutor", poolExecutor);
+            }
+            //@Async methods returning CompletableFuture queue a CompletableTask, which the rejection policy can
+            //complete without running it
+            asyncExecutor = new CompletableTaskExecutorAdapter(poolExecutor);
         }
-        return poolExecutor;
+        return asyncExecutor;
     }
 }
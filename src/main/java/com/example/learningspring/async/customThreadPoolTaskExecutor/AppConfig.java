@@ -1,5 +1,12 @@
 package com.example.learningspring.async.customThreadPoolTaskExecutor;
 
+import com.example.learningspring.async.deadlinePropagation.DeadlinePropagatingTaskDecorator;
+import com.example.learningspring.threadPool.instrumentedThreadFactory.ThreadPoolUsageRegistry;
+import com.example.learningspring.threadPool.rejectionPolicies.CompletableTaskExecutor;
+import com.example.learningspring.threadPool.rejectionPolicies.RejectionPolicyFactory;
+import com.example.learningspring.threadPool.rejectionPolicies.RejectionPolicyType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -9,13 +16,32 @@ import java.util.concurrent.Executor;
 @Configuration
 public class AppConfig {
 
+    @Autowired
+    RejectionPolicyFactory rejectionPolicyFactory;
+
+    @Autowired
+    ThreadPoolUsageRegistry threadPoolUsageRegistry;
+
+    @Value("${async.customTaskExecutor.rejection-policy:ABORT}")
+    RejectionPolicyType rejectionPolicy;
+
     @Bean
     public Executor customTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        //Its submitCompletable() futures can be completed by the rejection policy without running the task
+        ThreadPoolTaskExecutor executor = new CompletableTaskExecutor();
         executor.setCorePoolSize(3);
         executor.setMaxPoolSize(5);
         executor.setQueueCapacity(3);
         executor.setThreadNamePrefix("Custom-Thread-");
+        if (threadPoolUsageRegistry != null) {
+            //Same "Custom-Thread-<n>" names, plus per pool CPU and allocation accounting
+            executor.setThreadFactory(threadPoolUsageRegistry.create("Custom-Thread"));
+        }
+        if (rejectionPolicyFactory != null) {
+            executor.setRejectedExecutionHandler(rejectionPolicyFactory.create("customTaskExecutor", rejectionPolicy));
+        }
+        //Tasks inherit the request deadline (async/deadlinePropagation) and stop when the caller has timed out
+        executor.setTaskDecorator(new DeadlinePropagatingTaskDecorator());
         executor.initialize();
         return executor;
     }
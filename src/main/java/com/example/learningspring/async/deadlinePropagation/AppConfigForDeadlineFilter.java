@@ -0,0 +1,28 @@
+package com.example.learningspring.async.deadlinePropagation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+public class AppConfigForDeadlineFilter {
+
+    @Value("${request.deadline.default-timeout:30s}")
+    Duration defaultTimeout;
+
+    @Value("${request.deadline.max-timeout:60s}")
+    Duration maxTimeout;
+
+    @Bean
+    public FilterRegistrationBean<RequestDeadlineFilter> getRequestDeadlineFilter() {
+        FilterRegistrationBean<RequestDeadlineFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RequestDeadlineFilter(defaultTimeout, maxTimeout));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE); // the deadline starts before any other filter runs
+        return registrationBean;
+    }
+}
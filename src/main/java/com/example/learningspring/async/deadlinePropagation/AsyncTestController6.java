@@ -0,0 +1,42 @@
+package com.example.learningspring.async.deadlinePropagation;
+
+import com.example.learningspring.javaConcepts.concurrency.cancellation.CancellationToken;
+import com.example.learningspring.javaConcepts.concurrency.cancellation.DeadlineExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@RestController
+public class AsyncTestController6 {
+
+    @Autowired
+    AsyncTestService6 asyncTestService6;
+
+    /*
+    Fits into the deadline:
+    curl --location --request GET 'http://localhost:8080/deadline/report?sections=3' --header 'X-Request-Timeout-Millis: 2000'
+    Times out after 1s with 504, and the report task stops instead of running 4 more seconds:
+    curl --location --request GET 'http://localhost:8080/deadline/report?sections=5' --header 'X-Request-Timeout-Millis: 1000'
+     */
+    @GetMapping("/deadline/report")
+    public String getReport(@RequestParam(defaultValue = "3") int sections) throws Exception {
+        CancellationToken token = CancellationToken.current();
+        CompletableFuture<String> report = asyncTestService6.generateReport(sections, 500);
+        try {
+            //Wait only as long as the client does
+            return report.get(token.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            //The task is interrupted by the same deadline, cancel() makes sure it also stops if it wasn't started yet
+            token.cancel();
+            throw new DeadlineExceededException("Report not ready within the request deadline");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.learningspring.async.deadlinePropagation;
+
+import com.example.learningspring.javaConcepts.concurrency.cancellation.CancellationToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Service
+public class AsyncTestService6 {
+
+    @Autowired
+    @Qualifier("customTaskExecutor")
+    Executor customTaskExecutor;
+
+    //Runs on customTaskExecutor; its TaskDecorator carries the request's deadline into the task
+    public CompletableFuture<String> generateReport(int sections, long millisPerSection) {
+        return ((AsyncTaskExecutor) customTaskExecutor).submitCompletable(() -> {
+            CancellationToken token = CancellationToken.current();
+            for (int section = 1; section <= sections; section++) {
+                //Stop between steps once the caller's deadline has passed
+                token.throwIfCancelled();
+                //Blocking step (e.g. a slow query): interrupted at the deadline, no polling needed
+                try {
+                    Thread.sleep(millisPerSection);
+                } catch (InterruptedException e) {
+                    //Report why we were interrupted (DeadlineExceededException -> 504)
+                    token.throwIfCancelled();
+                    throw e;
+                }
+                System.out.println("Report section " + section + " done on " + Thread.currentThread().getName()
+                        + ", " + token);
+            }
+            return "Report with " + sections + " sections";
+        });
+    }
+}
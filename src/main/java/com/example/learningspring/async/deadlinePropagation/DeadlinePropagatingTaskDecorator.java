@@ -0,0 +1,25 @@
+package com.example.learningspring.async.deadlinePropagation;
+
+import com.example.learningspring.javaConcepts.concurrency.cancellation.CancellationToken;
+import com.example.learningspring.threadPool.rejectionPolicies.DeadlineTask;
+import org.springframework.core.task.TaskDecorator;
+
+import java.time.Duration;
+
+//Carries the submitting thread's CancellationToken into ThreadPoolTaskExecutor tasks:
+//the task is skipped if its caller gave up while it was queued (its future is still completed, see
+//CancellationToken.abandon()), sees the token as CancellationToken.current(), and is interrupted when the deadline
+//passes while it is blocked.
+//Only a deadline the caller set explicitly is carried over, not RequestDeadlineFilter's default one.
+public class DeadlinePropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        CancellationToken token = CancellationToken.current();
+        if (token == CancellationToken.NONE || RequestDeadlineFilter.isDefaultDeadline(token)) {
+            return runnable;
+        }
+        //As a DeadlineTask, DeadlineAwareDropPolicy can also purge it from a full queue once it expired
+        return new DeadlineTask(token.wrap(runnable), runnable, Duration.ofNanos(token.remainingNanos()));
+    }
+}
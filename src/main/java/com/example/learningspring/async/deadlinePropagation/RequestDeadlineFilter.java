@@ -0,0 +1,72 @@
+package com.example.learningspring.async.deadlinePropagation;
+
+import com.example.learningspring.javaConcepts.concurrency.cancellation.CancellationToken;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+//Gives every request a deadline and binds it to the request thread as CancellationToken.current().
+//The client can send a shorter timeout in the X-Request-Timeout-Millis header (e.g. its own HTTP client timeout),
+//so work for a client which has already given up can be skipped or stopped.
+//Without the header the request gets request.deadline.default-timeout; that one only bounds the request itself and
+//isn't carried into async work (see isDefaultDeadline()).
+public class RequestDeadlineFilter implements Filter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Millis";
+
+    //The token bound by this filter when the client didn't ask for a timeout
+    private static final ThreadLocal<CancellationToken> DEFAULT_DEADLINE = new ThreadLocal<>();
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    public RequestDeadlineFilter(Duration defaultTimeout, Duration maxTimeout) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        Duration requested = requestedTimeout((HttpServletRequest) request);
+        CancellationToken token = CancellationToken.withTimeout(requested != null ? requested : defaultTimeout);
+        if (requested == null) {
+            DEFAULT_DEADLINE.set(token);
+        }
+        //No timer is created here: the deadline is checked lazily, a timer only exists while some task waits on it
+        try (CancellationToken.Scope scope = token.bind()) {
+            chain.doFilter(request, response);
+        } finally {
+            DEFAULT_DEADLINE.remove();
+        }
+    }
+
+    //True for the deadline this filter gave a request without X-Request-Timeout-Millis. Async work started by such a
+    //request (e.g. fire-and-forget @Async void methods) must not be cut off by it, the client set no limit.
+    //A token the application derives from it (child()) is an explicit deadline again
+    public static boolean isDefaultDeadline(CancellationToken token) {
+        return token == DEFAULT_DEADLINE.get();
+    }
+
+    //null if the client didn't send a valid timeout
+    private Duration requestedTimeout(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            Duration requested = Duration.ofMillis(Long.parseLong(header.trim()));
+            if (requested.isNegative()) {
+                return null;
+            }
+            return requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.learningspring.async.deduplication;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.scheduling.config.TaskManagementConfigUtils;
+import org.springframework.stereotype.Component;
+
+//AsyncDeduplicationInterceptor has to run in the caller's thread, before the @Async interceptor hands the call to the
+//pool: otherwise every duplicate still takes an executor slot, and only shares the result once it runs there.
+//With @EnableAsync, AsyncAnnotationBeanPostProcessor adds its advisor in front of the aspects of an existing proxy
+//(beforeExistingAdvisors), so the order of the aspect alone can't put it first. This makes the @Async advisor the
+//last one in the chain instead, after all aspects. Without @EnableAsync it does nothing.
+@Component
+public class AsyncAdvisorOrdering implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (!beanFactory.containsBeanDefinition(TaskManagementConfigUtils.ASYNC_ANNOTATION_PROCESSOR_BEAN_NAME)) {
+            return;
+        }
+        BeanDefinition asyncProcessor = beanFactory.getBeanDefinition(TaskManagementConfigUtils.ASYNC_ANNOTATION_PROCESSOR_BEAN_NAME);
+        asyncProcessor.getPropertyValues().add("beforeExistingAdvisors", false);
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.learningspring.async.deduplication;
+
+import com.example.learningspring.async.forkJoinTaskExecutor.ManagedBlocking;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Aspect
+public class AsyncDeduplicationInterceptor {
+
+    private final Map<Method, MethodEntries> methods = new ConcurrentHashMap<>();
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder inFlightHits = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder downstreamCalls = new LongAdder();
+
+    @Around("@annotation(deduplicateAsync)")
+    public Object invoke(ProceedingJoinPoint joinPoint, DeduplicateAsync deduplicateAsync) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (!method.getReturnType().isAssignableFrom(CompletableFuture.class)) {
+            throw new IllegalStateException("@DeduplicateAsync needs a Future/CompletableFuture return type: " + method);
+        }
+        invocations.increment();
+
+        MethodEntries methodEntries = entriesOf(method);
+        Map<InvocationKey, Entry> entries = methodEntries.entries;
+        InvocationKey key = new InvocationKey(joinPoint.getTarget(), method, joinPoint.getArgs());
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            if (!existing.isExpired(System.nanoTime())) {
+                (existing.isDone() ? cacheHits : inFlightHits).increment();
+                //copy(): a caller cancelling its future must not cancel it for the other callers
+                return existing.future.copy();
+            }
+            methodEntries.evict(key, existing);
+        }
+
+        Entry entry = new Entry();
+        Entry winner = entries.putIfAbsent(key, entry);
+        if (winner != null) {
+            inFlightHits.increment();
+            return winner.future.copy();
+        }
+
+        downstreamCalls.increment();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable t) {
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(t);
+            throw t;
+        }
+
+        long ttlNanos = TimeUnit.MILLISECONDS.toNanos(deduplicateAsync.cacheTtlMillis());
+        toCompletableFuture(result).whenComplete((value, ex) -> {
+            //Failures are never cached, the next call retries
+            if (ex != null || ttlNanos <= 0
+                    || !methodEntries.tryCache(entry, System.nanoTime() + ttlNanos, deduplicateAsync.maxCachedResults())) {
+                entries.remove(key, entry);
+            }
+            if (ex != null) {
+                entry.future.completeExceptionally(ex);
+            } else {
+                entry.future.complete(value);
+            }
+        });
+        return entry.future.copy();
+    }
+
+    private MethodEntries entriesOf(Method method) {
+        MethodEntries methodEntries = methods.get(method);
+        return methodEntries != null ? methodEntries : methods.computeIfAbsent(method, m -> new MethodEntries());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> toCompletableFuture(Object result) {
+        if (result instanceof CompletableFuture<?> completableFuture) {
+            return (CompletableFuture<Object>) completableFuture;
+        }
+        if (result instanceof Future<?> future) {
+            if (future.isDone()) {
+                try {
+                    return CompletableFuture.completedFuture(future.get());
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e.getCause() != null ? e.getCause() : e);
+                }
+            }
+            //Plain Future has no callbacks, wait for it without pinning a common pool core
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ManagedBlocking.callBlocking(future::get);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            });
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("invocations", invocations.sum());
+        stats.put("inFlightHits", inFlightHits.sum());
+        stats.put("cacheHits", cacheHits.sum());
+        stats.put("downstreamCalls", downstreamCalls.sum());
+        stats.put("entries", methods.values().stream().mapToLong(m -> m.entries.size()).sum());
+        return stats;
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        //Long.MAX_VALUE while the call is in flight
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        private boolean isDone() {
+            return future.isDone();
+        }
+
+        private boolean isExpired(long now) {
+            long expiresAt = expiresAtNanos;
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+
+    //The entries of one method. Only the cached (completed) ones count toward maxCachedResults, in-flight calls don't.
+    //A full method is swept for expired entries only once its earliest expiry has passed, not on every completion
+    private static class MethodEntries {
+        private final Map<InvocationKey, Entry> entries = new ConcurrentHashMap<>();
+        //Guarded by this
+        private int cached;
+        //No cached entry expires before this. Guarded by this
+        private long nextExpiryNanos;
+
+        private synchronized boolean tryCache(Entry entry, long expiresAtNanos, int maxCachedResults) {
+            if (cached >= maxCachedResults) {
+                long now = System.nanoTime();
+                if (now - nextExpiryNanos < 0) {
+                    return false;
+                }
+                sweep(now);
+                if (cached >= maxCachedResults) {
+                    return false;
+                }
+            }
+            if (cached == 0 || expiresAtNanos - nextExpiryNanos < 0) {
+                nextExpiryNanos = expiresAtNanos;
+            }
+            cached++;
+            entry.expiresAtNanos = expiresAtNanos;
+            return true;
+        }
+
+        //For a cached entry that has expired
+        private synchronized void evict(InvocationKey key, Entry entry) {
+            if (entries.remove(key, entry)) {
+                cached--;
+            }
+        }
+
+        private void sweep(long now) {
+            long nextExpiry = now;
+            boolean anyLeft = false;
+            for (Map.Entry<InvocationKey, Entry> mapping : entries.entrySet()) {
+                long expiresAt = mapping.getValue().expiresAtNanos;
+                if (expiresAt == Long.MAX_VALUE) {
+                    continue;
+                }
+                if (now - expiresAt >= 0) {
+                    if (entries.remove(mapping.getKey(), mapping.getValue())) {
+                        cached--;
+                    }
+                } else if (!anyLeft || expiresAt - nextExpiry < 0) {
+                    nextExpiry = expiresAt;
+                    anyLeft = true;
+                }
+            }
+            nextExpiryNanos = nextExpiry;
+        }
+    }
+
+    //Arguments are compared deeply, so array arguments with equal contents map to the same key
+    private record InvocationKey(Object target, Method method, Object[] args) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof InvocationKey other && target == other.target && method.equals(other.method)
+                    && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(target) + method.hashCode()) + Arrays.deepHashCode(args);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.learningspring.async.deduplication;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//For async methods whose result depends only on their arguments.
+//Concurrent calls with equal arguments share one in-flight CompletableFuture, so the method body runs once.
+//Method return type must be Future, CompletableFuture or CompletionStage.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DeduplicateAsync {
+
+    //If > 0, a successful result is also cached for this long after it completes. 0 = only deduplicate in-flight calls
+    long cacheTtlMillis() default 0;
+
+    //Upper bound on cached results per method, to keep memory bounded when arguments have high cardinality.
+    //In-flight calls don't count. A result completing while the method is full isn't cached
+    int maxCachedResults() default 1000;
+}
@@ -0,0 +1,31 @@
+package com.example.learningspring.async.forkJoinTaskExecutor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class AppConfig4 {
+
+    //ThreadPoolExecutor has one shared queue, every submit and every take contends on the same lock.
+    //ForkJoinPool gives each worker its own deque and idle workers steal from others, which suits many small CPU bound tasks.
+    //Use it with @Async("forkJoinTaskExecutor")
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool forkJoinTaskExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ForkJoin-Thread-" + threadNumber.getAndIncrement());
+            return thread;
+        };
+
+        //Parallelism = number of cores, CPU bound tasks gain nothing from more threads.
+        //asyncMode = true: local queues are FIFO, better for submitted event style tasks which are never joined
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), threadFactory,
+                (thread, ex) -> System.out.println("Uncaught exception in " + thread.getName() + ": " + ex.getMessage()),
+                true);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.learningspring.async.forkJoinTaskExecutor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+public class AsyncTestController5 {
+
+    @Autowired
+    AsyncTestService5 asyncTestService5;
+
+    @GetMapping("/forkjoin/checksum")
+    public CompletableFuture<Long> getChecksum(@RequestParam(value = "data", defaultValue = "John Doe") String data) {
+        return asyncTestService5.computeChecksum(data);
+    }
+
+    @GetMapping("/forkjoin/user/{id}")
+    public CompletableFuture<String> getUser(@PathVariable("id") String id) throws Exception {
+        return asyncTestService5.loadUserData(id);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.learningspring.async.forkJoinTaskExecutor;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class AsyncTestService5 {
+
+    //@EnableAsync annotation should be used for async to work
+    //Small CPU bound task, a good fit for the work stealing pool
+    @Async("forkJoinTaskExecutor")
+    public CompletableFuture<Long> computeChecksum(String data) {
+        long checksum = 17;
+        for (int round = 0; round < 1_000; round++) {
+            for (int i = 0; i < data.length(); i++) {
+                checksum = 31 * checksum + data.charAt(i);
+            }
+        }
+        System.out.println("Inside computeChecksum() method : " + Thread.currentThread().getName());
+        return CompletableFuture.completedFuture(checksum);
+    }
+
+    //Occasional I/O inside the pool: wrap it, so the pool can compensate with a spare thread
+    @Async("forkJoinTaskExecutor")
+    public CompletableFuture<String> loadUserData(String userId) throws Exception {
+        String data = ManagedBlocking.callBlocking(() -> {
+            Thread.sleep(100); //simulating a remote call
+            return "User Data for " + userId;
+        });
+        return CompletableFuture.completedFuture(data);
+    }
+}
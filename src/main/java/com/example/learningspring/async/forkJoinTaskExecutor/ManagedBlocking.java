@@ -0,0 +1,49 @@
+package com.example.learningspring.async.forkJoinTaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+//ForkJoinPool has only "parallelism" threads. If one of them blocks on I/O, a core sits idle.
+//Wrapping the blocking call in a ManagedBlocker lets the pool start a spare thread while this one is blocked.
+public final class ManagedBlocking {
+
+    private ManagedBlocking() {
+    }
+
+    public static <T> T callBlocking(Callable<T> blockingCall) throws Exception {
+        BlockingCall<T> blocker = new BlockingCall<>(blockingCall);
+        //Outside a ForkJoinPool this simply runs block() on the current thread
+        ForkJoinPool.managedBlock(blocker);
+        if (blocker.error != null) {
+            throw blocker.error;
+        }
+        return blocker.result;
+    }
+
+    private static class BlockingCall<T> implements ForkJoinPool.ManagedBlocker {
+        private final Callable<T> call;
+        private T result;
+        private Exception error;
+        private boolean done;
+
+        private BlockingCall(Callable<T> call) {
+            this.call = call;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                result = call.call();
+            } catch (Exception e) {
+                error = e;
+            }
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.learningspring.async.priorityTaskExecutor;
+
+import com.example.learningspring.threadPool.instrumentedThreadFactory.ThreadPoolUsageRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AppConfig3 {
+
+    @Autowired
+    ThreadPoolUsageRegistry threadPoolUsageRegistry;
+
+    //Can be used directly with @Async("priorityTaskExecutor") (NORMAL priority) or with @PriorityAsync(TaskPriority.X)
+    @Bean
+    public PriorityTaskExecutor priorityTaskExecutor() {
+        return new PriorityTaskExecutor(3, 5, 100, threadPoolUsageRegistry.create("Priority-Thread"));
+    }
+}
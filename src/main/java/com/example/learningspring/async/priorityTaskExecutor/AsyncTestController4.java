@@ -0,0 +1,42 @@
+package com.example.learningspring.async.priorityTaskExecutor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+public class AsyncTestController4 {
+
+    @Autowired
+    AsyncTestService4 asyncTestService4;
+
+    @Autowired
+    PriorityTaskExecutor priorityTaskExecutor;
+
+    @GetMapping("/priority/getUser")
+    public CompletableFuture<String> getUser() {
+        System.out.println("Inside getUser() method : " + Thread.currentThread().getName());
+        return asyncTestService4.getAsyncData();
+    }
+
+    @PostMapping("/priority/batch")
+    public String submitBatchJobs(@RequestParam(value = "count", defaultValue = "20") int count) {
+        for (int i = 0; i < count; i++) {
+            asyncTestService4.runBatchJob(i);
+        }
+        return count + " batch jobs submitted";
+    }
+
+    /*
+    curl --location --request GET 'http://localhost:8080/priority/stats'
+     */
+    @GetMapping("/priority/stats")
+    public Map<String, Object> getWaitTimeStats() {
+        return priorityTaskExecutor.getWaitTimeStats().snapshot();
+    }
+}
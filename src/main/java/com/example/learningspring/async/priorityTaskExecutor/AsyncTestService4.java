@@ -0,0 +1,26 @@
+package com.example.learningspring.async.priorityTaskExecutor;
+
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class AsyncTestService4 {
+
+    //User facing call, should not wait behind queued batch jobs
+    @PriorityAsync(TaskPriority.HIGH)
+    public CompletableFuture<String> getAsyncData() {
+        System.out.println("Inside getAsyncData() method : " + Thread.currentThread().getName());
+        return CompletableFuture.completedFuture("Async data returned");
+    }
+
+    @PriorityAsync(TaskPriority.LOW)
+    public void runBatchJob(int jobId) {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("Batch job " + jobId + " completed : " + Thread.currentThread().getName());
+    }
+}
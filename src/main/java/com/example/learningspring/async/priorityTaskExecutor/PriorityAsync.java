@@ -0,0 +1,14 @@
+package com.example.learningspring.async.priorityTaskExecutor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//Works like @Async("priorityTaskExecutor"), but lets each method choose its priority in the shared queue
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PriorityAsync {
+
+    TaskPriority value() default TaskPriority.NORMAL;
+}
@@ -0,0 +1,64 @@
+package com.example.learningspring.async.priorityTaskExecutor;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+@Component
+@Aspect
+public class PriorityAsyncInterceptor {
+
+    @Autowired
+    PriorityTaskExecutor priorityTaskExecutor;
+
+    //Same return type handling as Spring's AsyncExecutionInterceptor: void, Future and CompletableFuture are supported
+    @Around("@annotation(priorityAsync)")
+    public Object invoke(ProceedingJoinPoint joinPoint, PriorityAsync priorityAsync) throws Throwable {
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        TaskPriority priority = priorityAsync.value();
+
+        Callable<Object> task = () -> {
+            try {
+                Object result = joinPoint.proceed();
+                return result instanceof Future<?> future ? future.get() : null;
+            } catch (Exception e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new ExecutionException(t);
+            }
+        };
+
+        if (CompletableFuture.class.isAssignableFrom(returnType)) {
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            priorityTaskExecutor.execute(() -> {
+                try {
+                    result.complete(task.call());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            }, priority);
+            return result;
+        }
+        if (Future.class.isAssignableFrom(returnType)) {
+            return priorityTaskExecutor.submit(task, priority);
+        }
+
+        priorityTaskExecutor.execute(() -> {
+            try {
+                task.call();
+            } catch (Exception e) {
+                System.out.println("Handling uncaught exception in priority async method: "
+                        + joinPoint.getSignature().getName() + " : " + e.getMessage());
+            }
+        }, priority);
+        return null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.learningspring.async.priorityTaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//ThreadPoolExecutor whose work queue is ordered by priority instead of FIFO.
+//Every task gets a virtual deadline = submit time + priority aging offset, and the queue serves the earliest deadline first.
+//So HIGH tasks jump ahead of queued LOW tasks, but a LOW task never waits more than ~offset behind newer HIGH tasks.
+public class PriorityTaskExecutor extends ThreadPoolExecutor {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final PriorityWaitTimeStats waitTimeStats = new PriorityWaitTimeStats();
+
+    public PriorityTaskExecutor(int corePoolSize, int maxPoolSize, int queueCapacity, ThreadFactory threadFactory) {
+        super(corePoolSize, maxPoolSize, 60L, TimeUnit.SECONDS,
+                new BoundedPriorityBlockingQueue<>(queueCapacity), threadFactory, new CallerRunsPolicy());
+    }
+
+    public void execute(Runnable command, TaskPriority priority) {
+        super.execute(new PriorityFutureTask<Void>(command, null, priority, sequence.getAndIncrement()));
+    }
+
+    public <T> PriorityFutureTask<T> submit(Callable<T> task, TaskPriority priority) {
+        PriorityFutureTask<T> futureTask = new PriorityFutureTask<>(task, priority, sequence.getAndIncrement());
+        super.execute(futureTask);
+        return futureTask;
+    }
+
+    //Plain execute()/submit() calls (e.g. from @Async("priorityTaskExecutor")) are treated as NORMAL priority.
+    //Every queued element must be a PriorityFutureTask, else the queue can't compare it.
+    @Override
+    public void execute(Runnable command) {
+        if (command instanceof PriorityFutureTask<?>) {
+            super.execute(command);
+        } else {
+            execute(command, TaskPriority.NORMAL);
+        }
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new PriorityFutureTask<>(callable, TaskPriority.NORMAL, sequence.getAndIncrement());
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new PriorityFutureTask<>(runnable, value, TaskPriority.NORMAL, sequence.getAndIncrement());
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        if (r instanceof PriorityFutureTask<?> task) {
+            waitTimeStats.record(task.priority, System.nanoTime() - task.submittedAtNanos);
+        }
+    }
+
+    public PriorityWaitTimeStats getWaitTimeStats() {
+        return waitTimeStats;
+    }
+
+    public static class PriorityFutureTask<T> extends FutureTask<T> implements Comparable<PriorityFutureTask<?>> {
+        private final TaskPriority priority;
+        private final long sequence;
+        private final long submittedAtNanos;
+        private final long virtualDeadlineNanos;
+
+        PriorityFutureTask(Callable<T> callable, TaskPriority priority, long sequence) {
+            super(callable);
+            this.priority = priority;
+            this.sequence = sequence;
+            this.submittedAtNanos = System.nanoTime();
+            this.virtualDeadlineNanos = submittedAtNanos + TimeUnit.MILLISECONDS.toNanos(priority.getAgingOffsetMillis());
+        }
+
+        PriorityFutureTask(Runnable runnable, T result, TaskPriority priority, long sequence) {
+            super(runnable, result);
+            this.priority = priority;
+            this.sequence = sequence;
+            this.submittedAtNanos = System.nanoTime();
+            this.virtualDeadlineNanos = submittedAtNanos + TimeUnit.MILLISECONDS.toNanos(priority.getAgingOffsetMillis());
+        }
+
+        public TaskPriority getPriority() {
+            return priority;
+        }
+
+        //Deadline never changes after submit, so heap order inside the queue stays valid while tasks age
+        @Override
+        public int compareTo(PriorityFutureTask<?> other) {
+            int result = Long.compare(virtualDeadlineNanos - other.virtualDeadlineNanos, 0);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
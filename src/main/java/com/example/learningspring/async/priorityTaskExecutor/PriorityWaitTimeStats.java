@@ -0,0 +1,61 @@
+package com.example.learningspring.async.priorityTaskExecutor;
+
+import com.example.learningspring.metrics.LatencyRecorder;
+import com.example.learningspring.metrics.LatencySnapshot;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Queue wait time (submit -> start of execution) per priority.
+//The LatencyRecorder is striped over a fixed number of cells picked by thread id hash, so workers rarely contend.
+public class PriorityWaitTimeStats {
+
+    private final Map<TaskPriority, LatencyRecorder> recorders = new EnumMap<>(TaskPriority.class);
+
+    public PriorityWaitTimeStats() {
+        for (TaskPriority priority : TaskPriority.values()) {
+            recorders.put(priority, new LatencyRecorder());
+        }
+    }
+
+    public void record(TaskPriority priority, long waitNanos) {
+        recorders.get(priority).record(waitNanos);
+    }
+
+    public long getCount(TaskPriority priority) {
+        return snapshot(priority).getCount();
+    }
+
+    public long getMaxWaitMicros(TaskPriority priority) {
+        return TimeUnit.NANOSECONDS.toMicros(snapshot(priority).getMaxNanos());
+    }
+
+    public long getMeanWaitMicros(TaskPriority priority) {
+        return TimeUnit.NANOSECONDS.toMicros(snapshot(priority).getMeanNanos());
+    }
+
+    //Estimated wait time at the given percentile (0-100), within ~3%
+    public long getPercentileWaitMicros(TaskPriority priority, double percentile) {
+        return TimeUnit.NANOSECONDS.toMicros(snapshot(priority).getPercentileNanos(percentile));
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (TaskPriority priority : TaskPriority.values()) {
+            LatencySnapshot snapshot = snapshot(priority);
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", snapshot.getCount());
+            values.put("meanWaitMicros", TimeUnit.NANOSECONDS.toMicros(snapshot.getMeanNanos()));
+            values.put("p99WaitMicros", TimeUnit.NANOSECONDS.toMicros(snapshot.getPercentileNanos(99)));
+            values.put("maxWaitMicros", TimeUnit.NANOSECONDS.toMicros(snapshot.getMaxNanos()));
+            result.put(priority.name(), values);
+        }
+        return result;
+    }
+
+    private LatencySnapshot snapshot(TaskPriority priority) {
+        return recorders.get(priority).snapshot();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.learningspring.async.priorityTaskExecutor;
+
+public enum TaskPriority {
+    HIGH(0),
+    NORMAL(50),
+    LOW(500);
+
+    //Aging offset: a task is ordered by (enqueue time + offset), so a LOW task which has already waited
+    //longer than the offset difference will be picked before a newly submitted HIGH task (no starvation)
+    private final long agingOffsetMillis;
+
+    TaskPriority(long agingOffsetMillis) {
+        this.agingOffsetMillis = agingOffsetMillis;
+    }
+
+    public long getAgingOffsetMillis() {
+        return agingOffsetMillis;
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.learningspring.async.returnValueUsingFuture;
 
 import com.example.learningspring.async.bestPracticeForConfig.AsyncTestService2;
+import com.example.learningspring.async.deduplication.AsyncDeduplicationInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
 import java.util.concurrent.Future;
 
 @RestController
@@ -13,6 +15,9 @@ public class AsyncTestController3 {
     @Autowired
     AsyncTestService3 asyncTestService3;
 
+    @Autowired
+    AsyncDeduplicationInterceptor asyncDeduplicationInterceptor;
+
     @GetMapping("/getUser")
     public String getUser() {
         System.out.println("Inside getUser() method : " + Thread.currentThread().getName());
@@ -28,4 +33,9 @@ public class AsyncTestController3 {
         }
         return resultString;
     }
+
+    @GetMapping("/async/dedup/stats")
+    public Map<String, Long> getDeduplicationStats() {
+        return asyncDeduplicationInterceptor.getStats();
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.learningspring.async.returnValueUsingFuture;
 
+import com.example.learningspring.async.deduplication.DeduplicateAsync;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Service;
@@ -9,7 +10,9 @@ import java.util.concurrent.Future;
 @Service
 public class AsyncTestService3 {
 
+    //Result only depends on the (empty) arguments: concurrent callers share one call, and the result is reused for 1 second
     @Async
+    @DeduplicateAsync(cacheTtlMillis = 1000)
     public Future<String> getAsyncData() {
         System.out.println("Inside getAsyncData() method : " + Thread.currentThread().getName());
         return new AsyncResult<>("Async data returned");
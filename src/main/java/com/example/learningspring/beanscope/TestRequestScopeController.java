@@ -1,6 +1,5 @@
 package com.example.learningspring.beanscope;
 
-import com.example.learningspring.LearningSpringApplication;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
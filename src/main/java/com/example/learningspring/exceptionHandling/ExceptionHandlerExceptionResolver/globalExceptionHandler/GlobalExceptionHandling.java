@@ -2,6 +2,9 @@ package com.example.learningspring.exceptionHandling.ExceptionHandlerExceptionRe
 
 import com.example.learningspring.exceptionHandling.ExceptionHandlerExceptionResolver.incorrectWayToHandleException.CustomException;
 import com.example.learningspring.exceptionHandling.ExceptionHandlerExceptionResolver.incorrectWayToHandleException.ErrorResponse;
+import com.example.learningspring.javaConcepts.concurrency.cancellation.DeadlineExceededException;
+import com.example.learningspring.threadPool.rejectionPolicies.ServiceOverloadedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,4 +19,19 @@ public class GlobalExceptionHandling {
     public ResponseEntity<Object> handleCustomExceptions(Exception ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(now(), ex.getMessage(), HttpStatus.BAD_REQUEST.value()));
     }
+
+    //A saturated thread pool should not stall Tomcat threads: fail fast and tell the client when to come back
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Object> handleServiceOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(now(), ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    //The request's deadline passed (async/deadlinePropagation), the work for it has been stopped
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Object> handleDeadlineExceeded(DeadlineExceededException ex) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(new ErrorResponse(now(), ex.getMessage(), HttpStatus.GATEWAY_TIMEOUT.value()));
+    }
 }
@@ -0,0 +1,23 @@
+package com.example.learningspring.interceptorsAndFilters.customAnnotation;
+
+import java.util.Arrays;
+
+//Which arguments of a @CachedResult method select the cached result
+public enum CacheKeyStrategy {
+    //One result per method, arguments are ignored
+    METHOD,
+    //One result per distinct first argument, e.g. an id
+    FIRST_ARGUMENT,
+    //One result per distinct argument list, arrays are compared by content
+    ARGUMENTS;
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    Object[] keyArguments(Object[] args) {
+        return switch (this) {
+            case METHOD -> NO_ARGUMENTS;
+            case FIRST_ARGUMENT -> args.length == 0 ? NO_ARGUMENTS : Arrays.copyOf(args, 1);
+            case ARGUMENTS -> args;
+        };
+    }
+}
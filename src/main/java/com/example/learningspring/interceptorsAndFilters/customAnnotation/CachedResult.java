@@ -0,0 +1,28 @@
+package com.example.learningspring.interceptorsAndFilters.customAnnotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//Memoizes the return value of a method, see CachedResultAspect.
+//Like MyCustomAnnotation, the attributes configure what the aspect does for this method: an int for the TTL,
+//a String naming the cache and an enum choosing the key.
+//Only for methods whose result depends on nothing but the key arguments. null results and exceptions aren't cached.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResult {
+
+    //Methods with the same cache name share one cache, its size and TTL come from the first one
+    String cacheName();
+
+    int ttlSeconds() default 60;
+
+    CacheKeyStrategy keyStrategy() default CacheKeyStrategy.ARGUMENTS;
+
+    int maxSize() default 1000;
+
+    //A hit on an entry older than this percentage of the TTL reloads it in the background, so callers keep getting
+    //the cached value instead of waiting for the load at expiry. 0 = no refresh ahead
+    int refreshAheadPercent() default 80;
+}
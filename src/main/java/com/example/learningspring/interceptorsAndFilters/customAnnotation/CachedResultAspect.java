@@ -0,0 +1,120 @@
+package com.example.learningspring.interceptorsAndFilters.customAnnotation;
+
+import com.example.learningspring.metrics.MetricRegistry;
+import com.example.learningspring.threadPool.gracefulShutdown.ExecutorLifecycleManager;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Memoizes @CachedResult methods: the annotation's attributes pick the cache, the TTL and the key.
+//The annotation is read once per method (like MyCustomAnnotationMetadataCache), a call looks up the method's
+//cache and then the key. Runs before the other advice on the method (order 0), so a hit skips it too.
+//Per cache metrics are in MetricRegistry as cache.<name>.hits, .misses, .loadTime, ... (/metrics/core)
+//A refresh ahead calls the method again through the proxy on a refresh thread, so the whole advice chain runs there
+//as for any call; only this aspect's cache lookup is skipped for it.
+@Component
+@Aspect
+@Order(0)
+public class CachedResultAspect {
+
+    private final Map<Method, MethodCache> methodCaches = new ConcurrentHashMap<>();
+    private final Map<String, ResultCache> caches = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor;
+    //Set on a refresh thread for the call it makes, the method whose cache lookup that call skips
+    private final ThreadLocal<Method> refreshing = new ThreadLocal<>();
+
+    @Autowired
+    MetricRegistry metricRegistry;
+
+    public CachedResultAspect() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.refreshExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "Cache-Refresh-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //Not a bean, so the lifecycle manager has to be told to drain it on shutdown
+    @Autowired(required = false)
+    void setExecutorLifecycleManager(ExecutorLifecycleManager executorLifecycleManager) {
+        executorLifecycleManager.register("cachedResultRefresh", refreshExecutor);
+    }
+
+    @Around("@annotation(com.example.learningspring.interceptorsAndFilters.customAnnotation.CachedResult)")
+    public Object invoke(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (refreshing.get() == method) {
+            //Only the refresh call itself, cached methods it calls in turn use their caches
+            refreshing.remove();
+            return joinPoint.proceed();
+        }
+        MethodCache methodCache = methodCaches.get(method);
+        if (methodCache == null) {
+            methodCache = methodCaches.computeIfAbsent(method, this::resolve);
+        }
+        Object[] args = joinPoint.getArgs();
+        Object[] keyArguments = methodCache.keyStrategy().keyArguments(args);
+        Object proxy = joinPoint.getThis();
+        return methodCache.cache().get(new CacheKey(method, keyArguments), joinPoint::proceed,
+                () -> refresh(proxy, method, args));
+    }
+
+    //Not joinPoint.proceed(): on another thread there is no current AOP invocation (ExposeInvocationInterceptor),
+    //advice after this one that needs it would fail
+    private Object refresh(Object proxy, Method method, Object[] args) throws Throwable {
+        refreshing.set(method);
+        try {
+            ReflectionUtils.makeAccessible(method);
+            return method.invoke(proxy, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            refreshing.remove();
+        }
+    }
+
+    private MethodCache resolve(Method method) {
+        CachedResult annotation = method.getAnnotation(CachedResult.class);
+        if (annotation == null || method.getReturnType() == void.class) {
+            throw new IllegalStateException("@CachedResult needs an annotated method with a return value: " + method);
+        }
+        ResultCache cache = caches.computeIfAbsent(annotation.cacheName(), name -> new ResultCache(name,
+                annotation.ttlSeconds(), annotation.refreshAheadPercent(), annotation.maxSize(), refreshExecutor,
+                metricRegistry));
+        System.out.println("@CachedResult " + method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + ": cache=" + cache.name() + ", key=" + annotation.keyStrategy());
+        return new MethodCache(cache, annotation.keyStrategy());
+    }
+
+    private record MethodCache(ResultCache cache, CacheKeyStrategy keyStrategy) {
+    }
+
+    //Methods sharing a cache can't see each other's results, arrays are compared by content
+    private record CacheKey(Method method, Object[] args) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CacheKey other && method.equals(other.method) && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * method.hashCode() + Arrays.deepHashCode(args);
+        }
+    }
+}
@@ -1,31 +1,44 @@
 package com.example.learningspring.interceptorsAndFilters.customAnnotation;
 
+import com.example.learningspring.metrics.AsyncLogAppender;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Method;
-
 @Component
 @Aspect
 public class MyCustomAnnotationInterceptor {
-    @Around("@annotation(com.example.learningspring.interceptorsAndFilters.customAnnotation.MyCustomAnnotation.class)")
-    public void invoke(ProceedingJoinPoint joinPoint) throws Throwable {
-        System.out.println("Before executing method: " + joinPoint.getSignature().getName());
-
-        Method method = ((MethodSignature)joinPoint.getSignature()).getMethod();
-        if(method.isAnnotationPresent(MyCustomAnnotation.class)) {
-            MyCustomAnnotation annotation = method.getAnnotation(MyCustomAnnotation.class);
-            System.out.println("Value of intKey: " + annotation.intKey());
-            System.out.println("Value of stringKey: " + annotation.stringKey());
-            System.out.println("Value of classKey: " + annotation.classKey().getName());
-            System.out.println("Value of enumKey: " + annotation.enumKey());
+
+    //Annotation attributes are resolved once per method and printed then, see MyCustomAnnotationMetadataCache
+    @Autowired
+    MyCustomAnnotationMetadataCache metadataCache;
+
+    //Request threads don't wait for console output
+    @Autowired
+    AsyncLogAppender log;
+
+    //The before/after lines cost more than the advice itself, turn them off for hot methods
+    @Value("${custom-annotation.trace-calls:true}")
+    boolean traceCalls;
+
+    //execution() only: woven by AspectJ (mvn -Paspectj-ltw) @annotation alone also matches every call site of the
+    //method, and the advice would run twice per call
+    @Around("@annotation(com.example.learningspring.interceptorsAndFilters.customAnnotation.MyCustomAnnotation) && execution(* *(..))")
+    public Object invoke(ProceedingJoinPoint joinPoint) throws Throwable {
+        MyCustomAnnotationMetadata metadata = metadataCache.get(((MethodSignature) joinPoint.getSignature()).getMethod());
+        if (metadata == null || !traceCalls) {
+            return joinPoint.proceed();
         }
+        log.append(metadata.beforeMessage());
 
-        joinPoint.proceed();
+        //The advice has to return the method's result, otherwise the caller gets null
+        Object result = joinPoint.proceed();
 
-        System.out.println("After executing method: " + joinPoint.getSignature().getName());
+        log.append(metadata.afterMessage());
+        return result;
     }
 }
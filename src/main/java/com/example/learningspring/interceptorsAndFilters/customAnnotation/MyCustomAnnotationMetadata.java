@@ -0,0 +1,26 @@
+package com.example.learningspring.interceptorsAndFilters.customAnnotation;
+
+import java.lang.reflect.Method;
+
+//Everything the advice needs about one @MyCustomAnnotation method, read from the annotation once.
+//The log lines are built here too, so a call doesn't concatenate strings.
+public record MyCustomAnnotationMetadata(Method method, int intKey, String stringKey, Class<?> classKey,
+                                         MyCustomEnum enumKey, String beforeMessage, String afterMessage) {
+
+    //null if the method isn't annotated
+    static MyCustomAnnotationMetadata of(Method method) {
+        MyCustomAnnotation annotation = method.getAnnotation(MyCustomAnnotation.class);
+        if (annotation == null) {
+            return null;
+        }
+        return new MyCustomAnnotationMetadata(method, annotation.intKey(), annotation.stringKey(),
+                annotation.classKey(), annotation.enumKey(),
+                "Before executing method: " + method.getName(), "After executing method: " + method.getName());
+    }
+
+    String describe() {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + ": intKey=" + intKey + ", stringKey=" + stringKey
+                + ", classKey=" + classKey.getName() + ", enumKey=" + enumKey;
+    }
+}
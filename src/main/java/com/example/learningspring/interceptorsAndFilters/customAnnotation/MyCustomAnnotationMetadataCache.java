@@ -0,0 +1,55 @@
+package com.example.learningspring.interceptorsAndFilters.customAnnotation;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//@MyCustomAnnotation metadata by Method.
+//As a BeanPostProcessor it sees every bean before the auto proxy creator wraps it in a proxy, and resolves the
+//annotated methods of the bean's class then. The advice only does get(method), one hash lookup, instead of
+//isAnnotationPresent() and getAnnotation() plus an attribute read through the annotation's dynamic proxy per
+//attribute on every call.
+@Component
+public class MyCustomAnnotationMetadataCache implements BeanPostProcessor {
+
+    //Cached for methods without the annotation (e.g. an interface method of a JDK proxy), so they are looked up once
+    private static final MyCustomAnnotationMetadata NOT_ANNOTATED =
+            new MyCustomAnnotationMetadata(null, 0, null, null, null, null, null);
+
+    private final Map<Method, MyCustomAnnotationMetadata> metadata = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        Class<?> beanClass = AopUtils.getTargetClass(bean);
+        ReflectionUtils.doWithMethods(beanClass, this::resolve,
+                method -> method.isAnnotationPresent(MyCustomAnnotation.class));
+        return bean;
+    }
+
+    //null if the method isn't annotated. Methods of beans created before this post processor are resolved on first use
+    public MyCustomAnnotationMetadata get(Method method) {
+        MyCustomAnnotationMetadata cached = metadata.get(method);
+        if (cached == null) {
+            cached = resolve(method);
+        }
+        return cached == NOT_ANNOTATED ? null : cached;
+    }
+
+    private MyCustomAnnotationMetadata resolve(Method method) {
+        MyCustomAnnotationMetadata resolved = MyCustomAnnotationMetadata.of(method);
+        MyCustomAnnotationMetadata previous = metadata.putIfAbsent(method, resolved != null ? resolved : NOT_ANNOTATED);
+        if (previous != null) {
+            return previous;
+        }
+        if (resolved == null) {
+            return NOT_ANNOTATED;
+        }
+        System.out.println("Resolved @MyCustomAnnotation " + resolved.describe());
+        return resolved;
+    }
+}
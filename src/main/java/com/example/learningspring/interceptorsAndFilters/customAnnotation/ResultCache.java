@@ -0,0 +1,224 @@
+package com.example.learningspring.interceptorsAndFilters.customAnnotation;
+
+import com.example.learningspring.metrics.Counter;
+import com.example.learningspring.metrics.LatencyRecorder;
+import com.example.learningspring.metrics.MetricRegistry;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+//One named cache of CachedResultAspect: results by key, with TTL, a size bound and refresh ahead.
+//- A hit is a ConcurrentHashMap get plus a volatile write of the access time.
+//- Concurrent misses for the same key load once: the first caller loads, the others wait for its result.
+//- Above maxSize, an expired or else the least recently used entry of a small sample is removed, so an insert
+//  never scans the whole cache for the single oldest entry. Each sample continues where the previous one stopped
+//  (like a clock hand), so all entries take turns instead of always the first ones of the table.
+//- Refresh ahead reloads an entry on the executor when a hit finds it older than refreshAheadNanos. The entry
+//  keeps serving the old value until the new one is there; a failed reload leaves it to expire normally.
+//  The reload runs on another thread than the call, so it gets its own loader that doesn't depend on the caller's
+//  thread (ProceedingJoinPoint.proceed() does: the AOP invocation is a thread-local).
+class ResultCache {
+
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    private final String name;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final int maxSize;
+    private final Executor refreshExecutor;
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    //One thread evicts at a time, the others don't wait for it
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    //Where the previous sample stopped, guarded by evictionLock
+    private Iterator<Map.Entry<Object, Entry>> evictionCursor = Collections.emptyIterator();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter loadWaits;
+    private final Counter loadFailures;
+    private final Counter refreshes;
+    private final Counter refreshFailures;
+    private final Counter evictions;
+    private final LatencyRecorder loadTime;
+
+    ResultCache(String name, int ttlSeconds, int refreshAheadPercent, int maxSize, Executor refreshExecutor,
+                MetricRegistry metricRegistry) {
+        this.name = name;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.refreshAheadNanos = refreshAheadPercent <= 0 ? 0 : ttlNanos / 100 * Math.min(refreshAheadPercent, 100);
+        this.maxSize = maxSize;
+        this.refreshExecutor = refreshExecutor;
+        String prefix = "cache." + name + ".";
+        this.hits = metricRegistry.counter(prefix + "hits");
+        this.misses = metricRegistry.counter(prefix + "misses");
+        this.loadWaits = metricRegistry.counter(prefix + "loadWaits");
+        this.loadFailures = metricRegistry.counter(prefix + "loadFailures");
+        this.refreshes = metricRegistry.counter(prefix + "refreshes");
+        this.refreshFailures = metricRegistry.counter(prefix + "refreshFailures");
+        this.evictions = metricRegistry.counter(prefix + "evictions");
+        this.loadTime = metricRegistry.latency(prefix + "loadTime");
+        metricRegistry.gauge(prefix + "size", entries::size);
+    }
+
+    String name() {
+        return name;
+    }
+
+    Object get(Object key, Loader loader, Loader reloader) throws Throwable {
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            Loaded loaded = entry.loaded;
+            if (loaded == null) {
+                loadWaits.increment();
+                return await(entry);
+            }
+            if (now - loaded.loadedAtNanos() < ttlNanos) {
+                hits.increment();
+                entry.lastAccessNanos = now;
+                if (refreshAheadNanos > 0 && now - loaded.loadedAtNanos() >= refreshAheadNanos) {
+                    refreshAhead(entry, reloader);
+                }
+                return loaded.value();
+            }
+            entries.remove(key, entry);
+        }
+
+        misses.increment();
+        Entry fresh = new Entry(now);
+        Entry winner = entries.putIfAbsent(key, fresh);
+        if (winner != null) {
+            Loaded loaded = winner.loaded;
+            if (loaded != null) {
+                return loaded.value();
+            }
+            loadWaits.increment();
+            return await(winner);
+        }
+
+        Object value;
+        try {
+            value = loader.load();
+        } catch (Throwable t) {
+            entries.remove(key, fresh);
+            loadFailures.increment();
+            fresh.loading.completeExceptionally(t);
+            throw t;
+        } finally {
+            loadTime.recordSince(now);
+        }
+        if (value == null) {
+            entries.remove(key, fresh);
+        } else {
+            fresh.loaded = new Loaded(value, System.nanoTime());
+            evictIfFull();
+        }
+        fresh.loading.complete(value);
+        return value;
+    }
+
+    private static Object await(Entry entry) throws Throwable {
+        try {
+            return entry.loading.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void refreshAhead(Entry entry, Loader reloader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    Object value = reloader.load();
+                    if (value != null) {
+                        entry.loaded = new Loaded(value, System.nanoTime());
+                        refreshes.increment();
+                    }
+                } catch (Throwable t) {
+                    refreshFailures.increment();
+                } finally {
+                    loadTime.recordSince(start);
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            //Shutting down: the entry just expires
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            while (entries.size() > maxSize) {
+                Map.Entry<Object, Entry> victim = null;
+                for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+                    if (!evictionCursor.hasNext()) {
+                        //Weakly consistent: a new pass also sees the entries added since the last one
+                        evictionCursor = entries.entrySet().iterator();
+                        if (!evictionCursor.hasNext()) {
+                            break;
+                        }
+                    }
+                    Map.Entry<Object, Entry> candidate = evictionCursor.next();
+                    Loaded loaded = candidate.getValue().loaded;
+                    //Entries still loading have waiters, leave them
+                    if (loaded == null) {
+                        continue;
+                    }
+                    if (now - loaded.loadedAtNanos() >= ttlNanos) {
+                        victim = candidate;
+                        break;
+                    }
+                    if (victim == null || candidate.getValue().lastAccessNanos - victim.getValue().lastAccessNanos < 0) {
+                        victim = candidate;
+                    }
+                }
+                if (victim == null || !entries.remove(victim.getKey(), victim.getValue())) {
+                    return;
+                }
+                evictions.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    //The method call, e.g. ProceedingJoinPoint::proceed
+    @FunctionalInterface
+    interface Loader {
+        Object load() throws Throwable;
+    }
+
+    private record Loaded(Object value, long loadedAtNanos) {
+    }
+
+    private static final class Entry {
+        //Completed when the first load finishes, for callers that arrive while it runs
+        final CompletableFuture<Object> loading = new CompletableFuture<>();
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        //null while the first load runs
+        volatile Loaded loaded;
+        volatile long lastAccessNanos;
+
+        Entry(long nowNanos) {
+            this.lastAccessNanos = nowNanos;
+        }
+    }
+}
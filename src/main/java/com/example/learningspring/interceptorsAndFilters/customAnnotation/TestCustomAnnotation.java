@@ -5,7 +5,9 @@ import org.springframework.stereotype.Service;
 @Service
 public class TestCustomAnnotation {
 
+    //Computed at most every 30 seconds, reloaded in the background after 24
     @MyCustomAnnotation(intKey = 1, stringKey = "Hello", classKey = String.class, enumKey = MyCustomEnum.VALUE2)
+    @CachedResult(cacheName = "userData", ttlSeconds = 30, keyStrategy = CacheKeyStrategy.METHOD)
     public String getUserData() {
         return "User Data";
     }
@@ -0,0 +1,10 @@
+package com.example.learningspring.interceptorsAndFilters.customFilters;
+
+//One access log line. Formatted by toString() on the AsyncLogAppender writer thread, not on the request thread.
+record AccessLogEvent(long timestampMillis, String method, String uri, int status, long elapsedNanos) {
+
+    @Override
+    public String toString() {
+        return String.format("%tT.%<tL %s %s %d %.3fms", timestampMillis, method, uri, status, elapsedNanos / 1_000_000.0);
+    }
+}
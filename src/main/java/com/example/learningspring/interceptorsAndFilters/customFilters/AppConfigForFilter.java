@@ -1,5 +1,9 @@
 package com.example.learningspring.interceptorsAndFilters.customFilters;
 
+import com.example.learningspring.metrics.AsyncLogAppender;
+import com.example.learningspring.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,10 +11,28 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class AppConfigForFilter {
 
+    @Autowired
+    MetricRegistry metricRegistry;
+
+    @Autowired
+    AsyncLogAppender asyncLogAppender;
+
+    @Value("${request.metrics.access-log:true}")
+    boolean accessLogEnabled;
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> getRequestMetricsFilter() {
+        FilterRegistrationBean<RequestMetricsFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RequestMetricsFilter(metricRegistry, accessLogEnabled ? asyncLogAppender : null));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(0); // before MyFilter1/MyFilter2, so their time is part of the measurement
+        return registrationBean;
+    }
+
     @Bean
     public FilterRegistrationBean<MyFilter1> getMyFilter1() {
         FilterRegistrationBean<MyFilter1> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new MyFilter1());
+        registrationBean.setFilter(new MyFilter1(asyncLogAppender));
         registrationBean.addUrlPatterns("/*"); // URL patterns to apply the filter
         registrationBean.setOrder(2); // Order of the filter in the filter chain
         return registrationBean;
@@ -19,7 +41,7 @@ public class AppConfigForFilter {
     @Bean
     public FilterRegistrationBean<MyFilter2> getMyFilter2() {
         FilterRegistrationBean<MyFilter2> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new MyFilter2());
+        registrationBean.setFilter(new MyFilter2(asyncLogAppender));
         registrationBean.addUrlPatterns("/*"); // URL patterns to apply the filter
         registrationBean.setOrder(1); // Order of the filter in the filter chain
         return registrationBean;
@@ -1,5 +1,6 @@
 package com.example.learningspring.interceptorsAndFilters.customFilters;
 
+import com.example.learningspring.metrics.AsyncLogAppender;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.FilterConfig;
@@ -10,6 +11,14 @@ import jakarta.servlet.ServletResponse;
 import java.io.IOException;
 
 public class MyFilter1 implements Filter {
+
+    //Not System.out.println: that is synchronized, so every request would wait for the others' console writes
+    private final AsyncLogAppender log;
+
+    public MyFilter1(AsyncLogAppender log) {
+        this.log = log;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         Filter.super.init(filterConfig);
@@ -22,8 +31,8 @@ public class MyFilter1 implements Filter {
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-        System.out.println("Inside MyFilter1.doFilter() Starts");
+        log.append("Inside MyFilter1.doFilter() Starts");
         chain.doFilter(request, response); // continue processing the request and response chain
-        System.out.println("Inside MyFilter1.doFilter() Completed");
+        log.append("Inside MyFilter1.doFilter() Completed");
     }
 }
@@ -1,5 +1,6 @@
 package com.example.learningspring.interceptorsAndFilters.customFilters;
 
+import com.example.learningspring.metrics.AsyncLogAppender;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.FilterConfig;
@@ -10,6 +11,13 @@ import jakarta.servlet.ServletResponse;
 import java.io.IOException;
 
 public class MyFilter2 implements Filter {
+
+    private final AsyncLogAppender log;
+
+    public MyFilter2(AsyncLogAppender log) {
+        this.log = log;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         Filter.super.init(filterConfig);
@@ -22,8 +30,8 @@ public class MyFilter2 implements Filter {
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-        System.out.println("Inside MyFilter2.doFilter() Starts");
+        log.append("Inside MyFilter2.doFilter() Starts");
         chain.doFilter(request, response); // continue processing the request and response chain
-        System.out.println("Inside MyFilter2.doFilter() Completed");
+        log.append("Inside MyFilter2.doFilter() Completed");
     }
 }
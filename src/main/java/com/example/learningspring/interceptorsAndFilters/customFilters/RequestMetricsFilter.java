@@ -0,0 +1,131 @@
+package com.example.learningspring.interceptorsAndFilters.customFilters;
+
+import com.example.learningspring.metrics.AsyncLogAppender;
+import com.example.learningspring.metrics.MaxGauge;
+import com.example.learningspring.metrics.MetricRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Times every request and records it per route: a latency histogram and status code counts, plus the number
+//of requests in flight and its peak. Everything is lock-free (see the metrics package): the filter adds little
+//per request and threads never wait on each other. Results are at /metrics/core.
+//
+//The route is the mapped path pattern (e.g. /payments/{id}), not the URI, so the number of metrics stays bounded.
+//Requests that reach no handler (404s, rejected by an earlier filter) are recorded as UNMATCHED, and requests with a
+//method other than the standard ones (clients can send any token) as OTHER.
+public class RequestMetricsFilter implements Filter {
+
+    static final String PREFIX = "http.server.";
+    static final String UNMATCHED = "UNMATCHED";
+    static final String OTHER_METHOD = "OTHER";
+    private static final Set<String> STANDARD_METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    private final MetricRegistry metricRegistry;
+    private final AsyncLogAppender accessLog;
+    //method -> pattern -> metrics; two lookups instead of building a "method pattern" key String per request
+    private final Map<String, Map<String, RouteMetrics>> routes = new ConcurrentHashMap<>();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final MaxGauge peakInFlight;
+
+    //accessLog may be null to only record metrics
+    public RequestMetricsFilter(MetricRegistry metricRegistry, AsyncLogAppender accessLog) {
+        this.metricRegistry = metricRegistry;
+        this.accessLog = accessLog;
+        this.peakInFlight = metricRegistry.maxGauge(PREFIX + "inFlight.peak");
+        metricRegistry.gauge(PREFIX + "inFlight", inFlight::get);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        long start = System.nanoTime();
+        peakInFlight.update(inFlight.incrementAndGet());
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && httpRequest.isAsyncStarted()) {
+                //The handler returned a CompletableFuture/DeferredResult: the request ends later, on another thread
+                httpRequest.getAsyncContext().addListener(new CompletionListener(httpRequest, httpResponse, start));
+            } else {
+                complete(httpRequest, httpResponse, start, failed);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response, long start, boolean failed) {
+        long elapsed = System.nanoTime() - start;
+        inFlight.decrementAndGet();
+        //An exception escaping the chain becomes a 500 in the container, unless an error status was already set
+        int status = failed && response.getStatus() < 400 ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+        routeMetrics(request).record(elapsed, status);
+        if (accessLog != null) {
+            accessLog.append(new AccessLogEvent(System.currentTimeMillis(), request.getMethod(), request.getRequestURI(), status, elapsed));
+        }
+    }
+
+    private RouteMetrics routeMetrics(HttpServletRequest request) {
+        String method = STANDARD_METHODS.contains(request.getMethod()) ? request.getMethod() : OTHER_METHOD;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern == null ? UNMATCHED : pattern.toString();
+        Map<String, RouteMetrics> byPattern = routes.get(method);
+        if (byPattern == null) {
+            byPattern = routes.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        RouteMetrics metrics = byPattern.get(route);
+        if (metrics == null) {
+            metrics = byPattern.computeIfAbsent(route, key -> new RouteMetrics(metricRegistry, PREFIX + method + " " + key));
+        }
+        return metrics;
+    }
+
+    private class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+        private boolean failed;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(request, response, start, failed);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            //Spring MVC answers timeouts itself (503 by default), the response status is already right
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.learningspring.interceptorsAndFilters.customFilters;
+
+import com.example.learningspring.metrics.Counter;
+import com.example.learningspring.metrics.LatencyRecorder;
+import com.example.learningspring.metrics.MetricRegistry;
+
+//Latency and status code counts of one route (HTTP method + mapped path pattern).
+//Status counters are created on first use and then found by array index, without boxing the status code.
+class RouteMetrics {
+
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+
+    private final MetricRegistry metricRegistry;
+    private final String name;
+    private final LatencyRecorder latency;
+    private final Counter[] statusCounts = new Counter[MAX_STATUS - MIN_STATUS + 1];
+
+    RouteMetrics(MetricRegistry metricRegistry, String name) {
+        this.metricRegistry = metricRegistry;
+        this.name = name;
+        this.latency = metricRegistry.latency(name + ".latency");
+    }
+
+    void record(long elapsedNanos, int status) {
+        latency.record(elapsedNanos);
+        statusCounter(status).increment();
+    }
+
+    private Counter statusCounter(int status) {
+        if (status < MIN_STATUS || status > MAX_STATUS) {
+            return metricRegistry.counter(name + ".status.other");
+        }
+        Counter counter = statusCounts[status - MIN_STATUS];
+        if (counter == null) {
+            //Racing threads get the same Counter from the registry, so the plain array write is harmless
+            counter = metricRegistry.counter(name + ".status." + status);
+            statusCounts[status - MIN_STATUS] = counter;
+        }
+        return counter;
+    }
+}
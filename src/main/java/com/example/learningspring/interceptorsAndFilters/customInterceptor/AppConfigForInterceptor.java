@@ -1,5 +1,7 @@
 package com.example.learningspring.interceptorsAndFilters.customInterceptor;
 
+import com.example.learningspring.interceptorsAndFilters.rateLimiting.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -7,15 +9,27 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class AppConfigForInterceptor implements WebMvcConfigurer {
 
+    @Autowired
+    RateLimitInterceptor rateLimitInterceptor;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         //Interceptors will be applied in the order they are added
-        registry.addInterceptor(new MyCustomInterceptor())
+        //All their path patterns are compiled into one matcher, see CompiledInterceptorChain
+        CompiledInterceptorChain chain = CompiledInterceptorChain.builder()
+                //Rate limiting first, so rejected requests don't reach the other interceptors
+                .add(rateLimitInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/metrics/**") // Metrics must stay readable while clients are throttled
+
+                .add(new MyCustomInterceptor())
                 .addPathPatterns("/api/*")
-                .excludePathPatterns("/api/exclude"); // Exclude specific paths
+                .excludePathPatterns("/api/exclude") // Exclude specific paths
 
-        registry.addInterceptor(new MyCustomInterceptor1())
+                .add(new MyCustomInterceptor1())
                 .addPathPatterns("/api/*")
-                .excludePathPatterns("/api/delete");
+                .excludePathPatterns("/api/delete")
+                .build();
+        registry.addInterceptor(chain);
     }
 }
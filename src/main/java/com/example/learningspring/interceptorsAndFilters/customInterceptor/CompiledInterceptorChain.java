@@ -0,0 +1,254 @@
+package com.example.learningspring.interceptorsAndFilters.customInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Path based interceptors behind a single registration.
+//registry.addInterceptor(x).addPathPatterns(...) wraps x in a MappedInterceptor, and for every request Spring asks
+//every MappedInterceptor whether its patterns match, one pattern after the other. Here all patterns are compiled
+//into one InterceptorPathTrie at startup, and the interceptors selected for a handler mapping's pattern (e.g.
+//"/payments/{id}") are cached, so after the first request to a route selecting them is a map lookup.
+//The selected interceptors are called with the same contract as HandlerExecutionChain: preHandle in order,
+//postHandle and afterCompletion in reverse, afterCompletion only for those whose preHandle returned true (also when
+//a later preHandle threw).
+public class CompiledInterceptorChain implements AsyncHandlerInterceptor {
+
+    private static final String STATE_ATTRIBUTE = CompiledInterceptorChain.class.getName() + ".STATE";
+    private static final HandlerInterceptor[] NONE = new HandlerInterceptor[0];
+    //Marks handler patterns whose interceptors depend on the actual path
+    private static final HandlerInterceptor[] PER_PATH = new HandlerInterceptor[0];
+    private static final int MAX_CACHED_PATHS = 1024;
+
+    private final HandlerInterceptor[] interceptors;
+    private final InterceptorPathTrie trie;
+    private final long[] includedWithoutPatterns;
+    private final int words;
+    private final Map<String, HandlerInterceptor[]> chainsByHandlerPattern = new ConcurrentHashMap<>();
+    private final Map<String, HandlerInterceptor[]> chainsByPath = new ConcurrentHashMap<>();
+
+    private CompiledInterceptorChain(List<Registration> registrations) {
+        int count = registrations.size();
+        this.interceptors = new HandlerInterceptor[count];
+        this.trie = new InterceptorPathTrie();
+        //Word w: included interceptors 64w..64w+63, word words + w: the same interceptors excluded
+        this.words = (count + 63) >>> 6;
+        this.includedWithoutPatterns = new long[2 * words];
+        for (int i = 0; i < count; i++) {
+            Registration registration = registrations.get(i);
+            interceptors[i] = registration.interceptor;
+            if (registration.includePatterns.isEmpty()) {
+                includedWithoutPatterns[i >>> 6] |= 1L << i;
+            }
+            for (String pattern : registration.includePatterns) {
+                trie.add(pattern, i);
+            }
+            for (String pattern : registration.excludePatterns) {
+                trie.add(pattern, (words << 6) + i);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    //The interceptors for this request, in registration order
+    HandlerInterceptor[] select(HttpServletRequest request) {
+        String path = lookupPath(request);
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String handlerPattern
+                && !InterceptorPathTrie.requiresPathPattern(path)) {
+            HandlerInterceptor[] chain = chainsByHandlerPattern.get(handlerPattern);
+            if (chain == null) {
+                long[] bits = initialBits();
+                chain = trie.matchTemplate(handlerPattern, bits) ? toChain(bits) : PER_PATH;
+                chainsByHandlerPattern.put(handlerPattern, chain);
+            }
+            if (chain != PER_PATH) {
+                return chain;
+            }
+        } else if (InterceptorPathTrie.requiresPathPattern(path)) {
+            //Paths like "/" repeat, but fall back to matching every pattern: cache them, up to a limit
+            HandlerInterceptor[] chain = chainsByPath.get(path);
+            if (chain == null) {
+                chain = selectForPath(path);
+                if (chainsByPath.size() < MAX_CACHED_PATHS) {
+                    chainsByPath.put(path, chain);
+                }
+            }
+            return chain;
+        }
+        return selectForPath(path);
+    }
+
+    HandlerInterceptor[] selectForPath(String path) {
+        long[] bits = initialBits();
+        trie.match(path, bits);
+        return toChain(bits);
+    }
+
+    private long[] initialBits() {
+        return includedWithoutPatterns.clone();
+    }
+
+    //Visits only the selected interceptors, 64 per word
+    private HandlerInterceptor[] toChain(long[] bits) {
+        int size = 0;
+        for (int w = 0; w < words; w++) {
+            size += Long.bitCount(bits[w] & ~bits[words + w]);
+        }
+        if (size == 0) {
+            return NONE;
+        }
+        HandlerInterceptor[] chain = new HandlerInterceptor[size];
+        int next = 0;
+        for (int w = 0; w < words; w++) {
+            long selected = bits[w] & ~bits[words + w];
+            while (selected != 0) {
+                chain[next++] = interceptors[(w << 6) + Long.numberOfTrailingZeros(selected)];
+                selected &= selected - 1;
+            }
+        }
+        return chain;
+    }
+
+    //Same path the MappedInterceptors would match against
+    private static String lookupPath(HttpServletRequest request) {
+        if (ServletRequestPathUtils.hasCachedPath(request)) {
+            return ServletRequestPathUtils.getCachedPathValue(request);
+        }
+        return UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        HandlerInterceptor[] chain = select(request);
+        if (chain.length == 0) {
+            request.removeAttribute(STATE_ATTRIBUTE);
+            return true;
+        }
+        ChainState state = new ChainState(chain);
+        request.setAttribute(STATE_ATTRIBUTE, state);
+        try {
+            for (int i = 0; i < chain.length; i++) {
+                if (!chain[i].preHandle(request, response, handler)) {
+                    afterCompletion(request, response, handler, null);
+                    return false;
+                }
+                state.lastPreHandled = i;
+            }
+        } catch (Exception ex) {
+            //This interceptor's preHandle didn't return true, so DispatcherServlet won't call its afterCompletion:
+            //the interceptors that already passed preHandle get theirs here
+            afterCompletion(request, response, handler, ex);
+            throw ex;
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
+        if (request.getAttribute(STATE_ATTRIBUTE) instanceof ChainState state) {
+            for (int i = state.chain.length - 1; i >= 0; i--) {
+                state.chain[i].postHandle(request, response, handler, modelAndView);
+            }
+        }
+    }
+
+    //Like HandlerExecutionChain, an exception of one interceptor doesn't stop the others
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(STATE_ATTRIBUTE) instanceof ChainState state) {
+            for (int i = state.lastPreHandled; i >= 0; i--) {
+                try {
+                    state.chain[i].afterCompletion(request, response, handler, ex);
+                } catch (Throwable e) {
+                    System.err.println("HandlerInterceptor.afterCompletion threw exception: " + e);
+                }
+            }
+            request.removeAttribute(STATE_ATTRIBUTE);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(STATE_ATTRIBUTE) instanceof ChainState state) {
+            for (int i = state.chain.length - 1; i >= 0; i--) {
+                if (state.chain[i] instanceof AsyncHandlerInterceptor asyncInterceptor) {
+                    try {
+                        asyncInterceptor.afterConcurrentHandlingStarted(request, response, handler);
+                    } catch (Throwable e) {
+                        System.err.println("HandlerInterceptor.afterConcurrentHandlingStarted threw exception: " + e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class ChainState {
+        final HandlerInterceptor[] chain;
+        int lastPreHandled = -1;
+
+        ChainState(HandlerInterceptor[] chain) {
+            this.chain = chain;
+        }
+    }
+
+    //Same calls as InterceptorRegistry: add(interceptor).addPathPatterns(...).excludePathPatterns(...)
+    public static class Builder {
+
+        private final List<Registration> registrations = new ArrayList<>();
+
+        public Registration add(HandlerInterceptor interceptor) {
+            Registration registration = new Registration(this, interceptor);
+            registrations.add(registration);
+            return registration;
+        }
+
+        public CompiledInterceptorChain build() {
+            return new CompiledInterceptorChain(registrations);
+        }
+    }
+
+    public static class Registration {
+
+        private final Builder builder;
+        private final HandlerInterceptor interceptor;
+        private final List<String> includePatterns = new ArrayList<>();
+        private final List<String> excludePatterns = new ArrayList<>();
+
+        private Registration(Builder builder, HandlerInterceptor interceptor) {
+            this.builder = builder;
+            this.interceptor = interceptor;
+        }
+
+        //No include patterns: all paths
+        public Registration addPathPatterns(String... patterns) {
+            includePatterns.addAll(List.of(patterns));
+            return this;
+        }
+
+        public Registration excludePathPatterns(String... patterns) {
+            excludePatterns.addAll(List.of(patterns));
+            return this;
+        }
+
+        public Registration add(HandlerInterceptor interceptor) {
+            return builder.add(interceptor);
+        }
+
+        public CompiledInterceptorChain build() {
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.learningspring.interceptorsAndFilters.customInterceptor;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//All include/exclude path patterns of all interceptors in one trie of path segments.
+//Each pattern is a path from the root (literal segments are keyed children, "*" and "{var}" share one wildcard
+//child, "**" and "{*var}" mark a node as matching everything below it), and where it ends the node records
+//the pattern's bit. Matching a path walks the trie once and sets the bits of all matching patterns, so the cost
+//depends on the number of path segments, not on the number of patterns.
+//Patterns the trie can't represent (a segment like "*.html" or "{id:\d+}") are matched with PathPattern one by
+//one, as are paths with empty segments ("/", "/api/", "/a//b"), where PathPattern has special cases, and paths
+//with encoded characters or matrix variables, which PathPattern decodes or strips before comparing.
+class InterceptorPathTrie {
+
+    private final Node root = new Node();
+    private final List<CompiledPattern> complexPatterns = new ArrayList<>();
+    private final List<CompiledPattern> allPatterns = new ArrayList<>();
+
+    //Throws PatternParseException for invalid patterns, like InterceptorRegistration does
+    void add(String pattern, int bit) {
+        PathPattern parsed = PathPatternParser.defaultInstance.parse(pattern);
+        allPatterns.add(new CompiledPattern(parsed, bit));
+        String[] segments = segments(parsed.getPatternString());
+        if (segments == null) {
+            complexPatterns.add(new CompiledPattern(parsed, bit));
+            return;
+        }
+        Node node = root;
+        for (String segment : segments) {
+            switch (kind(segment)) {
+                case LITERAL -> node = node.literal(segment);
+                case SINGLE -> node = node.single();
+                case MULTI -> {
+                    //Only allowed as the last segment, PathPatternParser rejected anything else
+                    node.matchAllBelow = append(node.matchAllBelow, bit);
+                    return;
+                }
+                default -> {
+                    complexPatterns.add(new CompiledPattern(parsed, bit));
+                    return;
+                }
+            }
+        }
+        node.matchHere = append(node.matchHere, bit);
+    }
+
+    //Sets the bit of every pattern matching the (lookup) path
+    void match(String path, long[] bits) {
+        if (requiresPathPattern(path)) {
+            PathContainer container = PathContainer.parsePath(path);
+            for (CompiledPattern pattern : allPatterns) {
+                if (pattern.pattern().matches(container)) {
+                    set(bits, pattern.bit());
+                }
+            }
+            return;
+        }
+        walk(root, path, 1, bits);
+        if (!complexPatterns.isEmpty()) {
+            PathContainer container = PathContainer.parsePath(path);
+            for (CompiledPattern pattern : complexPatterns) {
+                if (pattern.pattern().matches(container)) {
+                    set(bits, pattern.bit());
+                }
+            }
+        }
+    }
+
+    //Matches a handler mapping pattern such as "/user/{id}" instead of a path: sets the bits of the patterns that
+    //match every path the template matches and returns true, or returns false if that depends on the actual
+    //path (e.g. "/user/{id}" against an exclude of "/user/admin"), then the caller has to match each path
+    boolean matchTemplate(String template, long[] bits) {
+        if (!complexPatterns.isEmpty() || requiresPathPattern(template)) {
+            return false;
+        }
+        return walkTemplate(root, template, 1, bits);
+    }
+
+    //The segment starts at index start, the path has no empty segments
+    private static void walk(Node node, String path, int start, long[] bits) {
+        set(bits, node.matchAllBelow);
+        if (start > path.length()) {
+            set(bits, node.matchHere);
+            return;
+        }
+        int end = segmentEnd(path, start);
+        if (node.literals != null) {
+            Node child = node.literals.get(path.substring(start, end));
+            if (child != null) {
+                walk(child, path, end + 1, bits);
+            }
+        }
+        if (node.single != null) {
+            walk(node.single, path, end + 1, bits);
+        }
+    }
+
+    private static boolean walkTemplate(Node node, String template, int start, long[] bits) {
+        set(bits, node.matchAllBelow);
+        if (start > template.length()) {
+            set(bits, node.matchHere);
+            return true;
+        }
+        int end = segmentEnd(template, start);
+        String segment = template.substring(start, end);
+        switch (kind(segment)) {
+            case LITERAL -> {
+                Node child = node.literals != null ? node.literals.get(segment) : null;
+                if (child != null && !walkTemplate(child, template, end + 1, bits)) {
+                    return false;
+                }
+                return node.single == null || walkTemplate(node.single, template, end + 1, bits);
+            }
+            case MULTI -> {
+                //Any number of segments follow: only "match everything below" is the same for all of them
+                return node.literals == null && node.single == null && node.matchHere.length == 0;
+            }
+            default -> {
+                //One segment of unknown value: fine as long as no literal pattern segment could be it
+                if (node.literals != null) {
+                    return false;
+                }
+                return node.single == null || walkTemplate(node.single, template, end + 1, bits);
+            }
+        }
+    }
+
+    static boolean requiresPathPattern(String path) {
+        if (path.isEmpty() || path.charAt(0) != '/' || path.charAt(path.length() - 1) == '/') {
+            return true;
+        }
+        return path.contains("//") || path.indexOf('%') >= 0 || path.indexOf(';') >= 0;
+    }
+
+    private static int segmentEnd(String path, int start) {
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.length() : end;
+    }
+
+    //null for paths the trie doesn't handle
+    private static String[] segments(String pattern) {
+        if (requiresPathPattern(pattern)) {
+            return null;
+        }
+        return pattern.substring(1).split("/");
+    }
+
+    private static SegmentKind kind(String segment) {
+        if (segment.equals("**") || (segment.startsWith("{*") && segment.endsWith("}"))) {
+            return SegmentKind.MULTI;
+        }
+        if (segment.equals("*")) {
+            return SegmentKind.SINGLE;
+        }
+        if (segment.startsWith("{") && segment.endsWith("}") && segment.indexOf('{', 1) < 0 && segment.indexOf(':') < 0) {
+            return SegmentKind.SINGLE;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{' || c == '}' || c == '\\') {
+                return SegmentKind.COMPLEX;
+            }
+        }
+        return SegmentKind.LITERAL;
+    }
+
+    private static int[] append(int[] bits, int bit) {
+        int[] result = Arrays.copyOf(bits, bits.length + 1);
+        result[bits.length] = bit;
+        return result;
+    }
+
+    private static void set(long[] bits, int[] indexes) {
+        for (int index : indexes) {
+            set(bits, index);
+        }
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private enum SegmentKind {LITERAL, SINGLE, MULTI, COMPLEX}
+
+    private record CompiledPattern(PathPattern pattern, int bit) {
+    }
+
+    private static final class Node {
+        Map<String, Node> literals;
+        Node single;
+        int[] matchHere = new int[0];
+        int[] matchAllBelow = new int[0];
+
+        Node literal(String segment) {
+            if (literals == null) {
+                literals = new HashMap<>();
+            }
+            return literals.computeIfAbsent(segment, key -> new Node());
+        }
+
+        Node single() {
+            if (single == null) {
+                single = new Node();
+            }
+            return single;
+        }
+    }
+}
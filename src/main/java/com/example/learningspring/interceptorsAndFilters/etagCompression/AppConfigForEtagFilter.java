@@ -0,0 +1,39 @@
+package com.example.learningspring.interceptorsAndFilters.etagCompression;
+
+import com.example.learningspring.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class AppConfigForEtagFilter {
+
+    @Autowired
+    ResourceVersions resourceVersions;
+
+    @Autowired
+    MetricRegistry metricRegistry;
+
+    @Value("${http.etag.versioned-paths:}")
+    List<String> versionedPaths;
+
+    @Value("${http.etag.max-buffered-bytes:65536}")
+    int maxBufferedBytes;
+
+    @Value("${http.compression.min-size-bytes:1024}")
+    int minCompressSizeBytes;
+
+    @Bean
+    public FilterRegistrationBean<EtagCompressionFilter> getEtagCompressionFilter() {
+        FilterRegistrationBean<EtagCompressionFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new EtagCompressionFilter(resourceVersions, versionedPaths, maxBufferedBytes,
+                minCompressSizeBytes, metricRegistry));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(3); // after the logging filters (0-2), closest to the DispatcherServlet
+        return registrationBean;
+    }
+}
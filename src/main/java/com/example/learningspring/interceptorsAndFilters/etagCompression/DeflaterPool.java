@@ -0,0 +1,44 @@
+package com.example.learningspring.interceptorsAndFilters.etagCompression;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+//Reuses Deflaters across responses. A Deflater holds ~256KB of native zlib memory, which is only released by
+//end() or a GC cleaner; GZIPOutputStream creates a new one per stream, so compressing every response churns
+//native memory. Pooled deflaters are reset() between uses instead.
+class DeflaterPool {
+
+    private final Queue<Deflater> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final int maxIdle;
+    private final int level;
+    private final boolean nowrap;
+
+    //nowrap = true for raw deflate data (inside gzip framing), false for the zlib format ("deflate" encoding)
+    DeflaterPool(int maxIdle, int level, boolean nowrap) {
+        this.maxIdle = maxIdle;
+        this.level = level;
+        this.nowrap = nowrap;
+    }
+
+    Deflater borrow() {
+        Deflater deflater = idle.poll();
+        if (deflater == null) {
+            return new Deflater(level, nowrap);
+        }
+        idleCount.decrementAndGet();
+        return deflater;
+    }
+
+    void release(Deflater deflater) {
+        deflater.reset();
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(deflater);
+        } else {
+            idleCount.decrementAndGet();
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.learningspring.interceptorsAndFilters.etagCompression;
+
+import com.example.learningspring.metrics.Counter;
+import com.example.learningspring.metrics.MetricRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+//Strong ETags, 304 Not Modified and gzip/deflate for GET responses.
+//- The ETag is a SHA-256 of the body, computed while the body is written (HashingResponseWrapper).
+//- If-None-Match matching the ETag: 304 without a body. For paths listed in versionedPaths, the last ETag is
+//  remembered with the path's ResourceVersions version, and while that version is unchanged a matching
+//  If-None-Match is answered before the controller runs at all.
+//- Bodies of at least minCompressSize bytes with a text/JSON/XML content type are compressed with a pooled Deflater,
+//  if the client accepts gzip or deflate. The encoding is appended to the ETag ("...-gzip"), since a strong ETag
+//  identifies the exact bytes sent.
+//Bodies larger than maxBuffered, async requests and non-200 responses pass through unchanged.
+public class EtagCompressionFilter implements Filter {
+
+    private static final int MAX_KNOWN_ETAGS = 10_000;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+
+    private final ResourceVersions resourceVersions;
+    private final List<String> versionedPaths;
+    private final int maxBuffered;
+    private final int minCompressSize;
+    private final DeflaterPool gzipDeflaters = new DeflaterPool(64, Deflater.DEFAULT_COMPRESSION, true);
+    private final DeflaterPool zlibDeflaters = new DeflaterPool(16, Deflater.DEFAULT_COMPRESSION, false);
+    private final Map<String, KnownEtag> knownEtags = new ConcurrentHashMap<>();
+
+    private final Counter notModified;
+    private final Counter notModifiedBeforeController;
+    private final Counter compressedResponses;
+    private final Counter bytesSaved;
+
+    //versionedPaths: exact paths, or prefixes ending with "/"
+    public EtagCompressionFilter(ResourceVersions resourceVersions, List<String> versionedPaths, int maxBuffered,
+                                 int minCompressSize, MetricRegistry metricRegistry) {
+        this.resourceVersions = resourceVersions;
+        this.versionedPaths = versionedPaths;
+        this.maxBuffered = maxBuffered;
+        this.minCompressSize = minCompressSize;
+        this.notModified = metricRegistry.counter("http.etag.notModified");
+        this.notModifiedBeforeController = metricRegistry.counter("http.etag.notModified.beforeController");
+        this.compressedResponses = metricRegistry.counter("http.compression.responses");
+        this.bytesSaved = metricRegistry.counter("http.compression.bytesSaved");
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI();
+        String key = request.getQueryString() == null ? path : path + '?' + request.getQueryString();
+        ResourceVersions.Version version = isVersioned(path) ? resourceVersions.current(path) : null;
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (version != null && ifNoneMatch != null) {
+            KnownEtag known = knownEtags.get(key);
+            if (known != null && known.version().equals(version) && matches(ifNoneMatch, known.etag())) {
+                notModifiedBeforeController.increment();
+                sendNotModified(response, known.etag());
+                return;
+            }
+        }
+
+        HashingResponseWrapper wrapper = new HashingResponseWrapper(response, maxBuffered);
+        chain.doFilter(request, wrapper);
+        if (request.isAsyncStarted()) {
+            //The body is written later on another thread, don't hold it back
+            wrapper.switchToPassThrough();
+            return;
+        }
+        wrapper.flushWriter();
+        if (wrapper.isPassThrough()) {
+            return;
+        }
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || response.isCommitted()) {
+            writeBody(response, wrapper.body(), wrapper.bodyLength());
+            return;
+        }
+
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag == null) {
+            etag = '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(wrapper.digest(), 16)) + '"';
+        }
+        if (version != null) {
+            //The version read before the controller ran: if it changed meanwhile, the next request recomputes
+            remember(key, new KnownEtag(etag, version));
+        }
+        if (ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+            notModified.increment();
+            sendNotModified(response, etag);
+            return;
+        }
+        sendBody(request, response, wrapper.body(), wrapper.bodyLength(), etag);
+    }
+
+    private void sendBody(HttpServletRequest request, HttpServletResponse response, byte[] body, int length, String etag) throws IOException {
+        if (length >= minCompressSize && isCompressible(response.getContentType())) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String encoding = acceptedEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            if (encoding != null) {
+                byte[] compressed = compress(body, length, GZIP.equals(encoding));
+                if (compressed.length < length) {
+                    compressedResponses.increment();
+                    bytesSaved.add(length - compressed.length);
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+                    response.setHeader(HttpHeaders.ETAG, etag.substring(0, etag.length() - 1) + '-' + encoding + '"');
+                    writeBody(response, compressed, compressed.length);
+                    return;
+                }
+            }
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        writeBody(response, body, length);
+    }
+
+    private byte[] compress(byte[] body, int length, boolean gzip) {
+        DeflaterPool pool = gzip ? gzipDeflaters : zlibDeflaters;
+        Deflater deflater = pool.borrow();
+        try {
+            deflater.setInput(body, 0, length);
+            deflater.finish();
+            byte[] out = new byte[length / 2 + 64];
+            int size = 0;
+            if (gzip) {
+                System.arraycopy(GZIP_HEADER, 0, out, 0, GZIP_HEADER.length);
+                size = GZIP_HEADER.length;
+            }
+            while (!deflater.finished()) {
+                if (size == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                size += deflater.deflate(out, size, out.length - size);
+            }
+            if (gzip) {
+                CRC32 crc = new CRC32();
+                crc.update(body, 0, length);
+                out = Arrays.copyOf(out, size + 8);
+                writeIntLittleEndian(out, size, (int) crc.getValue());
+                writeIntLittleEndian(out, size + 4, length);
+                return out;
+            }
+            return Arrays.copyOf(out, size);
+        } finally {
+            pool.release(deflater);
+        }
+    }
+
+    private boolean isVersioned(String path) {
+        for (String versionedPath : versionedPaths) {
+            if (versionedPath.endsWith("/") ? path.startsWith(versionedPath) : path.equals(versionedPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remember(String key, KnownEtag knownEtag) {
+        if (knownEtags.size() >= MAX_KNOWN_ETAGS && !knownEtags.containsKey(key)) {
+            //Crude bound: dropping everything only costs one controller call per path
+            knownEtags.clear();
+        }
+        knownEtags.put(key, knownEtag);
+    }
+
+    //If-None-Match uses the weak comparison: W/ prefixes and our encoding suffixes are ignored
+    static boolean matches(String ifNoneMatch, String etag) {
+        String expected = stripEncoding(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*")) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (stripEncoding(candidate).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripEncoding(String etag) {
+        for (String suffix : new String[]{"-" + GZIP + '"', "-" + DEFLATE + '"'}) {
+            if (etag.endsWith(suffix)) {
+                return etag.substring(0, etag.length() - suffix.length()) + '"';
+            }
+        }
+        return etag;
+    }
+
+    //gzip preferred; a coding with q=0 is refused
+    static String acceptedEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            boolean refused = tokens.length > 1 && tokens[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            if (refused) {
+                continue;
+            }
+            if (coding.equals(GZIP) || coding.equals("*")) {
+                return GZIP;
+            }
+            deflate |= coding.equals(DEFLATE);
+        }
+        return deflate ? DEFLATE : null;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml") || type.contains("javascript");
+    }
+
+    private static void sendNotModified(HttpServletResponse response, String etag) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader(HttpHeaders.ETAG, etag);
+    }
+
+    private static void writeBody(HttpServletResponse response, byte[] body, int length) throws IOException {
+        if (!response.isCommitted()) {
+            response.setContentLength(length);
+        }
+        if (length > 0) {
+            response.getOutputStream().write(body, 0, length);
+        }
+    }
+
+    private static void writeIntLittleEndian(byte[] target, int offset, int value) {
+        target[offset] = (byte) value;
+        target[offset + 1] = (byte) (value >>> 8);
+        target[offset + 2] = (byte) (value >>> 16);
+        target[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private record KnownEtag(String etag, ResourceVersions.Version version) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.learningspring.interceptorsAndFilters.etagCompression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+//Hashes the response body while it is written, so the ETag is ready as soon as the body is complete (no second
+//pass over the bytes). Small bodies are held back, because the ETag header has to go out before them; a body
+//larger than maxBuffered switches to pass-through: the held bytes and everything after go straight to the client,
+//without ETag or compression.
+class HashingResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxBuffered;
+    private final MessageDigest digest;
+    private byte[] buffer = new byte[1024];
+    private int length;
+    private boolean passThrough;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    HashingResponseWrapper(HttpServletResponse response, int maxBuffered) {
+        super(response);
+        this.maxBuffered = maxBuffered;
+        this.digest = DIGESTS.get();
+        digest.reset();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new HashingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null && writer == null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        if (writer == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+            outputStream = new HashingOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, charset));
+        }
+        return writer;
+    }
+
+    //The filter sets the final length (which differs when compressed)
+    @Override
+    public void setContentLength(int len) {
+        if (passThrough) {
+            super.setContentLength(len);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (passThrough) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    //Held back bytes must not be committed before the filter has set ETag and encoding
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (passThrough) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (!passThrough) {
+            length = 0;
+            digest.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (!passThrough) {
+            length = 0;
+            digest.reset();
+        }
+        super.reset();
+    }
+
+    //Stops holding back: writes the held bytes and sends everything after them directly
+    void switchToPassThrough() throws IOException {
+        flushWriter();
+        if (!passThrough) {
+            passThrough = true;
+            if (length > 0) {
+                getResponse().getOutputStream().write(buffer, 0, length);
+            }
+            buffer = null;
+        }
+    }
+
+    boolean isPassThrough() {
+        return passThrough;
+    }
+
+    void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    byte[] body() {
+        return buffer;
+    }
+
+    int bodyLength() {
+        return length;
+    }
+
+    byte[] digest() {
+        return digest.digest();
+    }
+
+    private void append(byte[] bytes, int offset, int count) throws IOException {
+        if (passThrough) {
+            getResponse().getOutputStream().write(bytes, offset, count);
+            return;
+        }
+        if (length + count > maxBuffered) {
+            switchToPassThrough();
+            getResponse().getOutputStream().write(bytes, offset, count);
+            return;
+        }
+        if (length + count > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(maxBuffered, Math.max(length + count, buffer.length * 2)));
+        }
+        System.arraycopy(bytes, offset, buffer, length, count);
+        length += count;
+        digest.update(bytes, offset, count);
+    }
+
+    private class HashingOutputStream extends ServletOutputStream {
+
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(int b) throws IOException {
+            single[0] = (byte) b;
+            append(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int count) throws IOException {
+            append(bytes, offset, count);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (passThrough) {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            throw new UnsupportedOperationException("Non-blocking writes are not supported by the ETag filter");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.learningspring.interceptorsAndFilters.etagCompression;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Version numbers of resources (request paths), bumped by code that changes them.
+//EtagCompressionFilter remembers the ETag it computed for a path together with the version at that time; while
+//the version hasn't changed, a request with a matching If-None-Match gets a 304 without running the controller.
+@Component
+public class ResourceVersions {
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    public Version current(String path) {
+        AtomicLong version = versions.get(path);
+        return new Version(epoch.get(), version == null ? 0 : version.get());
+    }
+
+    //Call after the resource at path changed
+    public void invalidate(String path) {
+        versions.computeIfAbsent(path, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    //Call when many resources changed at once, e.g. after reloading a lookup table
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+    }
+
+    public record Version(long epoch, long pathVersion) {
+    }
+}
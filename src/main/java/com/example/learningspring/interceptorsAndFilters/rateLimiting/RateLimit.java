@@ -0,0 +1,16 @@
+package com.example.learningspring.interceptorsAndFilters.rateLimiting;
+
+import java.util.concurrent.TimeUnit;
+
+//Steady rate plus burst credits: a quiet client accrues up to burst tokens (on this node, nothing is shared
+//between nodes), which it can spend at once before it is held to permitsPerSecond.
+public record RateLimit(double permitsPerSecond, int burst, long emissionIntervalNanos, long burstToleranceNanos) {
+
+    public static RateLimit of(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0 and burst >= 1");
+        }
+        long interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        return new RateLimit(permitsPerSecond, burst, interval, interval * burst);
+    }
+}
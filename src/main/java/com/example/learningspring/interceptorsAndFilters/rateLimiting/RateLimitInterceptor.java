@@ -0,0 +1,181 @@
+package com.example.learningspring.interceptorsAndFilters.rateLimiting;
+
+import com.example.learningspring.metrics.Counter;
+import com.example.learningspring.metrics.MetricRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//Token bucket rate limiting per client and per route.
+//A request needs a token from its client's bucket and one from its route's bucket, otherwise it gets a
+//429 with Retry-After (seconds until the rejecting bucket has a token again) and the controller isn't called.
+//For an allowed request with a known client this allocates nothing: the keys are strings the request already
+//has (client identity and the matched pattern), bucket lookup is a ConcurrentHashMap get and taking a token is
+//one CAS, see TokenBucket.
+//The client is identified by something it can't choose per request (principal or remote address, for IPv6 its /64),
+//otherwise rotating ids would get a fresh bucket each and displace real clients from the map.
+//Buckets are local to this node: with n nodes behind a load balancer a client can get up to n times the limit.
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor, SmartLifecycle {
+
+    private static final String UNMATCHED = "UNMATCHED";
+    private static final int STRIPES = 64;
+
+    private final RateLimit clientLimit;
+    private final RateLimit routeLimit;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final long idleNanos;
+    private final StripedBucketMap clientBuckets;
+    private final StripedBucketMap routeBuckets;
+    private final Counter rejectedByClient;
+    private final Counter rejectedByRoute;
+    private final Counter evicted;
+    private ScheduledExecutorService sweeper;
+
+    public RateLimitInterceptor(MetricRegistry metricRegistry,
+                                @Value("${rate-limit.client.permits-per-second:20}") double clientPermitsPerSecond,
+                                @Value("${rate-limit.client.burst:40}") int clientBurst,
+                                @Value("${rate-limit.route.permits-per-second:500}") double routePermitsPerSecond,
+                                @Value("${rate-limit.route.burst:1000}") int routeBurst,
+                                @Value("${rate-limit.client-header:X-Client-Id}") String clientHeader,
+                                @Value("${rate-limit.trusted-proxies:}") String[] trustedProxies,
+                                @Value("${rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                                @Value("${rate-limit.max-clients:100000}") int maxClients) {
+        this.clientLimit = RateLimit.of(clientPermitsPerSecond, clientBurst);
+        this.routeLimit = RateLimit.of(routePermitsPerSecond, routeBurst);
+        this.clientHeader = clientHeader;
+        this.trustedProxies = Set.copyOf(Arrays.asList(trustedProxies));
+        this.idleNanos = idleTimeout.toNanos();
+        this.clientBuckets = new StripedBucketMap(STRIPES, maxClients);
+        //Routes are the mapped patterns, a small fixed set
+        this.routeBuckets = new StripedBucketMap(STRIPES, STRIPES * 64);
+        this.rejectedByClient = metricRegistry.counter("ratelimit.rejected.client");
+        this.rejectedByRoute = metricRegistry.counter("ratelimit.rejected.route");
+        this.evicted = metricRegistry.counter("ratelimit.evicted");
+        metricRegistry.gauge("ratelimit.clients", clientBuckets::size);
+        metricRegistry.gauge("ratelimit.displaced", clientBuckets::displaced);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        long now = System.nanoTime();
+        TokenBucket client = clientBuckets.bucket(clientKey(request), now);
+        long waitNanos = client.tryAcquire(now, clientLimit);
+        if (waitNanos > 0) {
+            rejectedByClient.increment();
+            return reject(response, waitNanos);
+        }
+        TokenBucket route = routeBuckets.bucket(routeKey(request), now);
+        waitNanos = route.tryAcquire(now, routeLimit);
+        if (waitNanos > 0) {
+            //The request isn't served, the client shouldn't pay for it
+            client.refund(now, clientLimit);
+            rejectedByRoute.increment();
+            return reject(response, waitNanos);
+        }
+        return true;
+    }
+
+    //The client id header is only believed from a trusted proxy (e.g. the API gateway that authenticated the client),
+    //anyone else could send a new id with every request
+    private String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return principal.getName();
+        }
+        String remoteAddress = request.getRemoteAddr();
+        if (!trustedProxies.isEmpty() && trustedProxies.contains(remoteAddress)) {
+            String client = request.getHeader(clientHeader);
+            if (client != null) {
+                return client;
+            }
+        }
+        return addressKey(remoteAddress);
+    }
+
+    //An IPv6 client usually gets a whole /64 from its provider and can send from any address in it, so the prefix is
+    //the client. Parsing a literal address doesn't resolve anything
+    static String addressKey(String remoteAddress) {
+        if (remoteAddress.indexOf(':') < 0) {
+            return remoteAddress;
+        }
+        try {
+            InetAddress address = InetAddress.getByName(remoteAddress);
+            if (!(address instanceof Inet6Address)) {
+                //IPv4-mapped (::ffff:a.b.c.d)
+                return address.getHostAddress();
+            }
+            byte[] bytes = address.getAddress();
+            StringBuilder prefix = new StringBuilder(24);
+            for (int i = 0; i < 8; i += 2) {
+                prefix.append(Integer.toHexString((bytes[i] & 0xff) << 8 | bytes[i + 1] & 0xff)).append(':');
+            }
+            return prefix.append(":/64").toString();
+        } catch (UnknownHostException e) {
+            return remoteAddress;
+        }
+    }
+
+    //Set by the handler mapping before interceptors run, e.g. "/user/{id}" for every id
+    private static String routeKey(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String route ? route : UNMATCHED;
+    }
+
+    private static boolean reject(HttpServletResponse response, long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        return false;
+    }
+
+    //One stripe per tick: a full pass over all clients takes STRIPES ticks, each tick touches only 1/STRIPES of them
+    void sweep() {
+        long now = System.nanoTime();
+        evicted.add(clientBuckets.sweepNext(now, idleNanos) + routeBuckets.sweepNext(now, idleNanos));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (sweeper == null) {
+            sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "RateLimit-Sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long periodNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(100), idleNanos / STRIPES);
+            sweeper.scheduleWithFixedDelay(this::sweep, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return sweeper != null;
+    }
+}
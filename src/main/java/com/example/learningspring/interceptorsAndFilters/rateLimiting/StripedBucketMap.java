@@ -0,0 +1,110 @@
+package com.example.learningspring.interceptorsAndFilters.rateLimiting;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//Token buckets by key (client or route), split into stripes by key hash.
+//- Lookups of existing keys are a ConcurrentHashMap get: no lock, no allocation.
+//- Each stripe holds at most maxPerStripe buckets. A new key in a full stripe displaces the least recently active of
+//  a small sample of the stripe's buckets, each sample continuing where the previous one stopped (a clock hand, like
+//  ResponseCache), so every key always has a bucket of its own and a new key costs a bounded amount of work. The
+//  displaced key starts over with a full bucket if it comes back, which is why the keys must be identities a client
+//  can't invent at will (see RateLimitInterceptor.clientKey()).
+//- sweepNext() removes idle buckets from one stripe, so each eviction run is short and the other stripes are
+//  untouched.
+class StripedBucketMap {
+
+    private static final int DISPLACEMENT_SAMPLE_SIZE = 16;
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int maxPerStripe;
+    private final LongAdder displaced = new LongAdder();
+    private int nextStripe;
+
+    StripedBucketMap(int stripeCount, int maxEntries) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        this.maxPerStripe = Math.max(1, maxEntries / size);
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    TokenBucket bucket(String key, long nowNanos) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & mask];
+        TokenBucket bucket = stripe.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.buckets.size() >= maxPerStripe) {
+            displaceLeastRecentlyActive(stripe);
+        }
+        return stripe.buckets.computeIfAbsent(key, k -> new TokenBucket(nowNanos));
+    }
+
+    //The bucket with the oldest TAT is the closest to full, so dropping it loses the least
+    private void displaceLeastRecentlyActive(Stripe stripe) {
+        Map.Entry<String, TokenBucket> oldest = null;
+        synchronized (stripe) {
+            for (int i = 0; i < DISPLACEMENT_SAMPLE_SIZE; i++) {
+                if (!stripe.displacementCursor.hasNext()) {
+                    stripe.displacementCursor = stripe.buckets.entrySet().iterator();
+                    if (!stripe.displacementCursor.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<String, TokenBucket> entry = stripe.displacementCursor.next();
+                if (oldest == null || entry.getValue().isActiveBefore(oldest.getValue())) {
+                    oldest = entry;
+                }
+            }
+        }
+        //The cursor is weakly consistent and may still show a bucket removed (and its key re-added) since
+        if (stripe.buckets.remove(oldest.getKey(), oldest.getValue())) {
+            displaced.increment();
+        }
+    }
+
+    //Evicts idle buckets of the next stripe, returns how many
+    int sweepNext(long nowNanos, long idleNanos) {
+        Stripe stripe = stripes[nextStripe];
+        nextStripe = (nextStripe + 1) & mask;
+        int removed = 0;
+        for (Iterator<TokenBucket> iterator = stripe.buckets.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().isIdle(nowNanos, idleNanos)) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    //Buckets dropped to make room for a new key in a full stripe
+    long displaced() {
+        return displaced.sum();
+    }
+
+    private static final class Stripe {
+        final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        //Where the previous displacement sample stopped, guarded by the stripe
+        Iterator<Map.Entry<String, TokenBucket>> displacementCursor = Collections.emptyIterator();
+    }
+}
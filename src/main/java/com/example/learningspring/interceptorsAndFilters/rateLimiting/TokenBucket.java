@@ -0,0 +1,65 @@
+package com.example.learningspring.interceptorsAndFilters.rateLimiting;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+//A token bucket stored as a single long, using GCRA (generic cell rate algorithm).
+//Instead of a token count plus a last refill time, which would need a lock or an object swap to update together,
+//the bucket keeps its "theoretical arrival time" (TAT): the time at which it would be full again. Taking a token
+//moves TAT forward by one emission interval (1 / rate); a request is allowed if TAT stays within
+//burst * interval of now. Acquiring is one read and one CAS, no allocation.
+final class TokenBucket {
+
+    private static final VarHandle TAT;
+
+    static {
+        try {
+            TAT = MethodHandles.lookup().findVarHandle(TokenBucket.class, "tat", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private volatile long tat;
+
+    TokenBucket(long nowNanos) {
+        this.tat = nowNanos;
+    }
+
+    //Returns 0 if a token was taken, otherwise the nanos until one is available
+    long tryAcquire(long nowNanos, RateLimit limit) {
+        while (true) {
+            long current = tat;
+            long newTat = Math.max(current, nowNanos) + limit.emissionIntervalNanos();
+            long ahead = newTat - nowNanos;
+            if (ahead > limit.burstToleranceNanos()) {
+                return ahead - limit.burstToleranceNanos();
+            }
+            if (TAT.compareAndSet(this, current, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    //Gives back a token taken by tryAcquire(), e.g. when a later check rejected the request anyway
+    void refund(long nowNanos, RateLimit limit) {
+        while (true) {
+            long current = tat;
+            long refunded = Math.max(current - limit.emissionIntervalNanos(), nowNanos);
+            if (refunded >= current || TAT.compareAndSet(this, current, refunded)) {
+                return;
+            }
+        }
+    }
+
+    //Full again earlier than the other bucket, i.e. less recently used relative to its rate
+    boolean isActiveBefore(TokenBucket other) {
+        return tat - other.tat < 0;
+    }
+
+    //Idle: full again for at least idleNanos, so dropping it loses nothing (a new bucket starts full)
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - tat > idleNanos;
+    }
+}
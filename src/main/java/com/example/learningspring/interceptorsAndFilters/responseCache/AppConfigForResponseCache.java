@@ -0,0 +1,41 @@
+package com.example.learningspring.interceptorsAndFilters.responseCache;
+
+import com.example.learningspring.interceptorsAndFilters.etagCompression.ResourceVersions;
+import com.example.learningspring.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AppConfigForResponseCache {
+
+    @Autowired
+    CacheableRoutes cacheableRoutes;
+
+    @Autowired
+    ResourceVersions resourceVersions;
+
+    @Autowired
+    MetricRegistry metricRegistry;
+
+    @Value("${http.response-cache.max-bytes:16777216}")
+    long maxBytes;
+
+    @Value("${http.response-cache.max-entry-bytes:262144}")
+    int maxEntryBytes;
+
+    @Value("${http.response-cache.lock-timeout-millis:5000}")
+    long lockTimeoutMillis;
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> getResponseCacheFilter() {
+        FilterRegistrationBean<ResponseCacheFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ResponseCacheFilter(cacheableRoutes, resourceVersions, maxBytes, maxEntryBytes,
+                lockTimeoutMillis, metricRegistry));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(4); // after the ETag filter, which then hashes and compresses cached bodies too
+        return registrationBean;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.learningspring.interceptorsAndFilters.responseCache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//Marks an idempotent GET handler whose full response (status, headers, body) may be served from
+//ResponseCacheFilter without calling the handler. Only use it where the response depends on nothing but the path,
+//the query string and the varyHeaders, never on the user.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheableResponse {
+    long ttlSeconds() default 60;
+
+    //Request headers that select a different response, they become part of the cache key
+    String[] varyHeaders() default {"Accept"};
+}
@@ -0,0 +1,73 @@
+package com.example.learningspring.interceptorsAndFilters.responseCache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//The GET mappings of all @CacheableResponse handlers.
+//ResponseCacheFilter runs before the DispatcherServlet, so it can't ask which handler a request goes to.
+//Instead the handler mappings are read once when the context is ready, and the filter matches the request path
+//against the few cacheable patterns.
+@Component
+public class CacheableRoutes {
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    RequestMappingHandlerMapping handlerMapping;
+
+    private volatile List<Route> routes = List.of();
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void collectRoutes() {
+        List<Route> collected = new ArrayList<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> mapping : handlerMapping.getHandlerMethods().entrySet()) {
+            CacheableResponse cacheable = mapping.getValue().getMethodAnnotation(CacheableResponse.class);
+            if (cacheable == null) {
+                continue;
+            }
+            Set<RequestMethod> methods = mapping.getKey().getMethodsCondition().getMethods();
+            if (!methods.isEmpty() && !methods.contains(RequestMethod.GET)) {
+                System.err.println("@CacheableResponse ignored, not a GET mapping: " + mapping.getValue());
+                continue;
+            }
+            for (String pattern : mapping.getKey().getPatternValues()) {
+                collected.add(new Route(PathPatternParser.defaultInstance.parse(pattern), pattern,
+                        cacheable.ttlSeconds(), cacheable.varyHeaders()));
+            }
+        }
+        routes = List.copyOf(collected);
+        System.out.println("Cacheable response routes: " + collected.stream().map(Route::pattern).toList());
+    }
+
+    //null if the path isn't cacheable
+    Route find(String path) {
+        List<Route> current = routes;
+        if (current.isEmpty()) {
+            return null;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : current) {
+            if (route.pathPattern().matches(container)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    record Route(PathPattern pathPattern, String pattern, long ttlSeconds, String[] varyHeaders) {
+    }
+}
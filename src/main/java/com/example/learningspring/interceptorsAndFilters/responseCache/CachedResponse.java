@@ -0,0 +1,26 @@
+package com.example.learningspring.interceptorsAndFilters.responseCache;
+
+import com.example.learningspring.interceptorsAndFilters.etagCompression.ResourceVersions;
+
+//A complete response as the handler produced it. headers holds name, value, name, value, ...
+record CachedResponse(int status, String contentType, String[] headers, byte[] body, String route,
+                      ResourceVersions.Version version, long expiresAtNanos, int sizeBytes) {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    //What an entry costs in the byte budget: the body plus an estimate for key, headers and objects
+    static int sizeOf(String key, String contentType, String[] headers, byte[] body) {
+        long size = ENTRY_OVERHEAD_BYTES + body.length + 2L * key.length();
+        if (contentType != null) {
+            size += 2L * contentType.length();
+        }
+        for (String header : headers) {
+            size += 2L * header.length() + 16;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0;
+    }
+}
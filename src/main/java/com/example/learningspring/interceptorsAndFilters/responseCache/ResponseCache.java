@@ -0,0 +1,118 @@
+package com.example.learningspring.interceptorsAndFilters.responseCache;
+
+import com.example.learningspring.metrics.Counter;
+import com.example.learningspring.metrics.MetricRegistry;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+//Responses by cache key, limited by their total size in bytes rather than by their number, least recently used
+//evicted first.
+//A hit takes no lock: it is a ConcurrentHashMap get plus a write of the entry's access time (at most once per
+//millisecond, so a hot entry isn't written by every request). Only put() and remove() lock, misses are rare compared
+//to hits. Eviction is approximate LRU: of a small sample the least recently used entry goes, each sample continuing
+//where the previous one stopped, so every entry takes its turn. Bodies are built before put() and written after get().
+class ResponseCache {
+
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+    private static final long ACCESS_GRANULARITY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long maxBytes;
+    private final ConcurrentHashMap<String, Node> entries = new ConcurrentHashMap<>();
+    //Written under the lock, read by the gauge without it
+    private volatile long usedBytes;
+    //Where the previous eviction sample stopped, guarded by the lock
+    private Iterator<Map.Entry<String, Node>> evictionCursor = Collections.emptyIterator();
+    private final Counter evictions;
+
+    ResponseCache(long maxBytes, MetricRegistry metricRegistry) {
+        this.maxBytes = maxBytes;
+        this.evictions = metricRegistry.counter("http.responseCache.evictions");
+        metricRegistry.gauge("http.responseCache.bytes", this::usedBytes);
+        metricRegistry.gauge("http.responseCache.entries", this::size);
+    }
+
+    CachedResponse get(String key) {
+        Node node = entries.get(key);
+        if (node == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - node.lastAccessNanos > ACCESS_GRANULARITY_NANOS) {
+            node.lastAccessNanos = now;
+        }
+        return node.response;
+    }
+
+    //Entries larger than the whole budget aren't stored
+    synchronized void put(String key, CachedResponse response) {
+        if (response.sizeBytes() > maxBytes) {
+            return;
+        }
+        Node node = new Node(response, System.nanoTime());
+        Node previous = entries.put(key, node);
+        long used = usedBytes + response.sizeBytes() - (previous != null ? previous.response.sizeBytes() : 0);
+        while (used > maxBytes) {
+            Map.Entry<String, Node> victim = leastRecentlyUsedOfSample(node);
+            if (victim == null) {
+                break;
+            }
+            //The cursor is weakly consistent and may still show an entry replaced or removed since
+            if (entries.remove(victim.getKey(), victim.getValue())) {
+                used -= victim.getValue().response.sizeBytes();
+                evictions.increment();
+            }
+        }
+        usedBytes = used;
+    }
+
+    //Removes the entry only if it is still the given (expired or outdated) one
+    synchronized void remove(String key, CachedResponse response) {
+        Node node = entries.get(key);
+        if (node != null && node.response == response && entries.remove(key, node)) {
+            usedBytes -= response.sizeBytes();
+        }
+    }
+
+    long usedBytes() {
+        return usedBytes;
+    }
+
+    long size() {
+        return entries.size();
+    }
+
+    //Never the entry just put. Called under the lock, so the entries don't change meanwhile (hits only touch times)
+    private Map.Entry<String, Node> leastRecentlyUsedOfSample(Node added) {
+        Map.Entry<String, Node> victim = null;
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+            if (!evictionCursor.hasNext()) {
+                evictionCursor = entries.entrySet().iterator();
+            }
+            Map.Entry<String, Node> candidate = evictionCursor.next();
+            if (candidate.getValue() == added) {
+                if (entries.size() == 1) {
+                    return null;
+                }
+                continue;
+            }
+            if (victim == null || candidate.getValue().lastAccessNanos - victim.getValue().lastAccessNanos < 0) {
+                victim = candidate;
+            }
+        }
+        return victim;
+    }
+
+    private static final class Node {
+        final CachedResponse response;
+        volatile long lastAccessNanos;
+
+        Node(CachedResponse response, long nowNanos) {
+            this.response = response;
+            this.lastAccessNanos = nowNanos;
+        }
+    }
+}
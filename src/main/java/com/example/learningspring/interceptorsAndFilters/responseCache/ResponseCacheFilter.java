@@ -0,0 +1,214 @@
+package com.example.learningspring.interceptorsAndFilters.responseCache;
+
+import com.example.learningspring.interceptorsAndFilters.etagCompression.ResourceVersions;
+import com.example.learningspring.metrics.Counter;
+import com.example.learningspring.metrics.MetricRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+//Serves complete responses of @CacheableResponse GET handlers from memory.
+//A hit is written straight from the filter: no DispatcherServlet, no interceptors, no AOP advice, no message
+//conversion. Only the filters before this one run.
+//- Key: path, query string and the handler's varyHeaders.
+//- Stored: 200 responses without Set-Cookie and without Cache-Control no-store/private, up to maxEntryBytes.
+//- Entries expire after ttlSeconds, and when the path's ResourceVersions version changes (same invalidation as
+//  the ETag filter). Request "Cache-Control: no-cache" skips the cached entry and stores a fresh one.
+//- Stampede protection: when an entry is missing, one request (the leader) calls the handler. Concurrent requests
+//  for the same key wait up to lockTimeout for its response instead of calling the handler too.
+public class ResponseCacheFilter implements Filter {
+
+    //Set by the container or recomputed on write
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "content-type", "date",
+            "transfer-encoding", "connection", "keep-alive");
+
+    private final CacheableRoutes routes;
+    private final ResourceVersions resourceVersions;
+    private final ResponseCache cache;
+    private final int maxEntryBytes;
+    private final long lockTimeoutNanos;
+    private final ConcurrentHashMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter waits;
+    private final Counter notStored;
+
+    public ResponseCacheFilter(CacheableRoutes routes, ResourceVersions resourceVersions, long maxBytes,
+                               int maxEntryBytes, long lockTimeoutMillis, MetricRegistry metricRegistry) {
+        this.routes = routes;
+        this.resourceVersions = resourceVersions;
+        this.cache = new ResponseCache(maxBytes, metricRegistry);
+        this.maxEntryBytes = maxEntryBytes;
+        this.lockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(lockTimeoutMillis);
+        this.hits = metricRegistry.counter("http.responseCache.hits");
+        this.misses = metricRegistry.counter("http.responseCache.misses");
+        this.waits = metricRegistry.counter("http.responseCache.stampedeWaits");
+        this.notStored = metricRegistry.counter("http.responseCache.notStored");
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        if (!"GET".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        CacheableRoutes.Route route = routes.find(path);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = key(request, path, route);
+        ResourceVersions.Version version = resourceVersions.current(path);
+        if (!hasNoCache(request)) {
+            CachedResponse cached = cache.get(key);
+            if (cached != null) {
+                if (!cached.isExpired(System.nanoTime()) && cached.version().equals(version)) {
+                    hits.increment();
+                    write(request, response, cached);
+                    return;
+                }
+                cache.remove(key, cached);
+            }
+        }
+        misses.increment();
+
+        CompletableFuture<CachedResponse> leader = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> running = inFlight.putIfAbsent(key, leader);
+        if (running != null) {
+            CachedResponse shared = await(running);
+            if (shared != null) {
+                write(request, response, shared);
+                return;
+            }
+            //The leader's response wasn't cacheable or took too long: call the handler
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CachedResponse stored = null;
+        try {
+            stored = callHandler(request, response, chain, key, path, route, version);
+        } finally {
+            inFlight.remove(key, leader);
+            leader.complete(stored);
+        }
+    }
+
+    private CachedResponse callHandler(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                                       String key, String path, CacheableRoutes.Route route,
+                                       ResourceVersions.Version version) throws IOException, ServletException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+            if (request.isAsyncStarted()) {
+                return null;
+            }
+            CachedResponse captured = capture(wrapper, key, route, version);
+            if (captured == null) {
+                notStored.increment();
+                return null;
+            }
+            cache.put(key, captured);
+            return captured;
+        } finally {
+            if (!request.isAsyncStarted()) {
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private CachedResponse capture(ContentCachingResponseWrapper response, String key, CacheableRoutes.Route route,
+                                   ResourceVersions.Version version) {
+        if (response.getStatus() != HttpServletResponse.SC_OK || response.getContentSize() > maxEntryBytes
+                || response.containsHeader(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"))) {
+            return null;
+        }
+        List<String> headers = new ArrayList<>();
+        for (String name : response.getHeaderNames()) {
+            if (SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : response.getHeaders(name)) {
+                headers.add(name);
+                headers.add(value);
+            }
+        }
+        String[] headerArray = headers.toArray(new String[0]);
+        byte[] body = response.getContentAsByteArray();
+        long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(route.ttlSeconds());
+        return new CachedResponse(HttpServletResponse.SC_OK, response.getContentType(), headerArray, body,
+                route.pattern(), version, expiresAt,
+                CachedResponse.sizeOf(key, response.getContentType(), headerArray, body));
+    }
+
+    private CachedResponse await(CompletableFuture<CachedResponse> running) {
+        waits.increment();
+        try {
+            return running.get(lockTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached) throws IOException {
+        //Filters before this one (request metrics) see the route as if the handler mapping had matched it
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, cached.route());
+        response.setStatus(cached.status());
+        String[] headers = cached.headers();
+        for (int i = 0; i < headers.length; i += 2) {
+            response.addHeader(headers[i], headers[i + 1]);
+        }
+        if (cached.contentType() != null) {
+            response.setContentType(cached.contentType());
+        }
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private static String key(HttpServletRequest request, String path, CacheableRoutes.Route route) {
+        StringBuilder key = new StringBuilder(path);
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        for (String header : route.varyHeaders()) {
+            String value = request.getHeader(header);
+            key.append('\n').append(header).append(':').append(value == null ? "" : value);
+        }
+        return key.toString();
+    }
+
+    private static boolean hasNoCache(HttpServletRequest request) {
+        String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        return cacheControl != null && cacheControl.contains("no-cache");
+    }
+}
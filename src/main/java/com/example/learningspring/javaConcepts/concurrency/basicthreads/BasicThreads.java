@@ -1,6 +1,6 @@
 package com.example.learningspring.javaConcepts.concurrency.basicthreads;
 
-import static java.lang.System.currentTimeMillis;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class demonstrates basic thread operations in Java.
@@ -12,7 +12,7 @@ public class BasicThreads {
      * Demonstrates thread interrupt and join operations.
      */
     public static void demonstrateThreadInterruptAndJoin() {
-        long time1 = currentTimeMillis();
+        long time1 = System.nanoTime();
         
         // Thread interrupt and join
         Thread thread1 = new Thread(() -> {
@@ -33,18 +33,22 @@ public class BasicThreads {
                     System.out.println("Thread 2");
                     Thread.sleep(1000);
                 } catch (InterruptedException e) {
-                    e.printStackTrace();
+                    // Restore the interrupt status and stop, instead of swallowing it and looping on
+                    Thread.currentThread().interrupt();
+                    return;
                 }
             }
         });
         
         Thread thread3 = new Thread(() -> {
-            while (true) {
-                // Interrupt thread 1 after 5 seconds
-                if((currentTimeMillis() - time1) > 5000) {
-                    thread1.interrupt();
-                    break;
-                }
+            // Interrupt thread 1 after 5 seconds. Sleeping until then costs no CPU,
+            // a while(true) loop checking the clock would keep a core busy for 5 seconds
+            try {
+                long remainingNanos = TimeUnit.SECONDS.toNanos(5) - (System.nanoTime() - time1);
+                TimeUnit.NANOSECONDS.sleep(remainingNanos);
+                thread1.interrupt();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         });
         
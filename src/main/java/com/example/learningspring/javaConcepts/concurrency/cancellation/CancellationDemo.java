@@ -0,0 +1,129 @@
+package com.example.learningspring.javaConcepts.concurrency.cancellation;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This class demonstrates propagating deadlines and cancellation into executor tasks with {@link CancellationToken}.
+ */
+public class CancellationDemo {
+
+    /**
+     * Demonstrates blocked and CPU bound work being stopped at the caller's deadline, without busy waiting.
+     */
+    public static void demonstrateCancellation() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        // Tasks submitted through this executor run with the submitter's current token
+        Executor executor = CancellationToken.propagating(pool);
+        try {
+            System.out.println("1. Blocked work is interrupted at the deadline:");
+            CancellationToken request = CancellationToken.withTimeout(Duration.ofMillis(300));
+            long start = System.nanoTime();
+            Future<?> blocked;
+            try (CancellationToken.Scope scope = request.bind()) {
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(5000); // e.g. a slow remote call
+                        future.complete(null);
+                    } catch (InterruptedException e) {
+                        System.out.println("Task interrupted after " + elapsedMillis(start) + "ms, deadline was 300ms");
+                        future.completeExceptionally(e);
+                    }
+                });
+                blocked = future;
+            }
+            waitQuietly(blocked);
+
+            System.out.println("\n2. CPU bound work checks the token between steps:");
+            CancellationToken report = CancellationToken.withTimeout(Duration.ofMillis(200));
+            Future<Long> result = pool.submit(report.wrap(() -> {
+                long sum = 0;
+                for (int chunk = 0; ; chunk++) {
+                    CancellationToken.current().throwIfCancelled();
+                    for (int i = 0; i < 1_000_000; i++) {
+                        sum += i % 7;
+                    }
+                    if (chunk == 1_000_000) {
+                        return sum;
+                    }
+                }
+            }));
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                System.out.println("Report stopped: " + e.getCause().getClass().getSimpleName());
+            }
+
+            System.out.println("\n3. Work queued after the caller gave up is skipped:");
+            CancellationToken caller = CancellationToken.withTimeout(Duration.ofSeconds(10));
+            // Occupy both pool threads, so the next task has to wait in the queue
+            SleepTask blocker1 = new SleepTask(400);
+            SleepTask blocker2 = new SleepTask(400);
+            pool.execute(blocker1);
+            pool.execute(blocker2);
+            pool.execute(caller.wrap(() -> System.out.println("This is never printed")));
+            caller.cancel(); // e.g. the client disconnected
+            System.out.println("Caller cancelled while its task was queued");
+
+            System.out.println("\n4. Async results are cancelled with the token:");
+            CancellationToken asyncCall = CancellationToken.withTimeout(Duration.ofMillis(100));
+            CompletableFuture<String> remote = asyncCall.propagateTo(new CompletableFuture<>());
+            try {
+                remote.get(1, TimeUnit.SECONDS);
+            } catch (CancellationException e) {
+                System.out.println("Async result cancelled at the deadline");
+            } catch (ExecutionException | TimeoutException e) {
+                System.out.println("Unexpected: " + e);
+            }
+
+            System.out.println("\n5. A child token never outlives its parent:");
+            CancellationToken parent = CancellationToken.withTimeout(Duration.ofMillis(100));
+            CancellationToken child = parent.child(Duration.ofSeconds(30));
+            System.out.println("Child remaining: " + TimeUnit.NANOSECONDS.toMillis(child.remainingNanos()) + "ms");
+            parent.cancel();
+            System.out.println("Child cancelled with parent: " + child.isCancelled());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static class SleepTask implements Runnable {
+        private final long millis;
+
+        SleepTask(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void waitQuietly(Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException | CancellationException e) {
+            // Reported by the task
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
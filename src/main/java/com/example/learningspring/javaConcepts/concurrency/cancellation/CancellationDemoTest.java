@@ -0,0 +1,20 @@
+package com.example.learningspring.javaConcepts.concurrency.cancellation;
+
+/**
+ * Test class for CancellationDemo functionality.
+ */
+public class CancellationDemoTest {
+
+    /**
+     * Main method to test the CancellationDemo functionality.
+     *
+     * @param args Command line arguments
+     */
+    public static void main(String[] args) {
+        System.out.println("Testing Cancellation Tokens:");
+        System.out.println("============================");
+
+        // Test the cancellation functionality
+        CancellationDemo.demonstrateCancellation();
+    }
+}
@@ -0,0 +1,395 @@
+package com.example.learningspring.javaConcepts.concurrency.cancellation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A deadline plus explicit cancellation, passed from a caller to the work it started (also across threads).
+ * <p>
+ * Checking a token is cheap: {@link #isCancelled()} compares the deadline with {@link System#nanoTime()},
+ * there is no timer per token. A timer is only scheduled when somebody must be notified at the deadline,
+ * e.g. a thread blocked in sleep() or I/O which should be interrupted ({@link #interruptOnCancel()}).
+ * <p>
+ * The token of the current thread is available with {@link #current()}; {@link #wrap(Runnable)} carries it
+ * into executor tasks.
+ */
+public final class CancellationToken {
+
+    /**
+     * A token without deadline which is never cancelled, the {@link #current()} token of threads without one.
+     */
+    public static final CancellationToken NONE = new CancellationToken(null, Long.MAX_VALUE, false);
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    // One daemon thread fires the deadlines of all tokens which have listeners
+    private static final ScheduledThreadPoolExecutor DEADLINE_TIMER = createTimer();
+
+    private final CancellationToken parent;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+    private final List<Registration> listeners = new ArrayList<>();
+    private ScheduledFuture<?> deadlineTimer;
+
+    private CancellationToken(CancellationToken parent, long deadlineNanos, boolean hasDeadline) {
+        this.parent = parent;
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * Creates a token which expires after the timeout.
+     *
+     * @param timeout Time until the deadline
+     * @return The new token
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        return new CancellationToken(null, System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * Creates a token without deadline, which is only cancelled by {@link #cancel()}.
+     *
+     * @return The new token
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(null, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Returns the token bound to the current thread by {@link #bind()}.
+     *
+     * @return The token, or {@link #NONE}
+     */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token != null ? token : NONE;
+    }
+
+    /**
+     * Creates a token for a sub-task: it is cancelled with this token and expires at the earlier of both deadlines.
+     *
+     * @param timeout Maximum time for the sub-task
+     * @return The child token
+     */
+    public CancellationToken child(Duration timeout) {
+        long childDeadline = System.nanoTime() + timeout.toNanos();
+        if (hasDeadline && deadlineNanos - childDeadline < 0) {
+            childDeadline = deadlineNanos;
+        }
+        return new CancellationToken(this == NONE ? null : this, childDeadline, true);
+    }
+
+    /**
+     * Cancels the token and notifies the listeners. Does nothing if it was already cancelled.
+     */
+    public void cancel() {
+        List<Registration> toNotify;
+        synchronized (this) {
+            if (cancelled || this == NONE) {
+                return;
+            }
+            cancelled = true;
+            toNotify = new ArrayList<>(listeners);
+            listeners.clear();
+            if (deadlineTimer != null) {
+                deadlineTimer.cancel(false);
+                deadlineTimer = null;
+            }
+        }
+        toNotify.forEach(Registration::fire);
+    }
+
+    /**
+     * Returns true if the token was cancelled, its deadline has passed, or the same holds for its parent.
+     *
+     * @return Whether work for this token should stop
+     */
+    public boolean isCancelled() {
+        return cancelled || isExpired() || (parent != null && parent.isCancelled());
+    }
+
+    private boolean isExpired() {
+        return hasDeadline && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Returns the time left until the deadline, e.g. as timeout for a blocking call.
+     *
+     * @return Remaining nanoseconds, 0 if cancelled or expired, Long.MAX_VALUE without deadline
+     */
+    public long remainingNanos() {
+        if (isCancelled()) {
+            return 0;
+        }
+        long remaining = hasDeadline ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+        return parent != null ? Math.min(remaining, parent.remainingNanos()) : remaining;
+    }
+
+    /**
+     * Throws if work for this token should stop. Call it between steps of long running work.
+     *
+     * @throws DeadlineExceededException if the deadline has passed
+     * @throws CancellationException     if the token was cancelled
+     */
+    public void throwIfCancelled() {
+        if (parent != null) {
+            parent.throwIfCancelled();
+        }
+        // Checked first: the deadline timer also sets cancelled
+        if (isExpired()) {
+            throw new DeadlineExceededException("Deadline exceeded");
+        }
+        if (cancelled) {
+            throw new CancellationException("Cancelled");
+        }
+    }
+
+    /**
+     * Runs the listener once when the token is cancelled or expires, immediately if that already happened.
+     *
+     * @param listener Called on the thread which cancels, or the deadline timer thread. Must be fast
+     * @return Close it when the listener is no longer needed
+     */
+    public Registration onCancel(Runnable listener) {
+        Registration registration = new Registration(this, listener);
+        if (this == NONE) {
+            // Never fires, don't keep it
+            return registration;
+        }
+        if (parent != null) {
+            registration.parentRegistration = parent.onCancel(registration::fire);
+        }
+        boolean fireNow;
+        synchronized (this) {
+            fireNow = cancelled || isExpired();
+            if (!fireNow) {
+                listeners.add(registration);
+                if (hasDeadline && deadlineTimer == null) {
+                    deadlineTimer = DEADLINE_TIMER.schedule(this::cancel,
+                            Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        if (fireNow) {
+            registration.fire();
+        }
+        return registration;
+    }
+
+    /**
+     * Interrupts the current thread when the token is cancelled or expires, so blocking calls return early.
+     * Close the registration before the thread does unrelated work (e.g. the next task of a pool).
+     *
+     * @return Close it when the blocking work is done
+     */
+    public Registration interruptOnCancel() {
+        Thread thread = Thread.currentThread();
+        return onCancel(thread::interrupt);
+    }
+
+    /**
+     * Makes this token the {@link #current()} token of this thread until the scope is closed.
+     *
+     * @return The scope, which restores the previous token
+     */
+    public Scope bind() {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that it runs with this token: it is skipped if the token is cancelled before it starts
+     * (see {@link #abandon(Runnable)}), it sees the token as {@link #current()}, and it is interrupted if the
+     * token is cancelled while it runs.
+     *
+     * @param task The task
+     * @return The wrapped task, or the task itself for {@link #NONE}
+     */
+    public Runnable wrap(Runnable task) {
+        if (this == NONE) {
+            return task;
+        }
+        return () -> {
+            if (isCancelled()) {
+                // The caller has given up already, don't waste a thread on it
+                abandon(task);
+                return;
+            }
+            try (Scope scope = bind(); Registration registration = interruptOnCancel()) {
+                task.run();
+            } finally {
+                clearInterruptIfCancelled();
+            }
+        };
+    }
+
+    /**
+     * Completes the future of a task which is skipped because this token is cancelled, so nobody waits on it forever.
+     * The task is never run. A task which is itself a {@link CompletableFuture} fails with the exception of
+     * {@link #throwIfCancelled()} ({@link DeadlineExceededException} once the deadline has passed), another
+     * {@link Future} (e.g. the FutureTask of submit()) is cancelled. The tasks queued by
+     * {@link CompletableFuture#supplyAsync} can't reach their future and are only dropped: submit tasks whose
+     * future may be skipped as a CompletableFuture that is also the Runnable.
+     *
+     * @param task The task which was submitted to the executor
+     */
+    public void abandon(Runnable task) {
+        if (task instanceof CompletableFuture<?> future) {
+            try {
+                throwIfCancelled();
+                future.cancel(false);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        } else if (task instanceof Future<?> future) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Wraps a callable like {@link #wrap(Runnable)}; a callable which is skipped throws instead.
+     *
+     * @param task The task
+     * @param <T>  The result type
+     * @return The wrapped task, or the task itself for {@link #NONE}
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        if (this == NONE) {
+            return task;
+        }
+        return () -> {
+            throwIfCancelled();
+            try (Scope scope = bind(); Registration registration = interruptOnCancel()) {
+                return task.call();
+            } finally {
+                clearInterruptIfCancelled();
+            }
+        };
+    }
+
+    /**
+     * Cancels the future when this token is cancelled or expires, e.g. for the result of an async call.
+     *
+     * @param future The future
+     * @param <T>    The result type
+     * @return The same future
+     */
+    public <T> CompletableFuture<T> propagateTo(CompletableFuture<T> future) {
+        if (this == NONE || future.isDone()) {
+            return future;
+        }
+        Registration registration = onCancel(() -> future.cancel(true));
+        future.whenComplete((result, error) -> registration.close());
+        return future;
+    }
+
+    /**
+     * Returns an executor which runs every task with the {@link #current()} token of the submitting thread.
+     *
+     * @param executor The executor
+     * @return The propagating executor
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> executor.execute(current().wrap(task));
+    }
+
+    // The interrupt was meant for the task, the pool thread must not keep it
+    private void clearInterruptIfCancelled() {
+        if (isCancelled()) {
+            Thread.interrupted();
+        }
+    }
+
+    private void remove(Registration registration) {
+        synchronized (this) {
+            listeners.remove(registration);
+            // Nobody waits for the deadline anymore, free the timer entry
+            if (listeners.isEmpty() && deadlineTimer != null) {
+                deadlineTimer.cancel(false);
+                deadlineTimer = null;
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "Deadline-Timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    @Override
+    public String toString() {
+        if (isCancelled()) {
+            return "CancellationToken[cancelled]";
+        }
+        return hasDeadline ? "CancellationToken[remaining=" + TimeUnit.NANOSECONDS.toMillis(remainingNanos()) + "ms]"
+                : "CancellationToken[no deadline]";
+    }
+
+    /**
+     * Restores the previous {@link #current()} token when closed.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * A listener registered with {@link #onCancel(Runnable)}. It fires at most once, and never after close().
+     */
+    public static final class Registration implements AutoCloseable {
+
+        private final CancellationToken token;
+        private final Runnable listener;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private Registration parentRegistration;
+
+        private Registration(CancellationToken token, Runnable listener) {
+            this.token = token;
+            this.listener = listener;
+        }
+
+        private void fire() {
+            // Synchronized with close(): an interrupt must not hit the thread after it closed the registration
+            synchronized (this) {
+                if (done.compareAndSet(false, true)) {
+                    listener.run();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                done.set(true);
+            }
+            token.remove(this);
+            if (parentRegistration != null) {
+                parentRegistration.close();
+            }
+        }
+    }
+}
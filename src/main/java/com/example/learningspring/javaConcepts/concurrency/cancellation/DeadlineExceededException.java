@@ -0,0 +1,13 @@
+package com.example.learningspring.javaConcepts.concurrency.cancellation;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Thrown by {@link CancellationToken#throwIfCancelled()} when the token's deadline has passed.
+ */
+public class DeadlineExceededException extends CancellationException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -8,8 +8,6 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
-import static java.lang.System.currentTimeMillis;
-
 /**
  * This class demonstrates the use of ExecutorService in Java.
  * ExecutorService provides a high-level API for executing tasks asynchronously.
@@ -99,22 +97,11 @@ public class ExecutorServiceDemo {
                 TimeUnit.SECONDS);
         
         System.out.println("Waiting for scheduled task to complete...");
-        long time = currentTimeMillis();
-        while(currentTimeMillis() - time < 5000) {
-            if(result.isDone()) {
-                try {
-                    System.out.println("Result: " + result.get());
-                    break;
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-            
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+        // get() with a timeout blocks until the result is ready, no need to poll isDone() in a sleep loop
+        try {
+            System.out.println("Result: " + result.get(5, TimeUnit.SECONDS));
+        } catch (Exception e) {
+            e.printStackTrace();
         }
         
         result.cancel(true);
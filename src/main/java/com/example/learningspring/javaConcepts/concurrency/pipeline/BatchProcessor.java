@@ -0,0 +1,22 @@
+package com.example.learningspring.javaConcepts.concurrency.pipeline;
+
+import java.util.List;
+
+/**
+ * Processes a micro-batch of a pipeline stage, e.g. a single multi-row insert instead of one insert per item.
+ *
+ * @param <I> Input type of the stage
+ * @param <O> Output type of the stage
+ */
+@FunctionalInterface
+public interface BatchProcessor<I, O> {
+
+    /**
+     * Processes a batch. If it throws, every item of the batch is counted as failed and dropped.
+     *
+     * @param batch The items, in the order they were taken from the stage's queue
+     * @return The results passed to the next stage, may be shorter than the batch (filtering)
+     * @throws Exception if the whole batch failed
+     */
+    List<O> process(List<I> batch) throws Exception;
+}
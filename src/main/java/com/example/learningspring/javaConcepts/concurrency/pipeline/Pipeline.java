@@ -0,0 +1,212 @@
+package com.example.learningspring.javaConcepts.concurrency.pipeline;
+
+import com.example.learningspring.javaConcepts.concurrency.ringbuffer.WaitStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A typed chain of stages, e.g. parse → enrich → persist. Every stage has its own bounded queue and
+ * worker threads, so each stage can be scaled to the cores it needs. Items are not kept in order across
+ * workers of a stage.
+ *
+ * <pre>
+ * Pipeline&lt;String&gt; pipeline = Pipeline.&lt;String&gt;builder()
+ *         .stage("parse", 2, 1024, 64, Parser::parse)
+ *         .stage("enrich", 4, 1024, 64, enricher::enrich)
+ *         .sink("persist", 1, 1024, 256, repository::saveAll);
+ * </pre>
+ *
+ * @param <T> Type of the items submitted to the first stage
+ */
+public class Pipeline<T> implements AutoCloseable {
+
+    private final Stage<T, ?> first;
+    private final List<Stage<?, ?>> stages;
+
+    private Pipeline(Stage<T, ?> first, List<Stage<?, ?>> stages) {
+        this.first = first;
+        this.stages = Collections.unmodifiableList(stages);
+        // Start from the end, so every stage's consumer is running before items arrive
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            stages.get(i).start();
+        }
+    }
+
+    /**
+     * Starts building a pipeline.
+     *
+     * @param <T> Type of the items submitted to the pipeline
+     * @return A builder without stages
+     */
+    public static <T> Builder<T, T> builder() {
+        return new Builder<>(WaitStrategy.PARK, new ArrayList<>(), null);
+    }
+
+    /**
+     * Submits an item to the first stage, blocking while its queue is full.
+     *
+     * @param item The item, must not be null
+     * @throws IllegalStateException if the pipeline was shut down
+     */
+    public void submit(T item) {
+        first.input().write(item);
+    }
+
+    /**
+     * Submits an item to the first stage without blocking.
+     *
+     * @param item The item, must not be null
+     * @return false if the first stage's queue is full
+     */
+    public boolean trySubmit(T item) {
+        return first.input().tryWrite(item);
+    }
+
+    /**
+     * Starts an orderly shutdown: every stage finishes the items already queued, then passes the shutdown
+     * to the next stage. Call it after the last submit().
+     */
+    public void shutdown() {
+        first.input().close();
+    }
+
+    /**
+     * Waits until all stages have finished after {@link #shutdown()}.
+     *
+     * @param timeout Maximum time to wait
+     * @return false if the timeout elapsed first
+     * @throws InterruptedException if the waiting thread was interrupted
+     */
+    public boolean awaitTermination(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Stage<?, ?> stage : stages) {
+            if (!stage.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Shuts down and waits until all queued items have been processed.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            awaitTermination(Duration.ofNanos(Long.MAX_VALUE));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns throughput and latency counters of every stage, in pipeline order.
+     *
+     * @return One snapshot per stage
+     */
+    public List<StageStats.Snapshot> getStats() {
+        return stages.stream().<StageStats.Snapshot>map(Stage::snapshot).toList();
+    }
+
+    /**
+     * Builds a pipeline stage by stage. Every stage() call changes the output type of the chain.
+     *
+     * @param <T> Type of the items submitted to the pipeline
+     * @param <C> Output type of the last stage added so far
+     */
+    public static class Builder<T, C> {
+
+        private final WaitStrategy waitStrategy;
+        private final List<Stage<?, ?>> stages;
+        private final Stage<?, C> last;
+
+        private Builder(WaitStrategy waitStrategy, List<Stage<?, ?>> stages, Stage<?, C> last) {
+            this.waitStrategy = waitStrategy;
+            this.stages = stages;
+            this.last = last;
+        }
+
+        /**
+         * Sets how workers wait on empty queues and producers on full queues. Default is PARK.
+         *
+         * @param waitStrategy The wait strategy of all stage queues added after this call
+         * @return A builder with the new wait strategy
+         */
+        public Builder<T, C> waitStrategy(WaitStrategy waitStrategy) {
+            return new Builder<>(waitStrategy, stages, last);
+        }
+
+        /**
+         * Adds a stage which transforms one item at a time. A null result filters the item out,
+         * an exception fails only that item.
+         *
+         * @param name          Stage name, used for the worker thread names and the stats
+         * @param workers       Number of worker threads
+         * @param queueCapacity Capacity of the stage's input queue
+         * @param batchSize     Maximum number of items a worker takes from the queue at once
+         * @param mapper        The transformation
+         * @param <R>           Output type of the stage
+         * @return A builder whose chain ends with the new stage
+         */
+        public <R> Builder<T, R> stage(String name, int workers, int queueCapacity, int batchSize,
+                                       Function<? super C, ? extends R> mapper) {
+            return add(new Stage<C, R>(name, workers, queueCapacity, batchSize, waitStrategy, mapper, null));
+        }
+
+        /**
+         * Adds a stage which processes whole micro-batches, e.g. to look up a batch of keys with one query.
+         *
+         * @param name          Stage name, used for the worker thread names and the stats
+         * @param workers       Number of worker threads
+         * @param queueCapacity Capacity of the stage's input queue
+         * @param batchSize     Maximum number of items per batch
+         * @param processor     The batch transformation
+         * @param <R>           Output type of the stage
+         * @return A builder whose chain ends with the new stage
+         */
+        public <R> Builder<T, R> batchStage(String name, int workers, int queueCapacity, int batchSize,
+                                            BatchProcessor<C, R> processor) {
+            return add(new Stage<C, R>(name, workers, queueCapacity, batchSize, waitStrategy, null, processor));
+        }
+
+        /**
+         * Adds the final stage, which consumes micro-batches (e.g. a batch insert), and starts the pipeline.
+         *
+         * @param name          Stage name, used for the worker thread names and the stats
+         * @param workers       Number of worker threads
+         * @param queueCapacity Capacity of the stage's input queue
+         * @param batchSize     Maximum number of items per batch
+         * @param consumer      Consumes the batches
+         * @return The running pipeline
+         */
+        public Pipeline<T> sink(String name, int workers, int queueCapacity, int batchSize,
+                                Consumer<List<C>> consumer) {
+            Builder<T, Void> builder = batchStage(name, workers, queueCapacity, batchSize, batch -> {
+                consumer.accept(batch);
+                return List.of();
+            });
+            return builder.build();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Pipeline<T> build() {
+            // The input type of the first stage is T, see builder()
+            return new Pipeline<>((Stage<T, ?>) stages.get(0), stages);
+        }
+
+        private <R> Builder<T, R> add(Stage<C, R> stage) {
+            if (last != null) {
+                last.setNext(stage);
+            }
+            stages.add(stage);
+            return new Builder<>(waitStrategy, stages, stage);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.learningspring.javaConcepts.concurrency.pipeline;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class demonstrates a parse → enrich → persist ingestion pipeline built with {@link Pipeline}.
+ */
+public class PipelineDemo {
+
+    record UserRow(int id, String name, String email) {
+    }
+
+    record EnrichedUser(UserRow user, String domain, int nameHash) {
+    }
+
+    /**
+     * Demonstrates per-stage workers, micro-batching, backpressure, stats and orderly shutdown.
+     */
+    public static void demonstratePipeline() {
+        AtomicLong persisted = new AtomicLong();
+        AtomicLong insertStatements = new AtomicLong();
+
+        Pipeline<String> pipeline = Pipeline.<String>builder()
+                // Cheap CPU work: one worker
+                .stage("parse", 1, 1024, 64, PipelineDemo::parse)
+                // The "slow" stage gets more workers
+                .stage("enrich", 3, 1024, 64, PipelineDemo::enrich)
+                // One multi-row insert per batch instead of one insert per row
+                .sink("persist", 1, 1024, 256, batch -> {
+                    sleep(1);
+                    insertStatements.incrementAndGet();
+                    persisted.addAndGet(batch.size());
+                });
+
+        // submit() blocks while the parse queue is full, so a fast producer can't run out of memory
+        int rows = 100_000;
+        for (int i = 0; i < rows; i++) {
+            pipeline.submit(i + ",user" + i + ",user" + i + "@example" + (i % 10) + ".com");
+        }
+        pipeline.submit("not a csv line");
+
+        // Orderly shutdown: every stage finishes its queue before the next stage is told to stop
+        pipeline.shutdown();
+        try {
+            boolean finished = pipeline.awaitTermination(Duration.ofSeconds(30));
+            System.out.println("Pipeline finished: " + finished);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        System.out.println("Persisted " + persisted.get() + " of " + rows + " rows with "
+                + insertStatements.get() + " insert statements");
+        pipeline.getStats().forEach(System.out::println);
+    }
+
+    private static UserRow parse(String line) {
+        String[] parts = line.split(",");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid line: " + line);
+        }
+        return new UserRow(Integer.parseInt(parts[0]), parts[1], parts[2]);
+    }
+
+    private static EnrichedUser enrich(UserRow user) {
+        String domain = user.email().substring(user.email().indexOf('@') + 1);
+        int hash = 0;
+        for (int i = 0; i < 200; i++) {
+            hash = 31 * hash + user.name().hashCode() + i;
+        }
+        return new EnrichedUser(user, domain, hash);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.learningspring.javaConcepts.concurrency.pipeline;
+
+/**
+ * Test class for PipelineDemo functionality.
+ */
+public class PipelineDemoTest {
+
+    /**
+     * Main method to test the PipelineDemo functionality.
+     *
+     * @param args Command line arguments
+     */
+    public static void main(String[] args) {
+        System.out.println("Testing Pipeline:");
+        System.out.println("=================");
+
+        // Test the pipeline functionality
+        PipelineDemo.demonstratePipeline();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.learningspring.javaConcepts.concurrency.pipeline;
+
+import com.example.learningspring.javaConcepts.concurrency.ringbuffer.MpmcRingBuffer;
+import com.example.learningspring.javaConcepts.concurrency.ringbuffer.RingBuffer;
+import com.example.learningspring.javaConcepts.concurrency.ringbuffer.WaitStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * One stage of a {@link Pipeline}: a bounded input queue and a fixed number of worker threads.
+ * Workers block for one item, then drain up to batchSize - 1 more without waiting and process them as a batch.
+ * The results are written to the next stage's queue, which blocks while it is full (backpressure).
+ *
+ * @param <I> Input type
+ * @param <O> Output type
+ */
+class Stage<I, O> {
+
+    private final String name;
+    private final int workers;
+    private final int batchSize;
+    private final RingBuffer<I> input;
+    private final Function<? super I, ? extends O> mapper;
+    private final BatchProcessor<I, O> batchProcessor;
+    private final StageStats stats;
+    private final AtomicInteger runningWorkers;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private Stage<O, ?> next;
+
+    /**
+     * Creates a stage. Exactly one of mapper and batchProcessor is set.
+     */
+    Stage(String name, int workers, int queueCapacity, int batchSize, WaitStrategy waitStrategy,
+          Function<? super I, ? extends O> mapper, BatchProcessor<I, O> batchProcessor) {
+        if (workers < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Stage " + name + " needs at least one worker and a batch size of at least 1");
+        }
+        this.name = name;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.input = new MpmcRingBuffer<>(queueCapacity, waitStrategy);
+        this.mapper = mapper;
+        this.batchProcessor = batchProcessor;
+        this.stats = new StageStats(name, workers);
+        this.runningWorkers = new AtomicInteger(workers);
+    }
+
+    void setNext(Stage<O, ?> next) {
+        this.next = next;
+    }
+
+    RingBuffer<I> input() {
+        return input;
+    }
+
+    void start() {
+        stats.started();
+        for (int i = 1; i <= workers; i++) {
+            Thread worker = new Thread(this::runWorker, name + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void runWorker() {
+        List<I> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                I first = input.read();
+                if (first == null) {
+                    // Poison pill: the previous stage has finished and the queue is empty
+                    break;
+                }
+                batch.add(first);
+                input.drain(batch::add, batchSize - 1);
+                processBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            // The last worker to leave passes the shutdown on to the next stage
+            if (runningWorkers.decrementAndGet() == 0) {
+                if (next != null) {
+                    next.input().close();
+                }
+                stats.terminated();
+                terminated.countDown();
+            }
+        }
+    }
+
+    private void processBatch(List<I> batch) {
+        long start = System.nanoTime();
+        List<O> results;
+        int failures = 0;
+        if (mapper != null) {
+            // A failing item is dropped, the rest of the batch continues
+            results = new ArrayList<>(batch.size());
+            for (I item : batch) {
+                try {
+                    results.add(mapper.apply(item));
+                } catch (RuntimeException e) {
+                    failures++;
+                    System.out.println("Stage " + name + " failed an item: " + e.getMessage());
+                }
+            }
+        } else {
+            try {
+                results = batchProcessor.process(batch);
+            } catch (Exception e) {
+                stats.recordBatch(0, batch.size(), System.nanoTime() - start);
+                System.out.println("Stage " + name + " failed a batch of " + batch.size() + ": " + e.getMessage());
+                return;
+            }
+        }
+        stats.recordBatch(batch.size() - failures, failures, System.nanoTime() - start);
+        if (next != null && results != null) {
+            for (O result : results) {
+                // null results are filtered out
+                if (result != null) {
+                    next.input().write(result);
+                }
+            }
+        }
+    }
+
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    StageStats.Snapshot snapshot() {
+        return stats.snapshot(input.size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.learningspring.javaConcepts.concurrency.pipeline;
+
+import com.example.learningspring.metrics.Counter;
+import com.example.learningspring.metrics.LatencyRecorder;
+import com.example.learningspring.metrics.LatencySnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency counters of one pipeline stage. All workers of the stage record into it concurrently,
+ * and rarely contend: the counters and the latency recorder are striped over a fixed number of cells, picked by a
+ * hash of the thread id, so workers mostly write different cells.
+ */
+public class StageStats {
+
+    private final String stageName;
+    private final int workers;
+    private final Counter processed = new Counter();
+    private final Counter failed = new Counter();
+    private final LatencyRecorder batchLatency = new LatencyRecorder();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    StageStats(String stageName, int workers) {
+        this.stageName = stageName;
+        this.workers = workers;
+    }
+
+    void started() {
+        startNanos = System.nanoTime();
+    }
+
+    void terminated() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Records one processed batch.
+     *
+     * @param items         Items in the batch which were processed successfully
+     * @param failures      Items in the batch which failed
+     * @param durationNanos Time spent processing the batch
+     */
+    void recordBatch(int items, int failures, long durationNanos) {
+        processed.add(items);
+        failed.add(failures);
+        batchLatency.record(durationNanos);
+    }
+
+    /**
+     * Returns the current counters of the stage.
+     *
+     * @param queued Number of items waiting in the stage's input queue
+     * @return The snapshot
+     */
+    Snapshot snapshot(int queued) {
+        long items = processed.get();
+        long failures = failed.get();
+        LatencySnapshot latency = batchLatency.snapshot();
+        long batchCount = latency.getCount();
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        long elapsedNanos = startNanos == 0 ? 0 : end - startNanos;
+        return new Snapshot(stageName, workers, queued, items, failures, batchCount,
+                batchCount == 0 ? 0 : (double) (items + failures) / batchCount,
+                elapsedNanos == 0 ? 0 : (long) (items * 1_000_000_000.0 / elapsedNanos),
+                TimeUnit.NANOSECONDS.toMicros(latency.getMeanNanos()),
+                TimeUnit.NANOSECONDS.toMicros(latency.getPercentileNanos(99)),
+                TimeUnit.NANOSECONDS.toMicros(latency.getMaxNanos()));
+    }
+
+    /**
+     * Point-in-time counters of a stage.
+     *
+     * @param stage             Stage name
+     * @param workers           Number of worker threads
+     * @param queued            Items waiting in the input queue, a full queue means this stage is the bottleneck
+     * @param processed         Items processed successfully
+     * @param failed            Items which threw an exception
+     * @param batches           Number of batches
+     * @param averageBatchSize  Items per batch
+     * @param itemsPerSecond    Throughput since the stage started
+     * @param meanBatchMicros   Mean time to process a batch
+     * @param p99BatchMicros    99th percentile batch time
+     * @param maxBatchMicros    Maximum batch time
+     */
+    public record Snapshot(String stage, int workers, int queued, long processed, long failed, long batches,
+                           double averageBatchSize, long itemsPerSecond, long meanBatchMicros,
+                           long p99BatchMicros, long maxBatchMicros) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: workers=%d, queued=%d, processed=%d, failed=%d, batches=%d, avgBatch=%.1f, "
+                            + "throughput=%d/s, batch mean=%dus, p99=%dus, max=%dus",
+                    stage, workers, queued, processed, failed, batches, averageBatchSize, itemsPerSecond,
+                    meanBatchMicros, p99BatchMicros, maxBatchMicros);
+        }
+    }
+}
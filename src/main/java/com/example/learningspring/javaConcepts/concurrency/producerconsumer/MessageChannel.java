@@ -0,0 +1,24 @@
+package com.example.learningspring.javaConcepts.concurrency.producerconsumer;
+
+/**
+ * The read/write API of {@link ProducerConsumer.MessageRepo}, so other buffers
+ * (e.g. the ring buffers in the ringbuffer package) can be used in its place.
+ *
+ * @param <T> The message type
+ */
+public interface MessageChannel<T> {
+
+    /**
+     * Writes a message, waiting while the channel is full.
+     *
+     * @param message The message to write
+     */
+    void write(T message);
+
+    /**
+     * Reads a message, waiting while the channel is empty.
+     *
+     * @return The message that was read
+     */
+    T read();
+}
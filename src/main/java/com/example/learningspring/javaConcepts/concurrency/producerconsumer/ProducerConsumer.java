@@ -10,9 +10,26 @@ public class ProducerConsumer {
      * A message repository that implements the producer-consumer pattern.
      * It uses wait() and notifyAll() for thread synchronization.
      */
-    public static class MessageRepo {
+    public static class MessageRepo implements MessageChannel<String> {
         private String message;
         private boolean hasMessage;
+        private final boolean verbose;
+        
+        /**
+         * Creates a repository which prints every read and write.
+         */
+        public MessageRepo() {
+            this(true);
+        }
+        
+        /**
+         * Creates a repository.
+         * 
+         * @param verbose Whether every read and write is printed (printing serializes threads on System.out)
+         */
+        public MessageRepo(boolean verbose) {
+            this.verbose = verbose;
+        }
         
         /**
          * Reads a message from the repository.
@@ -20,6 +37,7 @@ public class ProducerConsumer {
          * 
          * @return The message that was read
          */
+        @Override
         public synchronized String read() {
             while(!hasMessage) {
                 try {
@@ -29,7 +47,9 @@ public class ProducerConsumer {
                 }
             }
             hasMessage = false;
-            System.out.println("Consumer read: " + message);
+            if (verbose) {
+                System.out.println("Consumer read: " + message);
+            }
             notifyAll();
             return message;
         }
@@ -40,6 +60,7 @@ public class ProducerConsumer {
          * 
          * @param message The message to write
          */
+        @Override
         public synchronized void write(String message) {
             while(hasMessage) {
                 try {
@@ -50,7 +71,9 @@ public class ProducerConsumer {
             }
             hasMessage = true;
             this.message = message;
-            System.out.println("Producer wrote: " + message);
+            if (verbose) {
+                System.out.println("Producer wrote: " + message);
+            }
             notifyAll();
         }
     }
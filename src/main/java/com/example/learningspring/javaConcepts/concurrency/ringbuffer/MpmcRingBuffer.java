@@ -0,0 +1,81 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ring buffer for any number of writer and reader threads (Dmitry Vyukov's bounded MPMC queue).
+ * Writers and readers claim a slot with a CAS on tail/head; a per-slot sequence number tells
+ * whether the slot is free to write (sequence == position) or ready to read (sequence == position + 1).
+ *
+ * @param <T> The message type
+ */
+public class MpmcRingBuffer<T> extends RingBuffer<T> {
+
+    private final Sequence head = new Sequence(0);
+    private final Sequence tail = new Sequence(0);
+    private final AtomicLongArray sequences;
+
+    public MpmcRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        this.sequences = new AtomicLongArray(buffer.length);
+        for (int i = 0; i < buffer.length; i++) {
+            sequences.setRelease(i, i);
+        }
+    }
+
+    @Override
+    protected boolean offer(Object message) {
+        long position = tail.getAcquire();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = message;
+                    // Publish the slot to readers
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.getAcquire();
+            } else if (difference < 0) {
+                // The slot still holds a message from the previous lap: full
+                return false;
+            } else {
+                // Another writer claimed this position first
+                position = tail.getAcquire();
+            }
+        }
+    }
+
+    @Override
+    protected Object poll() {
+        long position = head.getAcquire();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    Object message = buffer[index];
+                    buffer[index] = null;
+                    // Free the slot for the writer of the next lap
+                    sequences.setRelease(index, position + buffer.length);
+                    return message;
+                }
+                position = head.getAcquire();
+            } else if (difference < 0) {
+                // Nothing written to this slot yet: empty
+                return null;
+            } else {
+                position = head.getAcquire();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        // Read head first: tail can only grow meanwhile, so the difference is never negative
+        long currentHead = head.getAcquire();
+        long currentTail = tail.getAcquire();
+        return (int) Math.min(buffer.length, currentTail - currentHead);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+import com.example.learningspring.javaConcepts.concurrency.producerconsumer.MessageChannel;
+
+import java.util.function.Consumer;
+
+/**
+ * A bounded, array backed, lock-free message buffer with the same read/write API as MessageRepo.
+ * Shutdown uses a poison pill: {@link #close()} enqueues a marker after the last message,
+ * and readers get null once they reach it.
+ *
+ * @param <T> The message type
+ */
+public abstract class RingBuffer<T> implements MessageChannel<T> {
+
+    private static final Object POISON_PILL = new Object();
+
+    protected final Object[] buffer;
+    protected final int mask;
+    private final WaitStrategy waitStrategy;
+    private volatile boolean closed;
+    private volatile boolean poisonConsumed;
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param capacity     Number of slots, rounded up to a power of two so the slot index is a cheap bit mask
+     * @param waitStrategy How blocked readers and writers wait
+     */
+    protected RingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 2 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 2 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Adds a message if there is space, without waiting.
+     *
+     * @param message The message
+     * @return false if the buffer is full
+     */
+    protected abstract boolean offer(Object message);
+
+    /**
+     * Removes the oldest message, without waiting.
+     *
+     * @return The message, or null if the buffer is empty
+     */
+    protected abstract Object poll();
+
+    /**
+     * Returns the number of queued messages. Only an estimate while other threads read or write.
+     *
+     * @return The number of messages in the buffer
+     */
+    public abstract int size();
+
+    /**
+     * Writes a message, waiting (according to the wait strategy) while the buffer is full.
+     *
+     * @param message The message to write, must not be null
+     * @throws IllegalStateException if the buffer was closed
+     */
+    @Override
+    public void write(T message) {
+        if (message == null) {
+            throw new NullPointerException("Message must not be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Ring buffer is closed");
+        }
+        putBlocking(message);
+    }
+
+    /**
+     * Writes a message if there is space, without waiting.
+     *
+     * @param message The message to write, must not be null
+     * @return false if the buffer is full
+     */
+    public boolean tryWrite(T message) {
+        if (message == null) {
+            throw new NullPointerException("Message must not be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Ring buffer is closed");
+        }
+        return offer(message);
+    }
+
+    /**
+     * Reads a message, waiting (according to the wait strategy) while the buffer is empty.
+     *
+     * @return The message, or null once the buffer was closed and all messages were read
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read() {
+        int attempt = 0;
+        while (true) {
+            if (poisonConsumed) {
+                return null;
+            }
+            Object message = poll();
+            if (message == POISON_PILL) {
+                poisonConsumed = true;
+                return null;
+            }
+            if (message != null) {
+                return (T) message;
+            }
+            waitStrategy.idle(attempt++);
+        }
+    }
+
+    /**
+     * Moves up to maxMessages available messages to the consumer without waiting.
+     * Handling a batch per wake-up amortizes the cost of waiting across many messages.
+     *
+     * @param consumer    Receives the messages
+     * @param maxMessages Upper bound of messages to drain
+     * @return Number of messages drained
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super T> consumer, int maxMessages) {
+        int drained = 0;
+        while (drained < maxMessages && !poisonConsumed) {
+            Object message = poll();
+            if (message == null) {
+                break;
+            }
+            if (message == POISON_PILL) {
+                poisonConsumed = true;
+                break;
+            }
+            consumer.accept((T) message);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Enqueues the poison pill after all messages written so far. Call it after the producers have finished;
+     * readers still get every earlier message, and then null.
+     */
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            putBlocking(POISON_PILL);
+        }
+    }
+
+    /**
+     * Returns true once a reader reached the poison pill, no more messages will arrive.
+     *
+     * @return Whether the buffer is fully consumed after close()
+     */
+    public boolean isTerminated() {
+        return poisonConsumed;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    private void putBlocking(Object message) {
+        int attempt = 0;
+        while (!offer(message)) {
+            waitStrategy.idle(attempt++);
+        }
+    }
+}
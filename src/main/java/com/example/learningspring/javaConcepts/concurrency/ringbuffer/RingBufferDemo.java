@@ -0,0 +1,111 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+import com.example.learningspring.javaConcepts.concurrency.producerconsumer.MessageChannel;
+import com.example.learningspring.javaConcepts.concurrency.producerconsumer.ProducerConsumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class demonstrates the lock-free ring buffers as a drop-in replacement for MessageRepo.
+ */
+public class RingBufferDemo {
+
+    private static final int MESSAGES = 1_000_000;
+
+    /**
+     * Demonstrates SPSC and MPMC ring buffers, batch draining and poison pill shutdown.
+     */
+    public static void demonstrateRingBuffer() {
+        System.out.println("1. Same read/write API as MessageRepo:");
+        transfer("MessageRepo", new ProducerConsumer.MessageRepo(false));
+        transfer("SpscRingBuffer (YIELD)", new SpscRingBuffer<>(1024, WaitStrategy.YIELD));
+        transfer("MpmcRingBuffer (YIELD)", new MpmcRingBuffer<>(1024, WaitStrategy.YIELD));
+
+        System.out.println("\n2. Multiple producers and consumers with batch draining:");
+        multiProducerMultiConsumer();
+    }
+
+    /**
+     * Sends MESSAGES messages from one producer thread to one consumer thread, the consumer stops at null.
+     */
+    private static void transfer(String name, MessageChannel<String> channel) {
+        // MessageRepo holds a single message and has no shutdown, so its consumer stops after MESSAGES reads
+        boolean poisonPill = channel instanceof RingBuffer;
+        AtomicLong received = new AtomicLong();
+        Thread consumer = new Thread(() -> {
+            while (poisonPill || received.get() < MESSAGES) {
+                if (channel.read() == null) {
+                    break;
+                }
+                received.incrementAndGet();
+            }
+        });
+        long start = System.nanoTime();
+        consumer.start();
+        for (int i = 0; i < MESSAGES; i++) {
+            channel.write("message-" + i);
+        }
+        if (poisonPill) {
+            ((RingBuffer<String>) channel).close();
+        }
+        join(consumer);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(name + ": " + received.get() + " messages in " + millis + "ms");
+    }
+
+    private static void multiProducerMultiConsumer() {
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(256, WaitStrategy.PARK);
+        AtomicLong sum = new AtomicLong();
+        AtomicLong batches = new AtomicLong();
+
+        List<Thread> consumers = new ArrayList<>();
+        for (int c = 0; c < 2; c++) {
+            Thread consumer = new Thread(() -> {
+                List<Integer> batch = new ArrayList<>(64);
+                while (true) {
+                    // Block for the first message, then take whatever else is already there
+                    Integer first = buffer.read();
+                    if (first == null) {
+                        break;
+                    }
+                    batch.add(first);
+                    buffer.drain(batch::add, 63);
+                    batch.forEach(sum::addAndGet);
+                    batches.incrementAndGet();
+                    batch.clear();
+                }
+            }, "Consumer-" + c);
+            consumers.add(consumer);
+            consumer.start();
+        }
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 1; i <= 100_000; i++) {
+                    buffer.write(i);
+                }
+            }, "Producer-" + p);
+            producers.add(producer);
+            producer.start();
+        }
+
+        producers.forEach(RingBufferDemo::join);
+        // Shutdown: the poison pill is queued after the last message, both consumers stop when they reach it
+        buffer.close();
+        consumers.forEach(RingBufferDemo::join);
+
+        long expected = 3L * 100_000 * 100_001 / 2;
+        System.out.println("Sum: " + sum.get() + " (expected " + expected + "), consumer wake-ups: " + batches.get());
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
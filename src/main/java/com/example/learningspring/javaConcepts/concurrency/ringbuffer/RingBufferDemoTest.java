@@ -0,0 +1,20 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+/**
+ * Test class for RingBufferDemo functionality.
+ */
+public class RingBufferDemoTest {
+
+    /**
+     * Main method to test the RingBufferDemo functionality.
+     *
+     * @param args Command line arguments
+     */
+    public static void main(String[] args) {
+        System.out.println("Testing Ring Buffers:");
+        System.out.println("=====================");
+
+        // Test the ring buffer functionality
+        RingBufferDemo.demonstrateRingBuffer();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+/**
+ * A padded long counter. The padding keeps the head and tail counters of a ring buffer on
+ * different cache lines, so the producer and the consumer don't invalidate each other's cache (false sharing).
+ */
+class Sequence extends SequenceValue {
+    @SuppressWarnings("unused")
+    private long p9, p10, p11, p12, p13, p14, p15;
+
+    Sequence(long initialValue) {
+        setRelease(initialValue);
+    }
+}
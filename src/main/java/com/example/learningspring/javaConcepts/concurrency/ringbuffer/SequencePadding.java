@@ -0,0 +1,9 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+/**
+ * Cache line padding in front of the counter value of {@link Sequence}.
+ */
+class SequencePadding {
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6, p7;
+}
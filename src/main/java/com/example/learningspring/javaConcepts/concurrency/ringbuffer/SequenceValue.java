@@ -0,0 +1,43 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The counter value of {@link Sequence}, placed between two blocks of padding fields.
+ */
+class SequenceValue extends SequencePadding {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long value;
+
+    /**
+     * Plain read, only for the thread which owns this counter.
+     */
+    long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * Publishes the new value; cheaper than a volatile write because it needs no full fence.
+     */
+    void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+/**
+ * Ring buffer for exactly one writer thread and one reader thread.
+ * Each counter has a single owner, so no CAS is needed: the owner publishes it with a release store
+ * and the other side reads it with an acquire load.
+ *
+ * @param <T> The message type
+ */
+public class SpscRingBuffer<T> extends RingBuffer<T> {
+
+    private final Sequence head = new Sequence(0);
+    private final Sequence tail = new Sequence(0);
+
+    // Each side caches the last seen value of the other side's counter and only re-reads it
+    // (a cache miss on a shared line) when the cached value says the buffer is full/empty
+    private long cachedHead;
+    private long cachedTail;
+
+    public SpscRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+    }
+
+    @Override
+    protected boolean offer(Object message) {
+        long currentTail = tail.getPlain();
+        if (currentTail - cachedHead >= buffer.length) {
+            cachedHead = head.getAcquire();
+            if (currentTail - cachedHead >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) currentTail & mask] = message;
+        // The release store makes the slot write visible before the new tail
+        tail.setRelease(currentTail + 1);
+        return true;
+    }
+
+    @Override
+    protected Object poll() {
+        long currentHead = head.getPlain();
+        if (currentHead >= cachedTail) {
+            cachedTail = tail.getAcquire();
+            if (currentHead >= cachedTail) {
+                return null;
+            }
+        }
+        int index = (int) currentHead & mask;
+        Object message = buffer[index];
+        buffer[index] = null;
+        head.setRelease(currentHead + 1);
+        return message;
+    }
+
+    @Override
+    public int size() {
+        // Read head first: tail can only grow meanwhile, so the difference is never negative
+        long currentHead = head.getAcquire();
+        long currentTail = tail.getAcquire();
+        return (int) Math.min(buffer.length, currentTail - currentHead);
+    }
+}
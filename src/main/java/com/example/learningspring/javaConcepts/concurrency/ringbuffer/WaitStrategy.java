@@ -0,0 +1,60 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * What a thread does while the ring buffer is full (writer) or empty (reader).
+ * There is no wait()/notifyAll(): waiting threads re-check the buffer, which trades some CPU for latency.
+ */
+public enum WaitStrategy {
+    /**
+     * Busy spin with {@link Thread#onSpinWait()}. Lowest latency, burns a full core while waiting.
+     */
+    SPIN {
+        @Override
+        void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+    /**
+     * Spin briefly, then {@link Thread#yield()} so other threads can use the core.
+     */
+    YIELD {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+    /**
+     * Spin, yield, then park with a growing timeout (up to 1ms). Almost no CPU while idle, higher wake-up latency.
+     */
+    PARK {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                int shift = Math.min(attempt - SPIN_TRIES - YIELD_TRIES, 10);
+                LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1_000L << shift));
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Called once per failed attempt.
+     *
+     * @param attempt How many attempts failed so far (starting at 0)
+     */
+    abstract void idle(int attempt);
+}
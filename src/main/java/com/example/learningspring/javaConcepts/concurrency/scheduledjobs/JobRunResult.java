@@ -0,0 +1,17 @@
+package com.example.learningspring.javaConcepts.concurrency.scheduledjobs;
+
+/**
+ * Outcome of a single run of a scheduled job, passed to completion callbacks.
+ *
+ * @param jobName        The name of the job
+ * @param runNumber      Sequence number of the run (starting at 1)
+ * @param startedAtNanos {@link System#nanoTime()} when the run started
+ * @param durationNanos  How long the run took
+ * @param error          The exception thrown by the job, or null if it succeeded
+ */
+public record JobRunResult(String jobName, long runNumber, long startedAtNanos, long durationNanos, Throwable error) {
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
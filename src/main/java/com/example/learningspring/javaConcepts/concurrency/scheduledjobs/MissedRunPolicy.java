@@ -0,0 +1,20 @@
+package com.example.learningspring.javaConcepts.concurrency.scheduledjobs;
+
+/**
+ * What a fixed-rate job should do when a run took longer than its period
+ * and one or more scheduled start times have already passed.
+ */
+public enum MissedRunPolicy {
+    /**
+     * Drop the missed runs and continue at the next future slot.
+     */
+    SKIP,
+    /**
+     * Run once immediately for all missed runs, then continue at the next future slot.
+     */
+    COALESCE,
+    /**
+     * Run every missed run back-to-back (up to a limit) until the schedule is caught up.
+     */
+    CATCH_UP
+}
@@ -0,0 +1,55 @@
+package com.example.learningspring.javaConcepts.concurrency.scheduledjobs;
+
+import com.example.learningspring.metrics.LatencyRecorder;
+import com.example.learningspring.metrics.LatencySnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Job run times, recorded into a {@link LatencyRecorder} (values are precise to ~3%).
+ */
+public class RunTimeHistogram {
+
+    private final LatencyRecorder recorder = new LatencyRecorder(TimeUnit.HOURS.toNanos(1));
+
+    /**
+     * Records a single run time.
+     *
+     * @param durationNanos The run time in nanoseconds
+     */
+    public void record(long durationNanos) {
+        recorder.record(durationNanos);
+    }
+
+    public long getCount() {
+        return recorder.snapshot().getCount();
+    }
+
+    public long getMeanMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(recorder.snapshot().getMeanNanos());
+    }
+
+    public long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(recorder.snapshot().getMaxNanos());
+    }
+
+    /**
+     * Returns the estimated run time at the given percentile.
+     *
+     * @param percentile The percentile (0-100)
+     * @return The estimated run time in milliseconds
+     */
+    public long getPercentileMillis(double percentile) {
+        return TimeUnit.NANOSECONDS.toMillis(recorder.snapshot().getPercentileNanos(percentile));
+    }
+
+    @Override
+    public String toString() {
+        LatencySnapshot snapshot = recorder.snapshot();
+        return "count=" + snapshot.getCount()
+                + ", mean=" + TimeUnit.NANOSECONDS.toMillis(snapshot.getMeanNanos())
+                + "ms, p50=" + TimeUnit.NANOSECONDS.toMillis(snapshot.getPercentileNanos(50))
+                + "ms, p99=" + TimeUnit.NANOSECONDS.toMillis(snapshot.getPercentileNanos(99))
+                + "ms, max=" + TimeUnit.NANOSECONDS.toMillis(snapshot.getMaxNanos()) + "ms";
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.learningspring.javaConcepts.concurrency.scheduledjobs;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A job registered with a {@link ScheduledJobRunner}.
+ * Instead of using scheduleAtFixedRate(), every run schedules the next one after it completes.
+ * This makes overlapping runs impossible and lets the job apply jitter and a {@link MissedRunPolicy}.
+ */
+public class ScheduledJob {
+
+    /**
+     * Upper limit of back-to-back runs for {@link MissedRunPolicy#CATCH_UP}; beyond it the job coalesces.
+     */
+    static final int MAX_CATCH_UP_RUNS = 10;
+
+    private final String name;
+    private final Runnable task;
+    private final boolean fixedRate;
+    private final long periodNanos;
+    private final long jitterNanos;
+    private final MissedRunPolicy missedRunPolicy;
+    private final ScheduledExecutorService scheduler;
+
+    private final List<Consumer<JobRunResult>> completionListeners = new CopyOnWriteArrayList<>();
+    private final AtomicReference<CompletableFuture<JobRunResult>> nextRun = new AtomicReference<>(new CompletableFuture<>());
+    private final RunTimeHistogram runTimeHistogram = new RunTimeHistogram();
+    private final AtomicLong runCount = new AtomicLong();
+    private final AtomicLong skippedRuns = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Start time of the current fixed-rate slot; only touched by the run that is rescheduling the job
+    private long nextSlotNanos;
+    private volatile ScheduledFuture<?> nextTrigger;
+    private volatile boolean cancelled;
+
+    ScheduledJob(String name, Runnable task, boolean fixedRate, long periodNanos, long jitterNanos,
+                 MissedRunPolicy missedRunPolicy, ScheduledExecutorService scheduler) {
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("Period must be positive for job " + name);
+        }
+        this.name = name;
+        this.task = task;
+        this.fixedRate = fixedRate;
+        this.periodNanos = periodNanos;
+        this.jitterNanos = Math.max(0, jitterNanos);
+        this.missedRunPolicy = missedRunPolicy;
+        this.scheduler = scheduler;
+    }
+
+    void start(long initialDelayNanos) {
+        nextSlotNanos = System.nanoTime() + initialDelayNanos;
+        schedule(initialDelayNanos + jitter());
+    }
+
+    private void schedule(long delayNanos) {
+        if (cancelled) {
+            return;
+        }
+        try {
+            nextTrigger = scheduler.schedule(this::fire, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // The runner was closed while this run was in progress
+            cancelled = true;
+        }
+    }
+
+    private void fire() {
+        if (cancelled) {
+            return;
+        }
+        if (running.compareAndSet(false, true)) {
+            try {
+                runOnce();
+            } finally {
+                running.set(false);
+            }
+        } else {
+            // A manual triggerNow() run is still in progress, don't overlap with it
+            skippedRuns.incrementAndGet();
+        }
+        scheduleNext();
+    }
+
+    private void scheduleNext() {
+        long now = System.nanoTime();
+        if (!fixedRate) {
+            schedule(periodNanos + jitter());
+            return;
+        }
+
+        nextSlotNanos += periodNanos;
+        if (nextSlotNanos - now >= 0) {
+            schedule(nextSlotNanos - now + jitter());
+            return;
+        }
+
+        // The last run took longer than the period, so one or more slots were missed
+        long missed = (now - nextSlotNanos) / periodNanos + 1;
+        MissedRunPolicy policy = missedRunPolicy;
+        if (policy == MissedRunPolicy.CATCH_UP && missed > MAX_CATCH_UP_RUNS) {
+            policy = MissedRunPolicy.COALESCE;
+        }
+        switch (policy) {
+            case SKIP -> {
+                skippedRuns.addAndGet(missed);
+                nextSlotNanos += missed * periodNanos;
+                schedule(nextSlotNanos - now + jitter());
+            }
+            case COALESCE -> {
+                // Run once now for the latest missed slot, the following slot is in the future
+                skippedRuns.addAndGet(missed - 1);
+                nextSlotNanos += (missed - 1) * periodNanos;
+                schedule(0);
+            }
+            case CATCH_UP -> schedule(0);
+        }
+    }
+
+    private long jitter() {
+        return jitterNanos == 0 ? 0 : ThreadLocalRandom.current().nextLong(jitterNanos + 1);
+    }
+
+    private JobRunResult runOnce() {
+        long runNumber = runCount.incrementAndGet();
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            task.run();
+        } catch (Throwable t) {
+            // Unlike scheduleAtFixedRate(), a failing run doesn't stop future runs
+            error = t;
+        }
+        long duration = System.nanoTime() - start;
+        runTimeHistogram.record(duration);
+
+        JobRunResult result = new JobRunResult(name, runNumber, start, duration, error);
+        for (Consumer<JobRunResult> listener : completionListeners) {
+            try {
+                listener.accept(result);
+            } catch (RuntimeException e) {
+                System.out.println("Completion listener failed for job " + name + ": " + e.getMessage());
+            }
+        }
+        nextRun.getAndSet(new CompletableFuture<>()).complete(result);
+        return result;
+    }
+
+    /**
+     * Runs the job immediately on the runner's threads, unless a run is already in progress.
+     *
+     * @return A future completed with the run's result, or with null if the job was already running
+     */
+    public CompletableFuture<JobRunResult> triggerNow() {
+        CompletableFuture<JobRunResult> result = new CompletableFuture<>();
+        scheduler.execute(() -> {
+            if (cancelled || !running.compareAndSet(false, true)) {
+                skippedRuns.incrementAndGet();
+                result.complete(null);
+                return;
+            }
+            try {
+                result.complete(runOnce());
+            } finally {
+                running.set(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Registers a callback invoked on the runner thread after every run.
+     *
+     * @param listener The callback
+     * @return This job, for chaining
+     */
+    public ScheduledJob onCompletion(Consumer<JobRunResult> listener) {
+        completionListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Returns a future completed when the next run finishes; use this instead of polling isDone().
+     *
+     * @return The future for the next run
+     */
+    public CompletableFuture<JobRunResult> nextRun() {
+        return nextRun.get();
+    }
+
+    /**
+     * Stops future runs. A run in progress is not interrupted.
+     */
+    public void cancel() {
+        cancelled = true;
+        ScheduledFuture<?> trigger = nextTrigger;
+        if (trigger != null) {
+            trigger.cancel(false);
+        }
+        nextRun.get().cancel(false);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRunCount() {
+        return runCount.get();
+    }
+
+    public long getSkippedRuns() {
+        return skippedRuns.get();
+    }
+
+    public RunTimeHistogram getRunTimeHistogram() {
+        return runTimeHistogram;
+    }
+}
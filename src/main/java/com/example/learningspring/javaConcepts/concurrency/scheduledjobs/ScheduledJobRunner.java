@@ -0,0 +1,112 @@
+package com.example.learningspring.javaConcepts.concurrency.scheduledjobs;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs periodic jobs (cache refreshes, cleanups...) on one shared ScheduledExecutorService.
+ * Unlike ExecutorServiceDemo, jobs don't need their own executor and callers don't poll for results:
+ * completion is reported through callbacks or {@link ScheduledJob#nextRun()}.
+ */
+public class ScheduledJobRunner implements AutoCloseable {
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Map<String, ScheduledJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a runner.
+     *
+     * @param threads Number of threads shared by all jobs
+     */
+    public ScheduledJobRunner(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.scheduler = new ScheduledThreadPoolExecutor(threads,
+                r -> new Thread(r, "scheduled-job-" + threadNumber.getAndIncrement()));
+        // Cancelled jobs should not stay in the delay queue until their trigger time
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Schedules a job whose runs start at fixed intervals from the initial start time.
+     *
+     * @param name            Unique job name
+     * @param task            The job body
+     * @param initialDelay    Delay before the first run
+     * @param period          Interval between run start times
+     * @param jitter          Random extra delay (0..jitter) added to each run, spreads load across nodes
+     * @param missedRunPolicy What to do when a run overruns its period
+     * @return The scheduled job
+     */
+    public ScheduledJob scheduleAtFixedRate(String name, Runnable task, Duration initialDelay, Duration period,
+                                            Duration jitter, MissedRunPolicy missedRunPolicy) {
+        return register(new ScheduledJob(name, task, true, period.toNanos(), jitter.toNanos(),
+                missedRunPolicy, scheduler), initialDelay);
+    }
+
+    /**
+     * Schedules a job where each run starts a fixed delay after the previous one completed.
+     *
+     * @param name         Unique job name
+     * @param task         The job body
+     * @param initialDelay Delay before the first run
+     * @param delay        Delay between the end of a run and the start of the next one
+     * @param jitter       Random extra delay (0..jitter) added to each run
+     * @return The scheduled job
+     */
+    public ScheduledJob scheduleWithFixedDelay(String name, Runnable task, Duration initialDelay, Duration delay,
+                                               Duration jitter) {
+        return register(new ScheduledJob(name, task, false, delay.toNanos(), jitter.toNanos(),
+                MissedRunPolicy.SKIP, scheduler), initialDelay);
+    }
+
+    private ScheduledJob register(ScheduledJob job, Duration initialDelay) {
+        if (jobs.putIfAbsent(job.getName(), job) != null) {
+            throw new IllegalArgumentException("Job already scheduled: " + job.getName());
+        }
+        job.start(initialDelay.toNanos());
+        return job;
+    }
+
+    public ScheduledJob getJob(String name) {
+        return jobs.get(name);
+    }
+
+    public Collection<ScheduledJob> getJobs() {
+        return jobs.values();
+    }
+
+    /**
+     * Cancels a job and removes it from the runner.
+     *
+     * @param name The job name
+     */
+    public void cancel(String name) {
+        ScheduledJob job = jobs.remove(name);
+        if (job != null) {
+            job.cancel();
+        }
+    }
+
+    /**
+     * Cancels all jobs and waits up to 5 seconds for running jobs to finish.
+     */
+    @Override
+    public void close() {
+        jobs.values().forEach(ScheduledJob::cancel);
+        jobs.clear();
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
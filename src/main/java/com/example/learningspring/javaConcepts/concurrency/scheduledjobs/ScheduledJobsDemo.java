@@ -0,0 +1,68 @@
+package com.example.learningspring.javaConcepts.concurrency.scheduledjobs;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class demonstrates running periodic jobs with {@link ScheduledJobRunner}.
+ * All jobs share one scheduler, results are delivered through callbacks instead of polling.
+ */
+public class ScheduledJobsDemo {
+
+    /**
+     * Demonstrates fixed-rate and fixed-delay jobs, missed-run handling and completion callbacks.
+     */
+    public static void demonstrateScheduledJobs() {
+        try (ScheduledJobRunner runner = new ScheduledJobRunner(2)) {
+            // Fixed rate with jitter, e.g. refreshing a cache every 200ms
+            ScheduledJob cacheRefresh = runner.scheduleAtFixedRate("cache-refresh",
+                    () -> System.out.println("Refreshing cache on " + Thread.currentThread().getName()),
+                    Duration.ZERO, Duration.ofMillis(200), Duration.ofMillis(20), MissedRunPolicy.SKIP);
+            cacheRefresh.onCompletion(result -> System.out.println("cache-refresh run " + result.runNumber()
+                    + " took " + TimeUnit.NANOSECONDS.toMicros(result.durationNanos()) + "us"));
+
+            // A slow fixed rate job: every run overruns its 100ms period, so missed runs are coalesced
+            ScheduledJob slowJob = runner.scheduleAtFixedRate("slow-report", () -> sleep(250),
+                    Duration.ZERO, Duration.ofMillis(100), Duration.ZERO, MissedRunPolicy.COALESCE);
+
+            // Fixed delay, e.g. a cleanup that should never run back-to-back
+            ScheduledJob cleanup = runner.scheduleWithFixedDelay("cleanup", () -> {
+                        throw new IllegalStateException("cleanup failed");
+                    },
+                    Duration.ofMillis(50), Duration.ofMillis(300), Duration.ZERO);
+            cleanup.onCompletion(result -> {
+                if (!result.isSuccess()) {
+                    System.out.println("cleanup run " + result.runNumber() + " failed: " + result.error().getMessage());
+                }
+            });
+
+            // Wait for a run to complete without a sleep/isDone() loop
+            try {
+                JobRunResult result = cleanup.nextRun().get(2, TimeUnit.SECONDS);
+                System.out.println("Next cleanup run completed, success: " + result.isSuccess());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+
+            // Overlap prevention: a manual trigger is skipped while the job is running
+            sleep(50);
+            slowJob.triggerNow().thenAccept(result ->
+                    System.out.println("Manual slow-report trigger " + (result == null ? "skipped, job was running" : "ran")));
+
+            sleep(1000);
+            System.out.println("\nJob statistics:");
+            for (ScheduledJob job : runner.getJobs()) {
+                System.out.println(job.getName() + ": runs=" + job.getRunCount() + ", skipped=" + job.getSkippedRuns()
+                        + ", " + job.getRunTimeHistogram());
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
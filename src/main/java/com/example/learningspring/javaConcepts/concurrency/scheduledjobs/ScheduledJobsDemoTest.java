@@ -0,0 +1,20 @@
+package com.example.learningspring.javaConcepts.concurrency.scheduledjobs;
+
+/**
+ * Test class for ScheduledJobsDemo functionality.
+ */
+public class ScheduledJobsDemoTest {
+
+    /**
+     * Main method to test the ScheduledJobsDemo functionality.
+     *
+     * @param args Command line arguments
+     */
+    public static void main(String[] args) {
+        System.out.println("Testing Scheduled Jobs:");
+        System.out.println("======================");
+
+        // Test the scheduled jobs functionality
+        ScheduledJobsDemo.demonstrateScheduledJobs();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.learningspring.javaConcepts.lambda;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.BinaryOperator;
+import java.util.function.IntBinaryOperator;
 
 /**
  * This class demonstrates the use of Lambda expressions in Java.
@@ -24,6 +25,11 @@ public class LambdaExpressions {
         System.out.println("\nUsing lambda with BinaryOperator:");
         System.out.println("1 + 2 = " + result);
         
+        // The primitive specialization: apply(1, 2) above boxes both arguments and the result
+        IntBinaryOperator addInts = (x, y) -> x + y;
+        System.out.println("\nUsing lambda with IntBinaryOperator:");
+        System.out.println("1 + 2 = " + addInts.applyAsInt(1, 2));
+        
         // More examples of lambda expressions
         System.out.println("\nMore lambda examples:");
         
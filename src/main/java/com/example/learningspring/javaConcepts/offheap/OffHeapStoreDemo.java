@@ -0,0 +1,107 @@
+package com.example.learningspring.javaConcepts.offheap;
+
+import com.example.learningspring.springJpa.jdbcTemplate.UserJdbcTemplate;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class demonstrates an off-heap record store next to the same records on heap.
+ */
+public class OffHeapStoreDemo {
+
+    private static final int USERS = 1_000_000;
+    private static final int LOOKUPS = 5_000_000;
+
+    /**
+     * Demonstrates heap footprint, full GC time and lookup latency of on-heap vs off-heap records.
+     */
+    public static void demonstrateOffHeapStore() {
+        System.out.println("1. On heap: HashMap<Integer, UserJdbcTemplate>");
+        long heapBefore = usedHeapAfterGc();
+        Map<Integer, UserJdbcTemplate> onHeap = new HashMap<>(USERS * 2);
+        for (int id = 1; id <= USERS; id++) {
+            UserJdbcTemplate user = new UserJdbcTemplate();
+            user.setId(id);
+            user.setName("user" + id);
+            user.setEmail("user" + id + "@example.com");
+            onHeap.put(id, user);
+        }
+        System.out.println("Heap used by " + USERS + " users: " + (usedHeapAfterGc() - heapBefore) / (1024 * 1024) + " MB");
+        System.out.println("Full GC with the users live: " + fullGcMillis() + "ms");
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            checksum += onHeap.get(randomId()).getEmail().length();
+        }
+        System.out.println("Lookup + email length: " + (System.nanoTime() - start) / LOOKUPS + "ns per lookup (checksum " + checksum + ")");
+        onHeap = null;
+
+        System.out.println("\n2. Off heap: OffHeapUserStore");
+        heapBefore = usedHeapAfterGc();
+        OffHeapUserStore store = new OffHeapUserStore(USERS, USERS * 30);
+        for (int id = 1; id <= USERS; id++) {
+            store.put(id, "user" + id, "user" + id + "@example.com");
+        }
+        System.out.println("Heap used by " + USERS + " users: " + (usedHeapAfterGc() - heapBefore) / (1024 * 1024)
+                + " MB (the id index), off heap: " + store.getOffHeapBytes() / (1024 * 1024) + " MB");
+        System.out.println("Full GC with the users live: " + fullGcMillis() + "ms");
+        UserRecordView view = store.newView();
+        start = System.nanoTime();
+        checksum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (store.find(randomId(), view)) {
+                checksum += view.getEmail().length();
+            }
+        }
+        System.out.println("Lookup + email length: " + (System.nanoTime() - start) / LOOKUPS + "ns per lookup (checksum " + checksum + ")");
+
+        System.out.println("\n3. Flyweight scan without decoding strings:");
+        byte[] suffix = "9@example.com".getBytes(StandardCharsets.UTF_8);
+        long[] matches = new long[1];
+        start = System.nanoTime();
+        store.forEach(user -> {
+            if (user.emailEndsWith(suffix)) {
+                matches[0]++;
+            }
+        });
+        System.out.println(matches[0] + " emails end with 9@example.com, scanned in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        System.out.println("\n4. Replace, remove and compact:");
+        store.put(42, "renamed", "renamed@example.com");
+        store.remove(7);
+        store.find(42, view);
+        System.out.println(view + ", contains 7: " + store.contains(7) + ", garbage: " + store.getGarbageBytes() + " bytes");
+        store.compact();
+        store.find(42, view);
+        System.out.println("After compact: " + view + ", garbage: " + store.getGarbageBytes() + " bytes");
+    }
+
+    private static int randomId() {
+        return ThreadLocalRandom.current().nextInt(1, USERS + 1);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long fullGcMillis() {
+        long before = totalGcMillis();
+        System.gc();
+        return totalGcMillis() - before;
+    }
+
+    private static long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.learningspring.javaConcepts.offheap;
+
+/**
+ * Test class for OffHeapStoreDemo functionality.
+ */
+public class OffHeapStoreDemoTest {
+
+    /**
+     * Main method to test the OffHeapStoreDemo functionality.
+     *
+     * @param args Command line arguments
+     */
+    public static void main(String[] args) {
+        System.out.println("Testing Off-Heap Store:");
+        System.out.println("=======================");
+
+        // Test the off-heap store functionality
+        OffHeapStoreDemo.demonstrateOffHeapStore();
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.learningspring.javaConcepts.offheap;
+
+import com.example.learningspring.javaConcepts.primitives.IntIntHashMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * A lookup table of (id, name, email) records kept outside the Java heap.
+ * <p>
+ * On heap, a million {@code UserJdbcTemplate}s are about four million objects (the user, two Strings, two
+ * byte[]s, plus the Integer id and HashMap node) which the GC has to trace and, once old, copy or mark in every
+ * full collection. Here they are two direct ByteBuffers, which the GC sees as two small objects:
+ * <pre>
+ * records: fixed 16 byte slots, slot n at n * 16
+ *   0  int    id
+ *   4  int    offset of the name in strings
+ *   8  int    offset of the email in strings
+ *   12 u16    name length in bytes (0xFFFF = null)
+ *   14 u16    email length in bytes (0xFFFF = null)
+ * strings: UTF-8 bytes, appended
+ * </pre>
+ * The id index is an {@link IntIntHashMap} from id to slot: two int[]s, which the GC doesn't have to scan.
+ * Records are read in place through a {@link UserRecordView} flyweight. Both buffers are little endian, so they
+ * can be written to a snapshot file as they are and mapped back with {@link #wrap(ByteBuffer, int, ByteBuffer)}.
+ * <p>
+ * Not thread safe for writes. Build the store on one thread, then share it for reads (a lookup table loaded at
+ * startup), or guard writes and reads with a lock.
+ */
+public class OffHeapUserStore {
+
+    static final int RECORD_SIZE = 16;
+    static final int ID = 0;
+    static final int NAME_OFFSET = 4;
+    static final int EMAIL_OFFSET = 8;
+    static final int NAME_LENGTH = 12;
+    static final int EMAIL_LENGTH = 14;
+
+    static final int NULL_LENGTH = 0xFFFF;
+    public static final int MAX_STRING_BYTES = 0xFFFE;
+
+    private static final int MISSING = -1;
+
+    private final IntIntHashMap index;
+    ByteBuffer records;
+    ByteBuffer strings;
+    private int size;
+    private int stringBytesUsed;
+    private int garbageBytes;
+
+    public OffHeapUserStore() {
+        this(1024, 64 * 1024);
+    }
+
+    /**
+     * Creates a store which holds expectedRecords records with expectedStringBytes of UTF-8 names and emails
+     * without growing.
+     *
+     * @param expectedRecords     Expected number of records
+     * @param expectedStringBytes Expected total UTF-8 bytes of names and emails
+     */
+    public OffHeapUserStore(int expectedRecords, int expectedStringBytes) {
+        this.index = new IntIntHashMap(expectedRecords);
+        this.records = allocate(Math.max(1, expectedRecords) * RECORD_SIZE);
+        this.strings = allocate(Math.max(16, expectedStringBytes));
+    }
+
+    private OffHeapUserStore(IntIntHashMap index, ByteBuffer records, int size, ByteBuffer strings) {
+        this.index = index;
+        this.records = records;
+        this.size = size;
+        this.strings = strings;
+        this.stringBytesUsed = strings.limit();
+    }
+
+    /**
+     * Creates a store over existing buffers in this store's layout, e.g. sections of a memory-mapped snapshot
+     * file. The buffers are not copied: only the id index is rebuilt. Read-only buffers are copied into direct
+     * buffers on the first write.
+     *
+     * @param records Records in the layout above, from position 0
+     * @param size    Number of records
+     * @param strings The string area, from position 0 to its limit
+     * @return The store
+     * @throws IllegalArgumentException if the buffers are too small, or a record points outside the string area
+     */
+    public static OffHeapUserStore wrap(ByteBuffer records, int size, ByteBuffer strings) {
+        if ((long) size * RECORD_SIZE > records.limit()) {
+            throw new IllegalArgumentException(size + " records don't fit into " + records.limit() + " bytes");
+        }
+        OffHeapUserStore store = new OffHeapUserStore(new IntIntHashMap(size),
+                records.duplicate().order(ByteOrder.LITTLE_ENDIAN), size, strings.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+        long liveStringBytes = 0;
+        for (int slot = 0; slot < size; slot++) {
+            int base = slot * RECORD_SIZE;
+            liveStringBytes += store.checkedLength(base + NAME_OFFSET, base + NAME_LENGTH)
+                    + store.checkedLength(base + EMAIL_OFFSET, base + EMAIL_LENGTH);
+            if (!store.index.put(store.records.getInt(base + ID), slot)) {
+                throw new IllegalArgumentException("Duplicate id " + store.records.getInt(base + ID));
+            }
+        }
+        store.garbageBytes = (int) (store.stringBytesUsed - liveStringBytes);
+        return store;
+    }
+
+    /**
+     * Adds a record, or replaces the record with the same id. The strings of a replaced record stay in the
+     * string area until {@link #compact()}.
+     *
+     * @param id    The id
+     * @param name  The name, may be null
+     * @param email The email, may be null
+     * @throws IllegalArgumentException if a string is longer than {@link #MAX_STRING_BYTES} in UTF-8
+     */
+    public void put(int id, String name, String email) {
+        ensureWritable();
+        byte[] nameBytes = encode(name);
+        byte[] emailBytes = encode(email);
+        int slot = index.getOrDefault(id, MISSING);
+        if (slot == MISSING) {
+            slot = size;
+            ensureRecordCapacity(size + 1);
+            size++;
+            index.put(id, slot);
+        } else {
+            garbageBytes += storedLength(slot, NAME_LENGTH) + storedLength(slot, EMAIL_LENGTH);
+        }
+        int base = slot * RECORD_SIZE;
+        records.putInt(base + ID, id);
+        writeString(base + NAME_OFFSET, base + NAME_LENGTH, nameBytes);
+        writeString(base + EMAIL_OFFSET, base + EMAIL_LENGTH, emailBytes);
+    }
+
+    public boolean contains(int id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * Points the view at the record with the id. Nothing is copied or decoded.
+     *
+     * @param id   The id
+     * @param view The view to reuse, from {@link #newView()}
+     * @return false if there is no record with the id (the view is unchanged)
+     */
+    public boolean find(int id, UserRecordView view) {
+        int slot = index.getOrDefault(id, MISSING);
+        if (slot == MISSING) {
+            return false;
+        }
+        view.moveTo(this, slot * RECORD_SIZE);
+        return true;
+    }
+
+    /**
+     * Creates a view which can be pointed at records with {@link #find(int, UserRecordView)}.
+     * One view per reading thread is enough.
+     *
+     * @return A new view
+     */
+    public UserRecordView newView() {
+        return new UserRecordView();
+    }
+
+    /**
+     * Removes a record. The last record moves into its slot, so views of the last record become stale.
+     *
+     * @param id The id
+     * @return false if there was no record with the id
+     */
+    public boolean remove(int id) {
+        int slot = index.getOrDefault(id, MISSING);
+        if (slot == MISSING) {
+            return false;
+        }
+        ensureWritable();
+        index.remove(id);
+        garbageBytes += storedLength(slot, NAME_LENGTH) + storedLength(slot, EMAIL_LENGTH);
+        int last = size - 1;
+        if (slot != last) {
+            records.put(slot * RECORD_SIZE, records, last * RECORD_SIZE, RECORD_SIZE);
+            index.put(records.getInt(slot * RECORD_SIZE + ID), slot);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Calls the action for every record, with one view which is moved from record to record.
+     * The action must not keep the view.
+     *
+     * @param action Receives the view
+     */
+    public void forEach(Consumer<? super UserRecordView> action) {
+        UserRecordView view = newView();
+        for (int slot = 0; slot < size; slot++) {
+            view.moveTo(this, slot * RECORD_SIZE);
+            action.accept(view);
+        }
+    }
+
+    /**
+     * Rewrites the string area without the strings of replaced and removed records.
+     */
+    public void compact() {
+        // Rewrites the string offsets in the records, so a wrapped read-only store needs its own copy first
+        ensureWritable();
+        ByteBuffer compacted = allocate(Math.max(16, stringBytesUsed - garbageBytes));
+        int used = 0;
+        for (int slot = 0; slot < size; slot++) {
+            int base = slot * RECORD_SIZE;
+            used = moveString(compacted, used, base + NAME_OFFSET, base + NAME_LENGTH);
+            used = moveString(compacted, used, base + EMAIL_OFFSET, base + EMAIL_LENGTH);
+        }
+        strings = compacted;
+        stringBytesUsed = used;
+        garbageBytes = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return A read-only view of the used part of the record area, for writing it out as it is
+     */
+    public ByteBuffer asReadOnlyRecords() {
+        return records.asReadOnlyBuffer().position(0).limit(size * RECORD_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return A read-only view of the used part of the string area, for writing it out as it is
+     */
+    public ByteBuffer asReadOnlyStrings() {
+        return strings.asReadOnlyBuffer().position(0).limit(stringBytesUsed).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return Bytes reserved outside the heap by both buffers
+     */
+    public long getOffHeapBytes() {
+        return (long) records.capacity() + strings.capacity();
+    }
+
+    /**
+     * @return Bytes in the string area which belong to replaced or removed records
+     */
+    public int getGarbageBytes() {
+        return garbageBytes;
+    }
+
+    String readString(int base, int offsetField, int lengthField) {
+        int length = Short.toUnsignedInt(records.getShort(base + lengthField));
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        strings.get(records.getInt(base + offsetField), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeString(int offsetField, int lengthField, byte[] bytes) {
+        if (bytes == null) {
+            records.putInt(offsetField, 0);
+            records.putShort(lengthField, (short) NULL_LENGTH);
+            return;
+        }
+        ensureStringCapacity(stringBytesUsed + bytes.length);
+        strings.put(stringBytesUsed, bytes);
+        records.putInt(offsetField, stringBytesUsed);
+        records.putShort(lengthField, (short) bytes.length);
+        stringBytesUsed += bytes.length;
+    }
+
+    private int moveString(ByteBuffer target, int used, int offsetField, int lengthField) {
+        int length = Short.toUnsignedInt(records.getShort(lengthField));
+        if (length == NULL_LENGTH) {
+            return used;
+        }
+        target.put(used, strings, records.getInt(offsetField), length);
+        records.putInt(offsetField, used);
+        return used + length;
+    }
+
+    private int checkedLength(int offsetField, int lengthField) {
+        int length = Short.toUnsignedInt(records.getShort(lengthField));
+        if (length == NULL_LENGTH) {
+            return 0;
+        }
+        if ((long) records.getInt(offsetField) + length > stringBytesUsed || records.getInt(offsetField) < 0) {
+            throw new IllegalArgumentException("Record at " + offsetField / RECORD_SIZE + " points outside the string area");
+        }
+        return length;
+    }
+
+    private void ensureWritable() {
+        if (records.isReadOnly() || strings.isReadOnly()) {
+            records = grow(records, Math.max(RECORD_SIZE, records.limit()), size * RECORD_SIZE);
+            strings = grow(strings, Math.max(16, strings.limit()), stringBytesUsed);
+        }
+    }
+
+    private int storedLength(int slot, int lengthField) {
+        int length = Short.toUnsignedInt(records.getShort(slot * RECORD_SIZE + lengthField));
+        return length == NULL_LENGTH ? 0 : length;
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String longer than " + MAX_STRING_BYTES + " UTF-8 bytes");
+        }
+        return bytes;
+    }
+
+    private void ensureRecordCapacity(int recordCount) {
+        long needed = (long) recordCount * RECORD_SIZE;
+        if (needed > records.limit()) {
+            records = grow(records, needed, size * RECORD_SIZE);
+        }
+    }
+
+    private void ensureStringCapacity(long needed) {
+        if (needed > strings.limit()) {
+            strings = grow(strings, needed, stringBytesUsed);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, long needed, int used) {
+        long newCapacity = Math.max(needed, buffer.limit() * 2L);
+        if (needed > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Off-heap store is full: a buffer can't exceed 2 GB");
+        }
+        ByteBuffer grown = allocate((int) Math.min(Integer.MAX_VALUE, newCapacity));
+        grown.put(0, buffer, 0, used);
+        return grown;
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        // Little endian is the native order on x86 and ARM (no byte swapping), and the order of snapshot files
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
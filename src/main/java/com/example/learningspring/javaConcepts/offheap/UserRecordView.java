@@ -0,0 +1,81 @@
+package com.example.learningspring.javaConcepts.offheap;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A flyweight over one record of an {@link OffHeapUserStore}. It holds only a position, so one view can be
+ * moved over millions of records without allocating. Fields are read from the store's buffers on each call;
+ * only {@link #getName()} and {@link #getEmail()} allocate, to decode the String.
+ * <p>
+ * A view is valid until the record it points at is removed or replaced.
+ */
+public final class UserRecordView {
+
+    private OffHeapUserStore store;
+    private int base = -1;
+
+    UserRecordView() {
+    }
+
+    void moveTo(OffHeapUserStore store, int base) {
+        this.store = store;
+        this.base = base;
+    }
+
+    public int getId() {
+        checkPositioned();
+        return store.records.getInt(base + OffHeapUserStore.ID);
+    }
+
+    public String getName() {
+        checkPositioned();
+        return store.readString(base, OffHeapUserStore.NAME_OFFSET, OffHeapUserStore.NAME_LENGTH);
+    }
+
+    public String getEmail() {
+        checkPositioned();
+        return store.readString(base, OffHeapUserStore.EMAIL_OFFSET, OffHeapUserStore.EMAIL_LENGTH);
+    }
+
+    /**
+     * Compares the end of the email with a suffix, byte by byte in the buffer, without decoding the email.
+     *
+     * @param utf8Suffix The suffix, UTF-8 encoded once by the caller (e.g. "@gmail.com")
+     * @return true if the email ends with the suffix, false if it doesn't or is null
+     */
+    public boolean emailEndsWith(byte[] utf8Suffix) {
+        checkPositioned();
+        int length = Short.toUnsignedInt(store.records.getShort(base + OffHeapUserStore.EMAIL_LENGTH));
+        if (length == OffHeapUserStore.NULL_LENGTH || length < utf8Suffix.length) {
+            return false;
+        }
+        int start = store.records.getInt(base + OffHeapUserStore.EMAIL_OFFSET) + length - utf8Suffix.length;
+        for (int i = 0; i < utf8Suffix.length; i++) {
+            if (store.strings.get(start + i) != utf8Suffix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convenience for {@link #emailEndsWith(byte[])}. Encodes the suffix on every call.
+     *
+     * @param suffix The suffix
+     * @return true if the email ends with the suffix
+     */
+    public boolean emailEndsWith(String suffix) {
+        return emailEndsWith(suffix.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void checkPositioned() {
+        if (store == null) {
+            throw new IllegalStateException("View is not pointing at a record, call OffHeapUserStore.find() first");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return store == null ? "UserRecordView[]" : "UserRecordView[id=" + getId() + ", name=" + getName() + ", email=" + getEmail() + "]";
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over an array range which never splits below a minimum chunk size.
+ * The JDK's array spliterator splits down to single elements; for cheap per-element work
+ * the task overhead of tiny chunks costs more than the work itself.
+ *
+ * @param <T> The element type
+ */
+public class ChunkedArraySpliterator<T> implements Spliterator<T> {
+
+    private final T[] array;
+    private final int minChunkSize;
+    private int index;
+    private final int fence;
+
+    /**
+     * Creates a spliterator over array[from, to).
+     *
+     * @param array        The array
+     * @param from         First index (inclusive)
+     * @param to           Last index (exclusive)
+     * @param minChunkSize Ranges smaller than twice this size are not split further
+     */
+    public ChunkedArraySpliterator(T[] array, int from, int to, int minChunkSize) {
+        this.array = array;
+        this.index = from;
+        this.fence = to;
+        this.minChunkSize = Math.max(1, minChunkSize);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int low = index;
+        int mid = (low + fence) >>> 1;
+        if (mid - low < minChunkSize) {
+            return null;
+        }
+        index = mid;
+        return new ChunkedArraySpliterator<>(array, low, mid, minChunkSize);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index < fence) {
+            action.accept(array[index++]);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        T[] a = array;
+        int end = fence;
+        for (int i = index; i < end; i++) {
+            action.accept(a[i]);
+        }
+        index = end;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
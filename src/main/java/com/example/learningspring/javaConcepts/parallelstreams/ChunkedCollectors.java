@@ -0,0 +1,128 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Collectors for parallel streams which combine partial results in O(number of chunks) instead of copying elements.
+ * <p>
+ * {@code Collectors.toList()} merges two partial lists with addAll(), so in a parallel stream every element is
+ * copied once per level of the fork/join tree. These collectors keep the chunks each worker produced and
+ * only link them on combine; elements are copied once, at the end.
+ */
+public final class ChunkedCollectors {
+
+    private ChunkedCollectors() {
+    }
+
+    /**
+     * Collects into a list in encounter order.
+     *
+     * @param <T> The element type
+     * @return The collector
+     */
+    public static <T> Collector<T, ?, List<T>> toList() {
+        return toList(StreamOrder.ORDERED);
+    }
+
+    /**
+     * Collects into a list. With UNORDERED the stream doesn't have to keep the encounter order for this collector.
+     *
+     * @param order Whether the result must keep the encounter order
+     * @param <T>   The element type
+     * @return The collector
+     */
+    public static <T> Collector<T, ?, List<T>> toList(StreamOrder order) {
+        return new ChunkCollector<T, List<T>>(Integer.MAX_VALUE, order, Chunks::flatten);
+    }
+
+    /**
+     * Collects into chunks of at most chunkSize elements, e.g. for batch inserts. Chunks are filled per worker,
+     * so a chunk at a worker boundary may be smaller than chunkSize.
+     *
+     * @param chunkSize Maximum elements per chunk
+     * @param order     Whether the chunks must keep the encounter order
+     * @param <T>       The element type
+     * @return The collector
+     */
+    public static <T> Collector<T, ?, List<List<T>>> inChunks(int chunkSize, StreamOrder order) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1: " + chunkSize);
+        }
+        return new ChunkCollector<T, List<List<T>>>(chunkSize, order, Chunks::chunks);
+    }
+
+    /**
+     * The partial result of one worker: filled chunks plus the chunk being filled.
+     */
+    static final class Chunks<T> {
+        private final int chunkSize;
+        private final List<List<T>> chunks = new ArrayList<>();
+        private List<T> current;
+        private long size;
+
+        Chunks(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        void add(T element) {
+            if (current == null || current.size() >= chunkSize) {
+                current = new ArrayList<>(Math.min(chunkSize, 1024));
+                chunks.add(current);
+            }
+            current.add(element);
+            size++;
+        }
+
+        Chunks<T> append(Chunks<T> right) {
+            chunks.addAll(right.chunks);
+            // Continue filling the right side's last chunk
+            if (right.current != null) {
+                current = right.current;
+            }
+            size += right.size;
+            return this;
+        }
+
+        List<T> flatten() {
+            List<T> result = new ArrayList<>((int) Math.min(Integer.MAX_VALUE - 8, size));
+            chunks.forEach(result::addAll);
+            return result;
+        }
+
+        List<List<T>> chunks() {
+            return chunks;
+        }
+    }
+
+    private record ChunkCollector<T, R>(int chunkSize, StreamOrder order, Function<Chunks<T>, R> finisher)
+            implements Collector<T, Chunks<T>, R> {
+
+        @Override
+        public Supplier<Chunks<T>> supplier() {
+            return () -> new Chunks<>(chunkSize);
+        }
+
+        @Override
+        public BiConsumer<Chunks<T>, T> accumulator() {
+            return Chunks::add;
+        }
+
+        @Override
+        public BinaryOperator<Chunks<T>> combiner() {
+            return Chunks::append;
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            return order == StreamOrder.UNORDERED ? EnumSet.of(Characteristics.UNORDERED) : EnumSet.noneOf(Characteristics.class);
+        }
+    }
+}
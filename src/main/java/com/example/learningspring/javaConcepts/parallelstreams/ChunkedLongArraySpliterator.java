@@ -0,0 +1,70 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link ChunkedArraySpliterator} for long[], without boxing.
+ */
+public class ChunkedLongArraySpliterator implements Spliterator.OfLong {
+
+    private final long[] array;
+    private final int minChunkSize;
+    private int index;
+    private final int fence;
+
+    /**
+     * Creates a spliterator over array[from, to).
+     *
+     * @param array        The array
+     * @param from         First index (inclusive)
+     * @param to           Last index (exclusive)
+     * @param minChunkSize Ranges smaller than twice this size are not split further
+     */
+    public ChunkedLongArraySpliterator(long[] array, int from, int to, int minChunkSize) {
+        this.array = array;
+        this.index = from;
+        this.fence = to;
+        this.minChunkSize = Math.max(1, minChunkSize);
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        int low = index;
+        int mid = (low + fence) >>> 1;
+        if (mid - low < minChunkSize) {
+            return null;
+        }
+        index = mid;
+        return new ChunkedLongArraySpliterator(array, low, mid, minChunkSize);
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        if (index < fence) {
+            action.accept(array[index++]);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        long[] a = array;
+        int end = fence;
+        for (int i = index; i < end; i++) {
+            action.accept(a[i]);
+        }
+        index = end;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs parallel streams on a dedicated ForkJoinPool instead of the common pool.
+ * <p>
+ * A parallel stream forks its tasks into the pool of the thread which runs the terminal operation;
+ * outside a ForkJoinPool that is the JVM wide common pool, which is also used by CompletableFuture.*Async
+ * and every other parallel stream. Running the terminal operation inside this pool keeps bulk jobs
+ * from starving everything else, and sizes them independently.
+ */
+public class ParallelStreamExecutor implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an executor with its own pool.
+     *
+     * @param name        Prefix of the worker thread names
+     * @param parallelism Number of worker threads
+     */
+    public ParallelStreamExecutor(String name, int parallelism) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName(name + "-" + threadNumber.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Creates an executor using all cores but one, which stays free for request handling.
+     *
+     * @param name Prefix of the worker thread names
+     * @return The executor
+     */
+    public static ParallelStreamExecutor forBulkWork(String name) {
+        return new ParallelStreamExecutor(name, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Runs a stream pipeline, including its terminal operation, in this executor's pool and waits for the result.
+     *
+     * <pre>
+     * long sum = executor.execute(() -&gt; ParallelStreams.ofLongs(ids, 4096, StreamOrder.UNORDERED).map(this::score).sum());
+     * </pre>
+     *
+     * @param pipeline Builds the stream and runs its terminal operation
+     * @param <R>      The result type
+     * @return The result of the terminal operation
+     */
+    public <R> R execute(Supplier<R> pipeline) {
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            // Already on one of our workers, forking a new task and joining it would only add overhead
+            return pipeline.get();
+        }
+        return pool.invoke(ForkJoinTask.adapt(pipeline::get));
+    }
+
+    /**
+     * Runs a stream pipeline without result, e.g. one ending with forEach().
+     *
+     * @param pipeline Builds the stream and runs its terminal operation
+     */
+    public void run(Runnable pipeline) {
+        execute(() -> {
+            pipeline.run();
+            return null;
+        });
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Returns how many tasks were stolen by idle workers, a rough indicator of how well the work was balanced.
+     *
+     * @return The steal count
+     */
+    public long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    /**
+     * Shuts the pool down and waits up to 10 seconds for running pipelines.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
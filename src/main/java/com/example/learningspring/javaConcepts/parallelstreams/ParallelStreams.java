@@ -0,0 +1,78 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+import java.sql.ResultSet;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Factory methods for parallel streams over large arrays and JDBC result sets.
+ * Run the terminal operation with a {@link ParallelStreamExecutor} to keep the work off the common pool.
+ */
+public final class ParallelStreams {
+
+    /**
+     * Default minimum chunk size for arrays: below this, splitting costs more than it saves for cheap operations.
+     */
+    public static final int DEFAULT_MIN_CHUNK_SIZE = 4096;
+
+    private ParallelStreams() {
+    }
+
+    /**
+     * Creates a parallel stream over an array.
+     *
+     * @param array        The array
+     * @param minChunkSize Smallest range processed as one task
+     * @param order        Whether the stream keeps the array order
+     * @param <T>          The element type
+     * @return The parallel stream
+     */
+    public static <T> Stream<T> of(T[] array, int minChunkSize, StreamOrder order) {
+        Stream<T> stream = StreamSupport.stream(new ChunkedArraySpliterator<>(array, 0, array.length, minChunkSize), true);
+        return order == StreamOrder.UNORDERED ? stream.unordered() : stream;
+    }
+
+    /**
+     * Creates a parallel IntStream over an int array, without boxing.
+     *
+     * @param array        The array
+     * @param minChunkSize Smallest range processed as one task
+     * @param order        Whether the stream keeps the array order
+     * @return The parallel stream
+     */
+    public static IntStream ofInts(int[] array, int minChunkSize, StreamOrder order) {
+        IntStream stream = StreamSupport.intStream(new ChunkedIntArraySpliterator(array, 0, array.length, minChunkSize), true);
+        return order == StreamOrder.UNORDERED ? stream.unordered() : stream;
+    }
+
+    /**
+     * Creates a parallel LongStream over a long array, without boxing.
+     *
+     * @param array        The array
+     * @param minChunkSize Smallest range processed as one task
+     * @param order        Whether the stream keeps the array order
+     * @return The parallel stream
+     */
+    public static LongStream ofLongs(long[] array, int minChunkSize, StreamOrder order) {
+        LongStream stream = StreamSupport.longStream(new ChunkedLongArraySpliterator(array, 0, array.length, minChunkSize), true);
+        return order == StreamOrder.UNORDERED ? stream.unordered() : stream;
+    }
+
+    /**
+     * Creates a parallel stream over the rows of a result set. Rows are read in batches of up to 1024 rows
+     * by one thread at a time; the stream operations after the mapping run in parallel.
+     * The caller stays responsible for closing the result set.
+     *
+     * @param resultSet The result set, positioned before the first row
+     * @param rowMapper Maps one row
+     * @param order     Whether the stream keeps the row order
+     * @param <T>       The row type
+     * @return The parallel stream
+     */
+    public static <T> Stream<T> ofResultSet(ResultSet resultSet, ResultSetRowMapper<T> rowMapper, StreamOrder order) {
+        Stream<T> stream = StreamSupport.stream(new ResultSetSpliterator<>(resultSet, rowMapper, 128, 1024), true);
+        return order == StreamOrder.UNORDERED ? stream.unordered() : stream;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * This class demonstrates running parallel streams on a dedicated ForkJoinPool.
+ */
+public class ParallelStreamsDemo {
+
+    /**
+     * Demonstrates the dedicated pool, chunked spliterators, ordered vs unordered streams and chunked collectors.
+     */
+    public static void demonstrateParallelStreams() {
+        long[] ids = LongStream.rangeClosed(1, 5_000_000).toArray();
+
+        try (ParallelStreamExecutor executor = new ParallelStreamExecutor("Bulk", 4)) {
+            System.out.println("1. Where do the tasks run?");
+            Set<String> commonPoolThreads = ConcurrentHashMap.newKeySet();
+            LongStream.of(ids).parallel().forEach(id -> commonPoolThreads.add(threadGroup(Thread.currentThread().getName())));
+            System.out.println(".parallel() from the caller: " + commonPoolThreads);
+
+            Set<String> dedicatedThreads = ConcurrentHashMap.newKeySet();
+            executor.run(() -> ParallelStreams.ofLongs(ids, ParallelStreams.DEFAULT_MIN_CHUNK_SIZE, StreamOrder.UNORDERED)
+                    .forEach(id -> dedicatedThreads.add(threadGroup(Thread.currentThread().getName()))));
+            System.out.println("Inside ParallelStreamExecutor: " + dedicatedThreads);
+
+            System.out.println("\n2. Chunked array spliterator, no boxing:");
+            long start = System.nanoTime();
+            long checksum = executor.execute(() -> ParallelStreams.ofLongs(ids, 16_384, StreamOrder.UNORDERED)
+                    .map(ParallelStreamsDemo::mix)
+                    .sum());
+            System.out.println("Checksum " + checksum + " in " + elapsedMillis(start) + "ms, steals: " + executor.getStealCount());
+
+            System.out.println("\n3. Ordered vs unordered:");
+            start = System.nanoTime();
+            List<Long> firstOrdered = executor.execute(() -> ParallelStreams.ofLongs(ids, 4096, StreamOrder.ORDERED)
+                    .filter(id -> mix(id) % 1000 == 0).limit(5).boxed().toList());
+            System.out.println("ORDERED limit(5): " + firstOrdered + " in " + elapsedMillis(start) + "ms");
+            start = System.nanoTime();
+            List<Long> anyUnordered = executor.execute(() -> ParallelStreams.ofLongs(ids, 4096, StreamOrder.UNORDERED)
+                    .filter(id -> mix(id) % 1000 == 0).limit(5).boxed().toList());
+            System.out.println("UNORDERED limit(5): " + anyUnordered + " in " + elapsedMillis(start)
+                    + "ms (any 5 matches, no need to wait for the first ones)");
+
+            System.out.println("\n4. Chunked collectors:");
+            Integer[] values = IntStream.range(0, 1_000_000).boxed().toArray(Integer[]::new);
+            start = System.nanoTime();
+            List<Integer> collected = executor.execute(() -> ParallelStreams.of(values, 4096, StreamOrder.ORDERED)
+                    .map(v -> v * 2).collect(Collectors.toList()));
+            System.out.println("Collectors.toList(): " + collected.size() + " elements in " + elapsedMillis(start) + "ms");
+            start = System.nanoTime();
+            List<Integer> chunked = executor.execute(() -> ParallelStreams.of(values, 4096, StreamOrder.ORDERED)
+                    .map(v -> v * 2).collect(ChunkedCollectors.toList()));
+            System.out.println("ChunkedCollectors.toList(): " + chunked.size() + " elements in " + elapsedMillis(start)
+                    + "ms, same order: " + chunked.equals(collected));
+            List<List<Integer>> batches = executor.execute(() -> ParallelStreams.of(values, 4096, StreamOrder.UNORDERED)
+                    .collect(ChunkedCollectors.inChunks(1000, StreamOrder.UNORDERED)));
+            System.out.println("inChunks(1000): " + batches.size() + " batches, e.g. one batch insert each");
+        }
+    }
+
+    // Some CPU work per element
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return h & Long.MAX_VALUE;
+    }
+
+    // "ForkJoinPool.commonPool-worker-3" -> "ForkJoinPool.commonPool-worker", "Bulk-2" -> "Bulk"
+    private static String threadGroup(String threadName) {
+        int dash = threadName.lastIndexOf('-');
+        return dash > 0 && threadName.substring(dash + 1).chars().allMatch(Character::isDigit)
+                ? threadName.substring(0, dash) : threadName;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+/**
+ * Test class for ParallelStreamsDemo functionality.
+ */
+public class ParallelStreamsDemoTest {
+
+    /**
+     * Main method to test the ParallelStreamsDemo functionality.
+     *
+     * @param args Command line arguments
+     */
+    public static void main(String[] args) {
+        System.out.println("Testing Parallel Streams:");
+        System.out.println("=========================");
+
+        // Test the parallel streams functionality
+        ParallelStreamsDemo.demonstrateParallelStreams();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a ResultSet, like Spring's RowMapper but without the row number.
+ *
+ * @param <T> The row type
+ */
+@FunctionalInterface
+public interface ResultSetRowMapper<T> {
+
+    /**
+     * Maps the row the ResultSet is positioned on. Must not move the cursor.
+     *
+     * @param resultSet The result set
+     * @return The mapped row
+     * @throws SQLException if a column can't be read
+     */
+    T mapRow(ResultSet resultSet) throws SQLException;
+}
@@ -0,0 +1,97 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the rows of a JDBC ResultSet, for parallel processing of large query results.
+ * <p>
+ * A cursor can only be read by one thread at a time, so splitting reads the next batch of rows
+ * (mapped to objects) into an array and hands that array to another worker. Reading stays sequential,
+ * the work done per row by the stream runs in parallel. Batches grow up to maxBatchSize, so small results
+ * are not split into many tiny tasks.
+ *
+ * @param <T> The row type
+ */
+public class ResultSetSpliterator<T> implements Spliterator<T> {
+
+    private final ResultSet resultSet;
+    private final ResultSetRowMapper<T> rowMapper;
+    private final int initialBatchSize;
+    private final int maxBatchSize;
+    private int batchSize;
+    private boolean exhausted;
+
+    /**
+     * Creates a spliterator. It doesn't close the ResultSet.
+     *
+     * @param resultSet        The result set, positioned before the first row
+     * @param rowMapper        Maps one row
+     * @param initialBatchSize Rows in the first split-off batch
+     * @param maxBatchSize     Maximum rows per split-off batch
+     */
+    public ResultSetSpliterator(ResultSet resultSet, ResultSetRowMapper<T> rowMapper, int initialBatchSize, int maxBatchSize) {
+        this.resultSet = resultSet;
+        this.rowMapper = rowMapper;
+        this.initialBatchSize = Math.max(1, initialBatchSize);
+        this.maxBatchSize = Math.max(this.initialBatchSize, maxBatchSize);
+        this.batchSize = this.initialBatchSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        T row = nextRow();
+        if (row == null && exhausted) {
+            return false;
+        }
+        action.accept(row);
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (exhausted) {
+            return null;
+        }
+        Object[] batch = new Object[batchSize];
+        int count = 0;
+        while (count < batch.length) {
+            T row = nextRow();
+            if (row == null && exhausted) {
+                break;
+            }
+            batch[count++] = row;
+        }
+        if (count == 0) {
+            return null;
+        }
+        // Grow linearly like the JDK's iterator spliterator
+        batchSize = Math.min(maxBatchSize, batchSize + initialBatchSize);
+        return Spliterators.spliterator(batch, 0, count, ORDERED);
+    }
+
+    private T nextRow() {
+        try {
+            if (!exhausted && resultSet.next()) {
+                return rowMapper.mapRow(resultSet);
+            }
+            exhausted = true;
+            return null;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Reading the result set failed", e);
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+}
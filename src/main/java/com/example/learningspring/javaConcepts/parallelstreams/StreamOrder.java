@@ -0,0 +1,16 @@
+package com.example.learningspring.javaConcepts.parallelstreams;
+
+/**
+ * Whether a parallel stream has to keep the encounter order of its source.
+ */
+public enum StreamOrder {
+    /**
+     * Results keep the source order. limit(), skip(), findFirst() and forEachOrdered() must coordinate
+     * between threads, which costs buffering and waiting.
+     */
+    ORDERED,
+    /**
+     * Any order is fine. limit(), findAny(), distinct() and collecting can take whatever thread finishes first.
+     */
+    UNORDERED
+}
@@ -0,0 +1,195 @@
+package com.example.learningspring.javaConcepts.primitives;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A set of ints with open addressing (linear probing) in a single int[].
+ * <p>
+ * A {@code HashSet<Integer>} is a HashMap underneath: an Integer and a Node per element. Here an element
+ * is 4 bytes in an array. 0 marks an empty slot, so the key 0 itself is tracked by a separate flag.
+ */
+public class IntHashSet {
+
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+    private int mask;
+    private int resizeAt;
+    private int assigned;
+    private boolean containsZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    /**
+     * Creates a set which holds expectedSize elements without resizing.
+     *
+     * @param expectedSize The expected number of elements
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(PrimitiveHashing.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value
+     * @return false if it was already present
+     */
+    public boolean add(int value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            return true;
+        }
+        int index = PrimitiveHashing.slot(value, mask);
+        int existing;
+        while ((existing = keys[index]) != EMPTY) {
+            if (existing == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = value;
+        if (++assigned > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int index = PrimitiveHashing.slot(value, mask);
+        int existing;
+        while ((existing = keys[index]) != EMPTY) {
+            if (existing == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a value. Later entries of the probe sequence are shifted back, so no tombstones are needed.
+     *
+     * @param value The value
+     * @return false if it was not present
+     */
+    public boolean remove(int value) {
+        if (value == EMPTY) {
+            boolean removed = containsZero;
+            containsZero = false;
+            return removed;
+        }
+        int index = PrimitiveHashing.slot(value, mask);
+        int existing;
+        while ((existing = keys[index]) != EMPTY) {
+            if (existing == value) {
+                shiftBack(index);
+                assigned--;
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return assigned + (containsZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        assigned = 0;
+        containsZero = false;
+    }
+
+    /**
+     * Calls the action for every element, in table order.
+     *
+     * @param action Receives the elements
+     */
+    public void forEach(IntConsumer action) {
+        if (containsZero) {
+            action.accept(EMPTY);
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the elements, in table order.
+     *
+     * @return A new array with the elements
+     */
+    public int[] toArray() {
+        int[] result = new int[size()];
+        int n = 0;
+        if (containsZero) {
+            result[n++] = EMPTY;
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    public IntStream stream() {
+        return IntStream.of(toArray());
+    }
+
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = PrimitiveHashing.slot(key, mask);
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = key;
+                gap = index;
+            }
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        allocate(newCapacity);
+        for (int key : oldKeys) {
+            if (key != EMPTY) {
+                int index = PrimitiveHashing.slot(key, mask);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+            }
+        }
+    }
+}
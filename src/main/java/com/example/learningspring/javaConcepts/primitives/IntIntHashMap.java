@@ -0,0 +1,185 @@
+package com.example.learningspring.javaConcepts.primitives;
+
+import java.util.Arrays;
+
+/**
+ * A map from int keys to int values, with open addressing (linear probing) over two parallel int arrays.
+ * <p>
+ * Used as an index (e.g. id to slot number), where {@code HashMap<Integer, Integer>} would allocate two boxes
+ * and a Node per entry. 0 marks an empty key slot, so the key 0 itself is stored in separate fields.
+ */
+public class IntIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int resizeAt;
+    private int assigned;
+    private boolean containsZero;
+    private int zeroValue;
+
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Creates a map which holds expectedSize entries without resizing.
+     *
+     * @param expectedSize The expected number of entries
+     */
+    public IntIntHashMap(int expectedSize) {
+        allocate(PrimitiveHashing.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    /**
+     * Returns the value for a key.
+     *
+     * @param key          The key
+     * @param defaultValue Returned if the key is not present
+     * @return The value, or defaultValue
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == EMPTY) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        int index = PrimitiveHashing.slot(key, mask);
+        int existing;
+        while ((existing = keys[index]) != EMPTY) {
+            if (existing == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        int index = PrimitiveHashing.slot(key, mask);
+        int existing;
+        while ((existing = keys[index]) != EMPTY) {
+            if (existing == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key   The key
+     * @param value The value
+     * @return false if the key was already present (its value is replaced)
+     */
+    public boolean put(int key, int value) {
+        if (key == EMPTY) {
+            boolean added = !containsZero;
+            containsZero = true;
+            zeroValue = value;
+            return added;
+        }
+        int index = PrimitiveHashing.slot(key, mask);
+        int existing;
+        while ((existing = keys[index]) != EMPTY) {
+            if (existing == key) {
+                values[index] = value;
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++assigned > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a key. Later entries of the probe sequence are shifted back, so no tombstones are needed.
+     *
+     * @param key The key
+     * @return false if the key was not present
+     */
+    public boolean remove(int key) {
+        if (key == EMPTY) {
+            boolean removed = containsZero;
+            containsZero = false;
+            return removed;
+        }
+        int index = PrimitiveHashing.slot(key, mask);
+        int existing;
+        while ((existing = keys[index]) != EMPTY) {
+            if (existing == key) {
+                shiftBack(index);
+                assigned--;
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return assigned + (containsZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        assigned = 0;
+        containsZero = false;
+    }
+
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = PrimitiveHashing.slot(key, mask);
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != EMPTY) {
+                int index = PrimitiveHashing.slot(key, mask);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
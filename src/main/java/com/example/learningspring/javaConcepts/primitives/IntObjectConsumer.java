@@ -0,0 +1,18 @@
+package com.example.learningspring.javaConcepts.primitives;
+
+/**
+ * Receives the entries of an {@link IntObjectHashMap} without boxing the key.
+ *
+ * @param <V> The value type
+ */
+@FunctionalInterface
+public interface IntObjectConsumer<V> {
+
+    /**
+     * Receives one entry.
+     *
+     * @param key   The key
+     * @param value The value
+     */
+    void accept(int key, V value);
+}
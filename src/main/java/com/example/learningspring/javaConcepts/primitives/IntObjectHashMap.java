@@ -0,0 +1,210 @@
+package com.example.learningspring.javaConcepts.primitives;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * A map from int keys to objects, with open addressing (linear probing) over two parallel arrays.
+ * <p>
+ * A {@code HashMap<Integer, V>} allocates an Integer key (for values above 127) and a Node per entry, about
+ * 48 bytes on top of the value. This map stores keys in an int[] and values in an Object[]: no allocation per
+ * entry, and lookups read adjacent array slots instead of following pointers. Null values are not allowed;
+ * an empty value slot marks an empty bucket.
+ *
+ * @param <V> The value type
+ */
+public class IntObjectHashMap<V> {
+
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    public IntObjectHashMap() {
+        this(16);
+    }
+
+    /**
+     * Creates a map which holds expectedSize entries without resizing.
+     *
+     * @param expectedSize The expected number of entries
+     */
+    public IntObjectHashMap(int expectedSize) {
+        allocate(PrimitiveHashing.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    /**
+     * Returns the value for a key.
+     *
+     * @param key The key
+     * @return The value, or null if the key is not present
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = PrimitiveHashing.slot(key, mask);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key   The key
+     * @param value The value, must not be null
+     * @return The previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "IntObjectHashMap does not support null values");
+        int index = PrimitiveHashing.slot(key, mask);
+        Object existing;
+        while ((existing = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value for a key, creating and storing it first if the key is not present.
+     *
+     * @param key             The key
+     * @param mappingFunction Creates the value, must not return null
+     * @return The existing or new value
+     */
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes a key. Later entries of the probe sequence are shifted back, so no tombstones are needed.
+     *
+     * @param key The key
+     * @return The removed value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int index = PrimitiveHashing.slot(key, mask);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                shiftBack(index);
+                size--;
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Calls the action for every entry, in table order.
+     *
+     * @param action Receives key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjectConsumer<? super V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns all keys, in table order.
+     *
+     * @return A new array with the keys
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result[n++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            if (values[index] == null) {
+                break;
+            }
+            int home = PrimitiveHashing.slot(keys[index], mask);
+            // The entry may move into the gap only if the gap lies between its home slot and its current slot
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = PrimitiveHashing.slot(oldKeys[i], mask);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.learningspring.javaConcepts.primitives;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * A growable long[], for id lists where {@code List<Long>} would allocate a Long per element
+ * (16 bytes plus a 4-8 byte reference, instead of 8 bytes).
+ */
+public class LongArrayList {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] elements;
+    private int size;
+
+    public LongArrayList() {
+        this.elements = EMPTY;
+    }
+
+    /**
+     * Creates a list with room for initialCapacity elements.
+     *
+     * @param initialCapacity The initial capacity
+     */
+    public LongArrayList(int initialCapacity) {
+        this.elements = initialCapacity == 0 ? EMPTY : new long[initialCapacity];
+    }
+
+    /**
+     * Creates a list containing a copy of the values.
+     *
+     * @param values The values
+     * @return The list
+     */
+    public static LongArrayList of(long... values) {
+        LongArrayList list = new LongArrayList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    public void add(long value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    public void addAll(long... values) {
+        if (size + values.length > elements.length) {
+            grow(size + values.length);
+        }
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public void set(int index, long value) {
+        checkIndex(index);
+        elements[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sorts the elements and removes duplicates, in place.
+     *
+     * @return This list
+     */
+    public LongArrayList sortDistinct() {
+        Arrays.sort(elements, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || elements[i] != elements[unique - 1]) {
+                elements[unique++] = elements[i];
+            }
+        }
+        size = unique;
+        return this;
+    }
+
+    /**
+     * Hands the elements to the action in arrays of at most batchSize elements, e.g. one IN (...) query per batch.
+     *
+     * @param batchSize Maximum elements per batch
+     * @param action    Receives each batch (a new array)
+     */
+    public void forEachBatch(int batchSize, Consumer<long[]> action) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1: " + batchSize);
+        }
+        for (int from = 0; from < size; from += batchSize) {
+            action.accept(Arrays.copyOfRange(elements, from, Math.min(size, from + batchSize)));
+        }
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, elements.length + (elements.length >> 1) + 8);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            builder.append(i == 0 ? "" : ", ").append(elements[i]);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.learningspring.javaConcepts.primitives;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * This class demonstrates primitive collections and primitive streams next to their boxed equivalents.
+ */
+public class PrimitiveCollectionsDemo {
+
+    private static final int SIZE = 1_000_000;
+
+    /**
+     * Demonstrates the allocation of boxed vs primitive maps, sets, lists and aggregations.
+     */
+    public static void demonstratePrimitiveCollections() {
+        int[] ids = IntStream.range(0, SIZE).map(i -> 1_000 + i * 7).toArray();
+
+        System.out.println("1. int -> object map:");
+        compare("HashMap<Integer, String>", () -> {
+            Map<Integer, String> map = new HashMap<>();
+            for (int id : ids) {
+                map.put(id, "user");
+            }
+            return map.size();
+        }, "IntObjectHashMap<String>", () -> {
+            IntObjectHashMap<String> map = new IntObjectHashMap<>();
+            for (int id : ids) {
+                map.put(id, "user");
+            }
+            return map.size();
+        });
+
+        System.out.println("\n2. int set:");
+        compare("HashSet<Integer>", () -> {
+            Set<Integer> set = new HashSet<>();
+            for (int id : ids) {
+                set.add(id);
+            }
+            return set.size();
+        }, "IntHashSet", () -> {
+            IntHashSet set = new IntHashSet();
+            for (int id : ids) {
+                set.add(id);
+            }
+            return set.size();
+        });
+
+        System.out.println("\n3. Growable long list:");
+        compare("ArrayList<Long>", () -> {
+            List<Long> list = new ArrayList<>();
+            for (int id : ids) {
+                list.add(id * 1_000_003L);
+            }
+            return list.size();
+        }, "LongArrayList", () -> {
+            LongArrayList list = new LongArrayList();
+            for (int id : ids) {
+                list.add(id * 1_000_003L);
+            }
+            return list.size();
+        });
+
+        System.out.println("\n4. Sum:");
+        compare("Stream<Integer>.reduce(0, Integer::sum)", () -> Stream.iterate(0, i -> i < SIZE, i -> i + 1).reduce(0, Integer::sum),
+                "IntStream.sum()", () -> IntStream.range(0, SIZE).sum());
+
+        System.out.println("\n5. Distinct ids, first occurrence order:");
+        int[] withDuplicates = {5, 3, 5, 0, 3, 9, 0};
+        System.out.print("PrimitiveStreams.distinct: ");
+        PrimitiveStreams.distinct(withDuplicates).forEach(id -> System.out.print(id + " "));
+        System.out.println();
+
+        System.out.println("\n6. Payment id batches:");
+        LongArrayList paymentIds = LongArrayList.of(42, 7, 42, 13, 7, 99, 1);
+        paymentIds.sortDistinct().forEachBatch(2, batch -> System.out.println("Batch: " + Arrays.toString(batch)));
+    }
+
+    private static void compare(String boxedName, LongSupplier boxed, String primitiveName, LongSupplier primitive) {
+        // Run both once so the comparison isn't mostly class loading and interpretation
+        boxed.getAsLong();
+        primitive.getAsLong();
+        measure(boxedName, boxed);
+        measure(primitiveName, primitive);
+    }
+
+    private static void measure(String name, LongSupplier work) {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long result = work.getAsLong();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long allocatedMb = (allocatedBytes() - allocatedBefore) / (1024 * 1024);
+        System.out.println(String.format("%-40s result %-12d %4dms %5d MB allocated", name, result, elapsedMillis, allocatedMb));
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean sunBean) {
+            return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
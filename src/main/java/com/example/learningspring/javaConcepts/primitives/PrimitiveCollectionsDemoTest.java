@@ -0,0 +1,20 @@
+package com.example.learningspring.javaConcepts.primitives;
+
+/**
+ * Test class for PrimitiveCollectionsDemo functionality.
+ */
+public class PrimitiveCollectionsDemoTest {
+
+    /**
+     * Main method to test the PrimitiveCollectionsDemo functionality.
+     *
+     * @param args Command line arguments
+     */
+    public static void main(String[] args) {
+        System.out.println("Testing Primitive Collections:");
+        System.out.println("==============================");
+
+        // Test the primitive collections functionality
+        PrimitiveCollectionsDemo.demonstratePrimitiveCollections();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.learningspring.javaConcepts.primitives;
+
+/**
+ * Hashing helpers shared by the open addressing collections.
+ */
+final class PrimitiveHashing {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private PrimitiveHashing() {
+    }
+
+    /**
+     * Spreads the key over the table (Fibonacci hashing), so sequential ids don't form long probe runs.
+     *
+     * @param key  The key
+     * @param mask Table size - 1
+     * @return The home slot of the key
+     */
+    static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the power of two table size which holds expectedSize entries below the load factor.
+     *
+     * @param expectedSize The expected number of entries
+     * @param loadFactor   The maximum fill ratio
+     * @return The table size
+     */
+    static int tableSize(int expectedSize, float loadFactor) {
+        long needed = (long) Math.ceil(Math.max(4, expectedSize) / (double) loadFactor);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many entries: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.learningspring.javaConcepts.primitives;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Aggregation helpers which stay on primitives. {@code Stream.of(1, 2, 3).reduce(0, Integer::sum)} boxes every
+ * element and every intermediate sum; {@code IntStream.of(1, 2, 3).sum()} boxes nothing.
+ */
+public final class PrimitiveStreams {
+
+    private PrimitiveStreams() {
+    }
+
+    /**
+     * Sums an int field of all items without boxing, e.g. quantities of order lines.
+     *
+     * @param items     The items
+     * @param extractor Reads the field
+     * @param <T>       The item type
+     * @return The sum, as long so it doesn't overflow
+     */
+    public static <T> long sumInt(Collection<T> items, ToIntFunction<? super T> extractor) {
+        long sum = 0;
+        for (T item : items) {
+            sum += extractor.applyAsInt(item);
+        }
+        return sum;
+    }
+
+    /**
+     * Sums a long field of all items without boxing, e.g. amounts in cents.
+     *
+     * @param items     The items
+     * @param extractor Reads the field
+     * @param <T>       The item type
+     * @return The sum
+     */
+    public static <T> long sumLong(Collection<T> items, ToLongFunction<? super T> extractor) {
+        long sum = 0;
+        for (T item : items) {
+            sum += extractor.applyAsLong(item);
+        }
+        return sum;
+    }
+
+    /**
+     * Extracts an int field, e.g. the ids of a list of users.
+     *
+     * @param items     The items
+     * @param extractor Reads the field
+     * @param <T>       The item type
+     * @return The values, in iteration order
+     */
+    public static <T> int[] toIntArray(Collection<T> items, ToIntFunction<? super T> extractor) {
+        int[] result = new int[items.size()];
+        int i = 0;
+        for (T item : items) {
+            result[i++] = extractor.applyAsInt(item);
+        }
+        return result;
+    }
+
+    /**
+     * Extracts a long field, e.g. the ids of a list of payments.
+     *
+     * @param items     The items
+     * @param extractor Reads the field
+     * @param <T>       The item type
+     * @return The values, in iteration order
+     */
+    public static <T> long[] toLongArray(Collection<T> items, ToLongFunction<? super T> extractor) {
+        long[] result = new long[items.size()];
+        int i = 0;
+        for (T item : items) {
+            result[i++] = extractor.applyAsLong(item);
+        }
+        return result;
+    }
+
+    /**
+     * Removes duplicates, keeping the first occurrence of each value in order.
+     * {@code IntStream.distinct()} boxes every element into a HashSet internally; this uses an {@link IntHashSet}.
+     *
+     * @param values The values
+     * @return The distinct values
+     */
+    public static IntStream distinct(int[] values) {
+        IntHashSet seen = new IntHashSet(values.length);
+        int[] result = new int[values.length];
+        int n = 0;
+        for (int value : values) {
+            if (seen.add(value)) {
+                result[n++] = value;
+            }
+        }
+        return Arrays.stream(result, 0, n);
+    }
+
+    /**
+     * Sorts and removes duplicates, without boxing.
+     *
+     * @param values The values, not modified
+     * @return The distinct values in ascending order
+     */
+    public static LongStream sortedDistinct(long[] values) {
+        return LongArrayList.of(values).sortDistinct().stream();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.learningspring.javaConcepts.records;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
 /**
  * Test class for JavaRecords functionality.
  */
@@ -9,8 +12,9 @@ public class JavaRecordsTest {
      * Main method to test the JavaRecords functionality.
      * 
      * @param args Command line arguments
+     * @throws Exception if the record cannot be serialized or deserialized
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         // Create a sample record
         JavaRecords.RateCardLineItemPortingMessage message = JavaRecords.createSampleMessage();
         
@@ -44,6 +48,8 @@ public class JavaRecordsTest {
         //Send message
 
         //On receiver side, deserialization
-        /RateCardLineItemPortingMessage rateCardLineItemPortingMessage = JsonUtils.fromJson(data, RateCardLineItemPortingMessage.class);
+        JavaRecords.RateCardLineItemPortingMessage rateCardLineItemPortingMessage =
+            mapper.readValue(data, JavaRecords.RateCardLineItemPortingMessage.class);
+        System.out.println("Deserialized record is equal: " + message.equals(rateCardLineItemPortingMessage));
     }
 }
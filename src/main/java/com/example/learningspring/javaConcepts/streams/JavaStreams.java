@@ -1,7 +1,11 @@
 package com.example.learningspring.javaConcepts.streams;
 
+import com.example.learningspring.javaConcepts.parallelstreams.ParallelStreamExecutor;
+
 import java.util.Arrays;
 import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 /**
@@ -52,5 +56,19 @@ public class JavaStreams {
         int sum = Stream.of(1, 2, 3, 4, 5)
                 .reduce(0, Integer::sum);
         System.out.println("Sum of 1 to 5: " + sum);
+        
+        // The same sum on a primitive stream: no Integer per element or per intermediate sum
+        int primitiveSum = IntStream.rangeClosed(1, 5).sum();
+        System.out.println("Sum of 1 to 5 with IntStream: " + primitiveSum);
+        
+        // Parallel stream on a dedicated pool instead of the JVM wide common pool
+        System.out.println("\nParallel stream on a dedicated ForkJoinPool:");
+        try (ParallelStreamExecutor executor = new ParallelStreamExecutor("Streams", 2)) {
+            long sumOfSquares = executor.execute(() -> LongStream.rangeClosed(1, 1_000_000)
+                    .parallel()
+                    .map(n -> n * n)
+                    .sum());
+            System.out.println("Sum of squares of 1 to 1,000,000: " + sumOfSquares);
+        }
     }
 }
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.beans.PropertyEditorSupport;
+import java.util.List;
 
 @RestController
 @RequestMapping("/payments")
@@ -51,10 +52,21 @@ public class PaymentController {
         //Convert to payment request DTO and send to payment service
         PaymentRequest paymentRequest = new PaymentRequest();
         paymentRequest.setId(id);
+        paymentRequest.setAccountName(accountName != null ? accountName : user.getUserName());
 
         //Pass request DTO to further layer for processing
         PaymentResponse paymentResponse = paymentService.getPaymentById(paymentRequest);
         //return repsonse DTO
         return ResponseEntity.status(HttpStatus.OK).body(paymentResponse);
     }
+
+    /*
+    curl --location --request GET 'http://localhost:8080/payments/batch?ids=3,1,2,3'
+     */
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<PaymentResponse>> getPaymentsByIds(@RequestParam(value = "ids") long[] ids) {
+        //Duplicate ids are returned once, ordered by id
+        return ResponseEntity.status(HttpStatus.OK).body(paymentService.getPaymentsByIds(ids));
+    }
 }
@@ -3,6 +3,7 @@ package com.example.learningspring.layeredArchitecture.dto;
 
 public class PaymentRequest {
     Long id;
+    String accountName;
 
     public Long getId() {
         return id;
@@ -11,4 +12,12 @@ public class PaymentRequest {
     public void setId(Long id) {
         this.id = id;
     }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public void setAccountName(String accountName) {
+        this.accountName = accountName;
+    }
 }
@@ -1,7 +1,17 @@
 package com.example.learningspring.layeredArchitecture.dto;
 
 public class PaymentResponse {
+    long id;
     String paymentStatus;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
     public String getPaymentStatus() {
         return paymentStatus;
     }
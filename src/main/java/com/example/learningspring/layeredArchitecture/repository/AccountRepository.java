@@ -0,0 +1,31 @@
+package com.example.learningspring.layeredArchitecture.repository;
+
+import com.example.learningspring.layeredArchitecture.entity.User;
+import com.example.learningspring.snapshot.LookupTables;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class AccountRepository {
+    @Autowired
+    LookupTables lookupTables;
+
+    public User getAccount(String userName) {
+        //Served from the lookup table once loaded, like payments
+        User account = lookupTables.getAccount(userName);
+        if (account == null) {
+            account = loadAccount(userName);
+            if (account != null) {
+                lookupTables.cacheAccount(account);
+            }
+        }
+        return account;
+    }
+
+    private User loadAccount(String userName) {
+        //Call to DB and return the account
+        User account = new User();
+        account.setUserName(userName);
+        return account;
+    }
+}
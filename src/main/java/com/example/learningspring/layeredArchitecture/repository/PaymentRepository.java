@@ -2,15 +2,49 @@ package com.example.learningspring.layeredArchitecture.repository;
 
 import com.example.learningspring.layeredArchitecture.dto.PaymentRequest;
 import com.example.learningspring.layeredArchitecture.entity.PaymentEntity;
+import com.example.learningspring.snapshot.LookupTables;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Repository
 public class PaymentRepository {
+    @Autowired
+    LookupTables lookupTables;
+
     public PaymentEntity getPaymentById(PaymentRequest paymentRequest) {
+        //Served from the lookup table once loaded. The table survives restarts through the snapshot file
+        PaymentEntity payment = lookupTables.getPayment(paymentRequest.getId());
+        if (payment == null) {
+            payment = loadPayment(paymentRequest.getId());
+            //Only payments the database knows, the table is bounded
+            if (payment != null) {
+                lookupTables.cachePayment(payment);
+            }
+        }
+        return payment;
+    }
+
+    private PaymentEntity loadPayment(Long id) {
         //Call to DB and return payment entity
         PaymentEntity paymentModel = new PaymentEntity();
-        paymentModel.setId(paymentRequest.getId());
+        paymentModel.setId(id);
         paymentModel.setPaymentStatus("Done");
         return paymentModel;
     }
+
+    //One round trip per batch of ids (SELECT ... WHERE id IN (...)) instead of one per id
+    public List<PaymentEntity> getPaymentsByIds(long[] ids) {
+        //Call to DB and return payment entities
+        List<PaymentEntity> payments = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            PaymentEntity paymentModel = new PaymentEntity();
+            paymentModel.setId(id);
+            paymentModel.setPaymentStatus("Done");
+            payments.add(paymentModel);
+        }
+        return payments;
+    }
 }
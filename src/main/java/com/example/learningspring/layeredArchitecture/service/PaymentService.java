@@ -1,23 +1,56 @@
 package com.example.learningspring.layeredArchitecture.service;
 
+import com.example.learningspring.javaConcepts.primitives.LongArrayList;
 import com.example.learningspring.layeredArchitecture.dto.PaymentRequest;
 import com.example.learningspring.layeredArchitecture.dto.PaymentResponse;
 import com.example.learningspring.layeredArchitecture.entity.PaymentEntity;
+import com.example.learningspring.layeredArchitecture.repository.AccountRepository;
 import com.example.learningspring.layeredArchitecture.repository.PaymentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class PaymentService {
+    private static final int BATCH_SIZE = 500;
+
     @Autowired
     PaymentRepository paymentRepository;
 
+    @Autowired
+    AccountRepository accountRepository;
+
     public PaymentResponse getPaymentById(PaymentRequest paymentRequest) {
+        //The account asking for the payment must exist
+        if (paymentRequest.getAccountName() != null && accountRepository.getAccount(paymentRequest.getAccountName()) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown account " + paymentRequest.getAccountName());
+        }
         PaymentEntity paymentModel = paymentRepository.getPaymentById(paymentRequest);
 
         //Convert PaymentEntity to PaymentResponse
         PaymentResponse paymentResponse = new PaymentResponse();
+        paymentResponse.setId(paymentModel.getId());
         paymentResponse.setPaymentStatus(paymentModel.getPaymentStatus());
         return paymentResponse;
     }
+
+    //Ordered by id, each response carries its id: no Long key per payment as in a Map<Long, PaymentResponse>
+    public List<PaymentResponse> getPaymentsByIds(long[] ids) {
+        //Ids stay in a long[] (no Long per id) while they are de-duplicated and split into batches
+        LongArrayList distinctIds = LongArrayList.of(ids).sortDistinct();
+        List<PaymentResponse> paymentResponses = new ArrayList<>(distinctIds.size());
+        distinctIds.forEachBatch(BATCH_SIZE, batch -> {
+            for (PaymentEntity paymentModel : paymentRepository.getPaymentsByIds(batch)) {
+                PaymentResponse paymentResponse = new PaymentResponse();
+                paymentResponse.setId(paymentModel.getId());
+                paymentResponse.setPaymentStatus(paymentModel.getPaymentStatus());
+                paymentResponses.add(paymentResponse);
+            }
+        });
+        return paymentResponses;
+    }
 }
@@ -0,0 +1,129 @@
+package com.example.learningspring.metrics;
+
+import com.example.learningspring.javaConcepts.concurrency.ringbuffer.MpmcRingBuffer;
+import com.example.learningspring.javaConcepts.concurrency.ringbuffer.RingBuffer;
+import com.example.learningspring.javaConcepts.concurrency.ringbuffer.WaitStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+//Log output for request threads, which must not wait for I/O or for each other.
+//System.out.println is synchronized: every request thread that logs queues up on the same lock and
+//waits for the write. Here append() is a lock-free enqueue into a ring buffer, and the event isn't even
+//formatted yet (its toString() runs later). One daemon thread drains the events in batches and writes each
+//batch with a single print. If the buffer is full, events are dropped and counted, requests never block.
+@Component
+public class AsyncLogAppender implements SmartLifecycle {
+
+    //Starts before and stops after every other lifecycle bean, so their shutdown output is still written
+    public static final int PHASE = Integer.MIN_VALUE + 1024;
+
+    private static final int CAPACITY = 8192;
+    private static final int MAX_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final RingBuffer<Object> events = new MpmcRingBuffer<>(CAPACITY, WaitStrategy.PARK);
+    private final PrintStream out;
+    private Counter dropped = new Counter();
+    private volatile boolean closed;
+    private volatile boolean running;
+    private Thread writer;
+
+    public AsyncLogAppender() {
+        this(System.out);
+    }
+
+    public AsyncLogAppender(PrintStream out) {
+        this.out = out;
+    }
+
+    @Autowired(required = false)
+    void setMetricRegistry(MetricRegistry metricRegistry) {
+        dropped = metricRegistry.counter("log.async.dropped");
+    }
+
+    //The event is converted with String.valueOf() on the writer thread
+    public void append(Object event) {
+        try {
+            if (closed || !events.tryWrite(event)) {
+                dropped.increment();
+            }
+        } catch (IllegalStateException e) {
+            //Closed between the check and the write
+            dropped.increment();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (writer == null) {
+            writer = new Thread(this::writeLoop, "Async-Log-Writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+        running = true;
+    }
+
+    //Writes everything appended so far, then stops the writer thread
+    @Override
+    public synchronized void stop() {
+        if (!closed) {
+            closed = true;
+            if (writer == null) {
+                //Never started: nobody drains the buffer, and close() waits for a free slot for its end marker
+                StringBuilder batch = new StringBuilder(16 * 1024);
+                while (writeBatch(batch) > 0) {
+                    batch.setLength(0);
+                }
+                events.close();
+                writeLoop();
+            } else {
+                events.close();
+                try {
+                    writer.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void writeLoop() {
+        StringBuilder batch = new StringBuilder(16 * 1024);
+        while (!events.isTerminated()) {
+            if (writeBatch(batch) > 0) {
+                batch.setLength(0);
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int writeBatch(StringBuilder batch) {
+        int drained = events.drain(event -> batch.append(event).append(System.lineSeparator()), MAX_BATCH);
+        if (drained > 0) {
+            out.print(batch);
+            out.flush();
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.learningspring.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+//A counter for hot paths. LongAdder spreads concurrent increments over striped, padded cells,
+//so request threads on different cores don't fight over one cache line (unlike AtomicLong or synchronized).
+//Reading sums the cells, which is more expensive than an increment: read rarely, write often.
+public class Counter {
+
+    private final LongAdder adder = new LongAdder();
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long delta) {
+        adder.add(delta);
+    }
+
+    public long get() {
+        return adder.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.learningspring.metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//HdrHistogram-like latency recorder (values in nanoseconds).
+//Buckets are log-linear: every power of two is split into 32 sub-buckets, so a recorded value is
+//off by at most ~3%, from nanoseconds up to highestTrackableNanos (larger values go to the last bucket).
+//
+//Writes are striped over a fixed number of cells (the number of cores, rounded up to a power of two), picked by a
+//hash of the thread id, and update them with atomic adds: threads mostly write different cells, so they rarely
+//touch the same cache line, and the memory doesn't grow with the number of threads that ever recorded.
+//A cell is only allocated when a thread first writes to it.
+//snapshot() sums all cells; it doesn't block writers and writers never wait for it.
+public class LatencyRecorder {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_CELLS = 64;
+    private static final int CELLS = Math.min(MAX_CELLS,
+            Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long highestTrackableNanos;
+    private final int bucketCount;
+    private final AtomicReferenceArray<Cell> cells = new AtomicReferenceArray<>(CELLS);
+    private LatencySnapshot lastIntervalSnapshot;
+
+    public LatencyRecorder() {
+        this(TimeUnit.MINUTES.toNanos(1));
+    }
+
+    public LatencyRecorder(long highestTrackableNanos) {
+        if (highestTrackableNanos < 2 * SUB_BUCKETS) {
+            throw new IllegalArgumentException("highestTrackableNanos must be at least " + 2 * SUB_BUCKETS);
+        }
+        this.highestTrackableNanos = highestTrackableNanos;
+        this.bucketCount = indexFor(highestTrackableNanos) + 1;
+        this.lastIntervalSnapshot = LatencySnapshot.empty(bucketCount);
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int index = indexFor(Math.min(value, highestTrackableNanos));
+        cell().record(index, value);
+    }
+
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    //All values recorded so far
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[bucketCount];
+        long totalNanos = 0;
+        long minNanos = Long.MAX_VALUE;
+        long maxNanos = 0;
+        for (int c = 0; c < CELLS; c++) {
+            Cell cell = cells.get(c);
+            if (cell == null) {
+                continue;
+            }
+            for (int i = 0; i < bucketCount; i++) {
+                counts[i] += (long) COUNTS.getAcquire(cell.counts, i);
+            }
+            totalNanos += (long) Cell.TOTAL.getAcquire(cell);
+            minNanos = Math.min(minNanos, (long) Cell.MIN.getAcquire(cell));
+            maxNanos = Math.max(maxNanos, (long) Cell.MAX.getAcquire(cell));
+        }
+        return new LatencySnapshot(counts, totalNanos, minNanos, maxNanos);
+    }
+
+    //Values recorded since the previous call (e.g. per reporting interval), without resetting the writers
+    public synchronized LatencySnapshot intervalSnapshot() {
+        LatencySnapshot current = snapshot();
+        LatencySnapshot interval = current.minus(lastIntervalSnapshot);
+        lastIntervalSnapshot = current;
+        return interval;
+    }
+
+    private Cell cell() {
+        //Fibonacci hashing spreads the consecutive ids of pool threads over the cells
+        int index = (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 58) & (CELLS - 1);
+        Cell cell = cells.get(index);
+        if (cell == null) {
+            Cell created = new Cell(bucketCount);
+            cell = cells.compareAndExchange(index, null, created);
+            if (cell == null) {
+                cell = created;
+            }
+        }
+        return cell;
+    }
+
+    static int indexFor(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long lowestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return ((long) (index % SUB_BUCKETS + SUB_BUCKETS + 1) << shift) - 1;
+    }
+
+    //Shared by the threads hashed to it: counts and total are atomic adds, min and max a CAS only when they change
+    private static final class Cell {
+
+        private static final VarHandle TOTAL;
+        private static final VarHandle MIN;
+        private static final VarHandle MAX;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                TOTAL = lookup.findVarHandle(Cell.class, "totalNanos", long.class);
+                MIN = lookup.findVarHandle(Cell.class, "minNanos", long.class);
+                MAX = lookup.findVarHandle(Cell.class, "maxNanos", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final long[] counts;
+        private volatile long totalNanos;
+        private volatile long minNanos = Long.MAX_VALUE;
+        private volatile long maxNanos;
+
+        private Cell(int bucketCount) {
+            this.counts = new long[bucketCount];
+        }
+
+        private void record(int index, long nanos) {
+            COUNTS.getAndAdd(counts, index, 1L);
+            TOTAL.getAndAdd(this, nanos);
+            long min;
+            while (nanos < (min = minNanos) && !MIN.weakCompareAndSet(this, min, nanos)) {
+                Thread.onSpinWait();
+            }
+            long max;
+            while (nanos > (max = maxNanos) && !MAX.weakCompareAndSet(this, max, nanos)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.learningspring.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Immutable copy of a LatencyRecorder's buckets (values in nanoseconds)
+public class LatencySnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long minNanos;
+    private final long maxNanos;
+
+    LatencySnapshot(long[] counts, long totalNanos, long minNanos, long maxNanos) {
+        long sum = 0;
+        for (long bucketCount : counts) {
+            sum += bucketCount;
+        }
+        this.counts = counts;
+        this.count = sum;
+        this.totalNanos = totalNanos;
+        this.minNanos = sum == 0 ? 0 : minNanos;
+        this.maxNanos = sum == 0 ? 0 : maxNanos;
+    }
+
+    static LatencySnapshot empty(int bucketCount) {
+        return new LatencySnapshot(new long[bucketCount], 0, 0, 0);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMinNanos() {
+        return minNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    //Highest value of the bucket containing the percentile (0-100), never more than the max
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(LatencyRecorder.highestValueAt(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    //The values recorded after the given (earlier) snapshot. Min and max are estimated from the buckets.
+    LatencySnapshot minus(LatencySnapshot earlier) {
+        long[] difference = new long[counts.length];
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < counts.length; i++) {
+            difference[i] = counts[i] - earlier.counts[i];
+            if (difference[i] > 0) {
+                if (first < 0) {
+                    first = i;
+                }
+                last = i;
+            }
+        }
+        if (first < 0) {
+            return empty(counts.length);
+        }
+        return new LatencySnapshot(difference, totalNanos - earlier.totalNanos,
+                Math.max(minNanos, LatencyRecorder.lowestValueAt(first)),
+                Math.min(maxNanos, LatencyRecorder.highestValueAt(last)));
+    }
+
+    //Count and the usual percentiles in microseconds, e.g. for a JSON response
+    public Map<String, Object> toMap() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", count);
+        values.put("meanMicros", toMicros(getMeanNanos()));
+        values.put("minMicros", toMicros(minNanos));
+        values.put("p50Micros", toMicros(getPercentileNanos(50)));
+        values.put("p90Micros", toMicros(getPercentileNanos(90)));
+        values.put("p99Micros", toMicros(getPercentileNanos(99)));
+        values.put("p999Micros", toMicros(getPercentileNanos(99.9)));
+        values.put("maxMicros", toMicros(maxNanos));
+        return values;
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + toMicros(getMeanNanos()) + "us, p50=" + toMicros(getPercentileNanos(50))
+                + "us, p99=" + toMicros(getPercentileNanos(99)) + "us, max=" + toMicros(maxNanos) + "us";
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.learningspring.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+//Lock-free maximum. The current value is read first and only a new maximum is written with a CAS,
+//so once the maximum has settled, updates are plain reads of a shared (cached) line.
+public class MaxGauge {
+
+    private final AtomicLong max;
+
+    public MaxGauge() {
+        this(Long.MIN_VALUE);
+    }
+
+    public MaxGauge(long initialValue) {
+        this.max = new AtomicLong(initialValue);
+    }
+
+    public void update(long value) {
+        long current = max.get();
+        while (value > current) {
+            long witness = max.compareAndExchange(current, value);
+            if (witness == current) {
+                return;
+            }
+            current = witness;
+        }
+    }
+
+    public long get() {
+        return max.get();
+    }
+}
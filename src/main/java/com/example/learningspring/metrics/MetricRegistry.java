@@ -0,0 +1,47 @@
+package com.example.learningspring.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+//Named metrics shared by filters, interceptors and aspects.
+//Look a metric up once (e.g. in a field or per route) and keep the reference: the lookup is a map get,
+//recording into the returned object is the cheap part.
+@Component
+public class MetricRegistry {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, MaxGauge> maxGauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> latencyRecorders = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public MaxGauge maxGauge(String name) {
+        return maxGauges.computeIfAbsent(name, key -> new MaxGauge(0));
+    }
+
+    public LatencyRecorder latency(String name) {
+        return latencyRecorders.computeIfAbsent(name, key -> new LatencyRecorder());
+    }
+
+    //A value that is owned elsewhere (e.g. an in-flight count) and only read when a snapshot is taken
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    //All metrics sorted by name, latencies in microseconds
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new TreeMap<>();
+        counters.forEach((name, counter) -> result.put(name, counter.get()));
+        maxGauges.forEach((name, gauge) -> result.put(name, gauge.get()));
+        gauges.forEach((name, gauge) -> result.put(name, gauge.getAsLong()));
+        latencyRecorders.forEach((name, recorder) -> result.put(name, recorder.snapshot().toMap()));
+        return result;
+    }
+}
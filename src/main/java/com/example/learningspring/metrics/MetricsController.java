@@ -0,0 +1,22 @@
+package com.example.learningspring.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class MetricsController {
+
+    @Autowired
+    MetricRegistry metricRegistry;
+
+    /*
+    curl --location --request GET 'http://localhost:8080/metrics/core'
+     */
+    @GetMapping("/metrics/core")
+    public Map<String, Object> getMetrics() {
+        return metricRegistry.snapshot();
+    }
+}
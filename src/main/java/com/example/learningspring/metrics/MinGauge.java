@@ -0,0 +1,32 @@
+package com.example.learningspring.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+//Lock-free minimum, see MaxGauge.
+public class MinGauge {
+
+    private final AtomicLong min;
+
+    public MinGauge() {
+        this(Long.MAX_VALUE);
+    }
+
+    public MinGauge(long initialValue) {
+        this.min = new AtomicLong(initialValue);
+    }
+
+    public void update(long value) {
+        long current = min.get();
+        while (value < current) {
+            long witness = min.compareAndExchange(current, value);
+            if (witness == current) {
+                return;
+            }
+            current = witness;
+        }
+    }
+
+    public long get() {
+        return min.get();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.learningspring.responseEntity;
 
+import com.example.learningspring.interceptorsAndFilters.etagCompression.ResourceVersions;
+import com.example.learningspring.interceptorsAndFilters.responseCache.CacheableResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +14,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class TestResponseEntityController {
 
+    @Autowired
+    ResourceVersions resourceVersions;
+
     @GetMapping("/user")
     public ResponseEntity<String> getUser() {
         HttpHeaders headers = new HttpHeaders();
@@ -22,6 +28,9 @@ public class TestResponseEntityController {
 
     @PostMapping("/user")
     public ResponseEntity<Void> setUser(String user) {
+        //GET /user and /v1/user may have changed, cached ETags and responses for them are no longer valid
+        resourceVersions.invalidate("/user");
+        resourceVersions.invalidate("/v1/user");
         HttpHeaders headers = new HttpHeaders();
         headers.add("Key2", "Value2");
         return ResponseEntity.status(HttpStatus.OK)
@@ -33,6 +42,7 @@ public class TestResponseEntityController {
     //so that response will not be considered as name of the view
     @GetMapping("/v1/user")
     @ResponseBody
+    @CacheableResponse(ttlSeconds = 30)
     public String getUserV1() {
         return "User Data";
     }
@@ -1,5 +1,6 @@
 package com.example.learningspring.responseEntity;
 
+import com.example.learningspring.interceptorsAndFilters.responseCache.CacheableResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,7 +16,9 @@ public class Using301ErrorCode {
         return ResponseEntity.status(301).headers(headers).body("Redirecting to new endpoint /new-get-user");
     }
 
+    //Served by ResponseCacheFilter for 30 seconds after the first call
     @GetMapping("/new-get-user")
+    @CacheableResponse(ttlSeconds = 30)
     public ResponseEntity<String> getUserNew() {
         return ResponseEntity.status(200).body("New User Data");
     }
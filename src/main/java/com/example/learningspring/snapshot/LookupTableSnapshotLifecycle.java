@@ -0,0 +1,150 @@
+package com.example.learningspring.snapshot;
+
+import com.example.learningspring.javaConcepts.offheap.OffHeapUserStore;
+import com.example.learningspring.layeredArchitecture.entity.PaymentEntity;
+import com.example.learningspring.layeredArchitecture.entity.User;
+import com.example.learningspring.threadPool.gracefulShutdown.ExecutorLifecycleManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+//Loads the lookup tables from the snapshot file at startup and writes them back on shutdown.
+//A missing, corrupt or incompatible snapshot is not an error: the tables start empty and fill from the database.
+@Component
+public class LookupTableSnapshotLifecycle implements SmartLifecycle {
+
+    //Lower phases start first and stop last: the tables are loaded before the web server accepts requests,
+    //and saved after in-flight requests and executors have drained (ExecutorLifecycleManager.PHASE)
+    public static final int PHASE = ExecutorLifecycleManager.PHASE - 1024;
+
+    private static final PaymentEntityCodec PAYMENT_CODEC = new PaymentEntityCodec();
+    private static final UserCodec USER_CODEC = new UserCodec();
+
+    @Autowired
+    LookupTables lookupTables;
+
+    @Value("${snapshot.enabled:true}")
+    boolean enabled;
+
+    @Value("${snapshot.path:${java.io.tmpdir}/basic-spring-concepts/lookup-tables.snapshot}")
+    Path snapshotPath;
+
+    private volatile SnapshotReport lastLoad;
+    private volatile SnapshotReport lastSave;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        if (enabled) {
+            lastLoad = load();
+            System.out.println("Lookup table snapshot: " + lastLoad);
+        }
+        //Cold start, or the snapshot had no users: the users table is read from the database in one go
+        if (lookupTables.getUsers().size() == 0) {
+            loadUsersFromDatabase();
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (enabled) {
+            lastSave = save();
+            System.out.println("Lookup table snapshot: " + lastSave);
+        }
+        running = false;
+    }
+
+    public SnapshotReport load() {
+        long start = System.nanoTime();
+        if (!Files.exists(snapshotPath)) {
+            return report("MISSING", start, Map.of(), null);
+        }
+        try {
+            Snapshot snapshot = Snapshot.open(snapshotPath);
+            //Decode everything before touching the tables, so a bad section doesn't leave them half loaded
+            List<PaymentEntity> payments = snapshot.read(PAYMENT_CODEC).orElse(List.of());
+            List<User> accounts = snapshot.read(USER_CODEC).orElse(List.of());
+            Optional<OffHeapUserStore> users = OffHeapUserStoreSections.read(snapshot);
+
+            //Within the tables' bounds, which may be lower than when the snapshot was written
+            payments.forEach(lookupTables::cachePayment);
+            accounts.forEach(lookupTables::cacheAccount);
+            users.ifPresent(lookupTables::replaceUsers);
+            return report("LOADED", start, counts(lookupTables.getPayments().size(), lookupTables.getAccounts().size(),
+                    lookupTables.getUsers().size()), null);
+        } catch (IOException | SnapshotException e) {
+            return report("REJECTED", start, Map.of(), e.getMessage());
+        }
+    }
+
+    public SnapshotReport save() {
+        long start = System.nanoTime();
+        //Copies, so the record counts in the section headers match what is written while requests still run
+        List<PaymentEntity> payments = new ArrayList<>(lookupTables.getPayments().values());
+        List<User> accounts = new ArrayList<>(lookupTables.getAccounts().values());
+        //Replaced, never written in place (see LookupTables)
+        OffHeapUserStore users = lookupTables.getUsers();
+        try (SnapshotWriter writer = new SnapshotWriter(snapshotPath)) {
+            writer.writeSection(payments, PAYMENT_CODEC);
+            writer.writeSection(accounts, USER_CODEC);
+            OffHeapUserStoreSections.write(writer, users);
+            writer.commit();
+            return report("WRITTEN", start, counts(payments.size(), accounts.size(), users.size()), null);
+        } catch (IOException | RuntimeException e) {
+            return report("FAILED", start, Map.of(), e.getMessage());
+        }
+    }
+
+    public SnapshotReport getLastLoad() {
+        return lastLoad;
+    }
+
+    public SnapshotReport getLastSave() {
+        return lastSave;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void loadUsersFromDatabase() {
+        try {
+            if (lookupTables.reloadUsers()) {
+                System.out.println("Users lookup table: loaded " + lookupTables.getUsers().size() + " users from the database");
+            }
+        } catch (DataAccessException e) {
+            //Like a missing snapshot: the table stays empty
+            System.out.println("Users lookup table: not loaded, " + e.getMessage());
+        }
+    }
+
+    private Map<String, Integer> counts(int payments, int accounts, int users) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put(PAYMENT_CODEC.sectionName(), payments);
+        counts.put(USER_CODEC.sectionName(), accounts);
+        counts.put("users", users);
+        return counts;
+    }
+
+    private SnapshotReport report(String action, long start, Map<String, Integer> counts, String error) {
+        return new SnapshotReport(action, snapshotPath.toString(), (System.nanoTime() - start) / 1_000_000, counts, error);
+    }
+}
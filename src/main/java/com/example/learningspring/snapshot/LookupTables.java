@@ -0,0 +1,84 @@
+package com.example.learningspring.snapshot;
+
+import com.example.learningspring.javaConcepts.offheap.OffHeapUserStore;
+import com.example.learningspring.layeredArchitecture.entity.PaymentEntity;
+import com.example.learningspring.layeredArchitecture.entity.User;
+import com.example.learningspring.springJpa.jdbcTemplate.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//In-memory lookup tables, filled from the database as entries are needed (the users table all at once).
+//LookupTableSnapshotLifecycle saves them to a snapshot file on shutdown and maps them back at startup,
+//so a restarted node doesn't have to rebuild them from the database.
+@Component
+public class LookupTables {
+
+    //The ids come from clients: without a bound the table (and the snapshot) would grow with every id ever asked for
+    @Value("${snapshot.payments.max-entries:100000}")
+    int maxPayments;
+
+    //Same for the account names
+    @Value("${snapshot.accounts.max-entries:100000}")
+    int maxAccounts;
+
+    @Autowired(required = false)
+    UserRepository userRepository;
+
+    private final Map<Long, PaymentEntity> payments = new ConcurrentHashMap<>();
+    private final Map<String, User> accounts = new ConcurrentHashMap<>();
+    //OffHeapUserStore isn't thread safe for writes: build a new store and publish it with replaceUsers()
+    private volatile OffHeapUserStore users = new OffHeapUserStore();
+
+    public Map<Long, PaymentEntity> getPayments() {
+        return payments;
+    }
+
+    public PaymentEntity getPayment(long id) {
+        return payments.get(id);
+    }
+
+    //Only for payments read from the database. Once the table is full further payments aren't cached, the ones
+    //already in it stay (a payment doesn't change once it is done)
+    public void cachePayment(PaymentEntity payment) {
+        if (payment.getId() != null && payments.size() < maxPayments) {
+            payments.putIfAbsent(payment.getId(), payment);
+        }
+    }
+
+    public Map<String, User> getAccounts() {
+        return accounts;
+    }
+
+    public User getAccount(String userName) {
+        return accounts.get(userName);
+    }
+
+    //Only for accounts read from the database, bounded like the payments
+    public void cacheAccount(User account) {
+        if (account.getUserName() != null && accounts.size() < maxAccounts) {
+            accounts.putIfAbsent(account.getUserName(), account);
+        }
+    }
+
+    public OffHeapUserStore getUsers() {
+        return users;
+    }
+
+    public void replaceUsers(OffHeapUserStore users) {
+        this.users = users;
+    }
+
+    //Loads all users into a new store and publishes it, readers use the old one until then.
+    //false if there is no UserRepository (no database) to load from
+    public boolean reloadUsers() {
+        if (userRepository == null) {
+            return false;
+        }
+        replaceUsers(userRepository.loadAllUsersOffHeap());
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.learningspring.snapshot;
+
+import com.example.learningspring.javaConcepts.offheap.OffHeapUserStore;
+
+import java.io.IOException;
+import java.util.Optional;
+
+//Sections "users.records" and "users.strings": the two buffers of an OffHeapUserStore (UserJdbcTemplate records)
+//written byte for byte. On load the store wraps the mapped sections directly, only its id index is rebuilt.
+//v1: the layout documented in OffHeapUserStore
+final class OffHeapUserStoreSections {
+
+    static final String RECORDS = "users.records";
+    static final String STRINGS = "users.strings";
+    static final int SCHEMA_VERSION = 1;
+
+    private OffHeapUserStoreSections() {
+    }
+
+    static void write(SnapshotWriter writer, OffHeapUserStore store) throws IOException {
+        writer.writeSection(RECORDS, SCHEMA_VERSION, store.size(), output -> output.putBytes(store.asReadOnlyRecords()));
+        writer.writeSection(STRINGS, SCHEMA_VERSION, 0, output -> output.putBytes(store.asReadOnlyStrings()));
+    }
+
+    static Optional<OffHeapUserStore> read(Snapshot snapshot) {
+        Optional<SnapshotSection> records = snapshot.section(RECORDS);
+        Optional<SnapshotSection> strings = snapshot.section(STRINGS);
+        if (records.isEmpty() || strings.isEmpty()) {
+            return Optional.empty();
+        }
+        if (records.get().schemaVersion() != SCHEMA_VERSION || strings.get().schemaVersion() != SCHEMA_VERSION) {
+            throw new SnapshotException("Users have schema version " + records.get().schemaVersion() + ", this build writes " + SCHEMA_VERSION);
+        }
+        try {
+            return Optional.of(OffHeapUserStore.wrap(records.get().data(), records.get().recordCount(), strings.get().data()));
+        } catch (IllegalArgumentException e) {
+            throw new SnapshotException("Users section is inconsistent: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.learningspring.snapshot;
+
+import com.example.learningspring.layeredArchitecture.entity.PaymentEntity;
+
+//Section "payments": layeredArchitecture PaymentEntity
+//v1: nullable long id, string paymentStatus
+public class PaymentEntityCodec implements SnapshotCodec<PaymentEntity> {
+
+    @Override
+    public String sectionName() {
+        return "payments";
+    }
+
+    @Override
+    public int schemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public void write(PaymentEntity payment, SnapshotOutput output) {
+        output.putNullableLong(payment.getId());
+        output.putString(payment.getPaymentStatus());
+    }
+
+    @Override
+    public PaymentEntity read(SnapshotInput input, int schemaVersion) {
+        PaymentEntity payment = new PaymentEntity();
+        payment.setId(input.getNullableLong());
+        payment.setPaymentStatus(input.getString());
+        return payment;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.learningspring.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+//A snapshot file opened for reading. Section data is mapped with FileChannel.map, so it isn't copied onto
+//the heap: readers decode records straight from the page cache, or use the mapped buffers as they are.
+//The mappings stay valid after the file channel is closed, until the buffers are garbage collected.
+public class Snapshot {
+
+    private final Path file;
+    private final long createdAtMillis;
+    private final Map<String, SnapshotSection> sections;
+
+    private Snapshot(Path file, long createdAtMillis, Map<String, SnapshotSection> sections) {
+        this.file = file;
+        this.createdAtMillis = createdAtMillis;
+        this.sections = sections;
+    }
+
+    //Maps and verifies the whole file: header, format version and the checksum of every section
+    public static Snapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = readFully(channel, 0, SnapshotFormat.FILE_HEADER_SIZE, size, "file header");
+            if (header.getInt(0) != SnapshotFormat.MAGIC) {
+                throw new SnapshotException(file + " is not a snapshot file");
+            }
+            short formatVersion = header.getShort(4);
+            if (formatVersion != SnapshotFormat.FORMAT_VERSION) {
+                throw new SnapshotException(file + " has format version " + formatVersion + ", this build reads " + SnapshotFormat.FORMAT_VERSION);
+            }
+            CRC32C headerCrc = new CRC32C();
+            headerCrc.update(header.array(), 0, SnapshotFormat.FILE_HEADER_CRC_OFFSET);
+            if ((int) headerCrc.getValue() != header.getInt(SnapshotFormat.FILE_HEADER_CRC_OFFSET)) {
+                throw new SnapshotException(file + " has a corrupt header");
+            }
+
+            int sectionCount = header.getInt(SnapshotFormat.SECTION_COUNT_OFFSET);
+            Map<String, SnapshotSection> sections = new LinkedHashMap<>();
+            long position = SnapshotFormat.FILE_HEADER_SIZE;
+            for (int i = 0; i < sectionCount; i++) {
+                SnapshotSection section = readSection(channel, position, size);
+                sections.put(section.name(), section);
+                position = SnapshotFormat.align8(position + SnapshotFormat.SECTION_HEADER_SIZE + section.data().capacity());
+            }
+            return new Snapshot(file, header.getLong(8), Collections.unmodifiableMap(sections));
+        }
+    }
+
+    public Optional<SnapshotSection> section(String name) {
+        return Optional.ofNullable(sections.get(name));
+    }
+
+    //Decodes all records of the codec's section; empty if the snapshot has no such section
+    public <T> Optional<List<T>> read(SnapshotCodec<T> codec) {
+        SnapshotSection section = sections.get(codec.sectionName());
+        if (section == null) {
+            return Optional.empty();
+        }
+        if (!codec.canRead(section.schemaVersion())) {
+            throw new SnapshotException("Section " + section.name() + " has schema version " + section.schemaVersion()
+                    + ", this build writes " + codec.schemaVersion());
+        }
+        SnapshotInput input = section.input();
+        List<T> records = new ArrayList<>(section.recordCount());
+        for (int i = 0; i < section.recordCount(); i++) {
+            records.add(codec.read(input, section.schemaVersion()));
+        }
+        return Optional.of(records);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public Map<String, SnapshotSection> getSections() {
+        return sections;
+    }
+
+    private static SnapshotSection readSection(FileChannel channel, long position, long fileSize) throws IOException {
+        ByteBuffer header = readFully(channel, position, SnapshotFormat.SECTION_HEADER_SIZE, fileSize, "section header");
+        long dataLength = header.getLong(SnapshotFormat.SECTION_LENGTH_OFFSET);
+        long dataPosition = position + SnapshotFormat.SECTION_HEADER_SIZE;
+        if (dataLength < 0 || dataLength > Integer.MAX_VALUE || dataPosition + dataLength > fileSize) {
+            throw new SnapshotException("Section at " + position + " is truncated or has an invalid length " + dataLength);
+        }
+        int nameLength = 0;
+        while (nameLength < SnapshotFormat.SECTION_NAME_SIZE && header.get(nameLength) != 0) {
+            nameLength++;
+        }
+        String name = new String(header.array(), 0, nameLength, StandardCharsets.UTF_8);
+
+        ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, dataPosition, dataLength).order(SnapshotFormat.ORDER);
+        CRC32C crc = new CRC32C();
+        crc.update(data.duplicate());
+        crc.update(header.array(), 0, SnapshotFormat.SECTION_CRC_OFFSET);
+        if ((int) crc.getValue() != header.getInt(SnapshotFormat.SECTION_CRC_OFFSET)) {
+            throw new SnapshotException("Section " + name + " failed its checksum");
+        }
+        return new SnapshotSection(name, header.getInt(SnapshotFormat.SECTION_SCHEMA_OFFSET),
+                header.getInt(SnapshotFormat.SECTION_COUNT_OFFSET_IN_HEADER), data);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length, long fileSize, String what) throws IOException {
+        if (position + length > fileSize) {
+            throw new SnapshotException("Snapshot ends before the " + what + " at " + position);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(SnapshotFormat.ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new SnapshotException("Snapshot ends before the " + what + " at " + position);
+            }
+        }
+        return buffer;
+    }
+}
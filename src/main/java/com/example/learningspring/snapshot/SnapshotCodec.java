@@ -0,0 +1,18 @@
+package com.example.learningspring.snapshot;
+
+//Writes and reads the records of one section type.
+//Bump schemaVersion() whenever write() changes, and keep read() able to read the versions still on disk.
+public interface SnapshotCodec<T> {
+
+    String sectionName();
+
+    int schemaVersion();
+
+    void write(T record, SnapshotOutput output);
+
+    T read(SnapshotInput input, int schemaVersion);
+
+    default boolean canRead(int schemaVersion) {
+        return schemaVersion == schemaVersion();
+    }
+}
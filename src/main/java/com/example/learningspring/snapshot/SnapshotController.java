@@ -0,0 +1,36 @@
+package com.example.learningspring.snapshot;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+public class SnapshotController {
+
+    @Autowired
+    LookupTableSnapshotLifecycle snapshotLifecycle;
+
+    /*
+    curl --location --request GET 'http://localhost:8080/snapshot'
+     */
+    @GetMapping("/snapshot")
+    public Map<String, SnapshotReport> getSnapshotReports() {
+        Map<String, SnapshotReport> reports = new LinkedHashMap<>();
+        reports.put("lastLoad", snapshotLifecycle.getLastLoad());
+        reports.put("lastSave", snapshotLifecycle.getLastSave());
+        return reports;
+    }
+
+    //Writes a snapshot now, e.g. before a planned restart, instead of waiting for shutdown
+    /*
+    curl --location --request POST 'http://localhost:8080/snapshot'
+     */
+    @PostMapping("/snapshot")
+    public SnapshotReport writeSnapshot() {
+        return snapshotLifecycle.save();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.learningspring.snapshot;
+
+//A snapshot file that can't be used: wrong magic, unknown version, failed checksum or truncated data.
+//Callers should treat the snapshot as missing and rebuild from the source of truth.
+public class SnapshotException extends RuntimeException {
+
+    public SnapshotException(String message) {
+        super(message);
+    }
+
+    public SnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.learningspring.snapshot;
+
+import java.nio.ByteOrder;
+
+//Layout of a snapshot file. Everything is little endian.
+//
+//file header (32 bytes)
+//  0  int   magic "LSNP"
+//  4  short format version
+//  6  short reserved
+//  8  long  created at (epoch millis)
+//  16 int   section count
+//  20 int   CRC32C of bytes 0-19
+//  24       reserved, zero
+//
+//every section (starts 8 byte aligned)
+//  0  byte[32] name, UTF-8, zero padded
+//  32 int      schema version of the records (owned by the codec)
+//  36 int      record count
+//  40 long     data length
+//  48 int      CRC32C of the data, then of header bytes 0-47
+//  52          reserved, zero
+//  64          data, then zero padding to the next multiple of 8
+//
+//The format version changes when this layout changes; readers reject versions they don't know.
+//Schema versions change when a section's record layout changes; codecs decide which ones they can read.
+final class SnapshotFormat {
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int MAGIC = 0x504E534C;
+    static final short FORMAT_VERSION = 1;
+
+    static final int FILE_HEADER_SIZE = 32;
+    static final int FILE_HEADER_CRC_OFFSET = 20;
+    static final int SECTION_COUNT_OFFSET = 16;
+
+    static final int SECTION_HEADER_SIZE = 64;
+    static final int SECTION_NAME_SIZE = 32;
+    static final int SECTION_SCHEMA_OFFSET = 32;
+    static final int SECTION_COUNT_OFFSET_IN_HEADER = 36;
+    static final int SECTION_LENGTH_OFFSET = 40;
+    static final int SECTION_CRC_OFFSET = 48;
+
+    private SnapshotFormat() {
+    }
+
+    static long align8(long position) {
+        return (position + 7) & ~7L;
+    }
+}
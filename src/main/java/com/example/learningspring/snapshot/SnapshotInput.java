@@ -0,0 +1,62 @@
+package com.example.learningspring.snapshot;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+//Sequential reader over the mapped data of one section. Truncated or inconsistent data becomes a SnapshotException.
+public class SnapshotInput {
+
+    private final String sectionName;
+    private final ByteBuffer data;
+
+    SnapshotInput(String sectionName, ByteBuffer data) {
+        this.sectionName = sectionName;
+        this.data = data.duplicate().order(SnapshotFormat.ORDER);
+    }
+
+    public int getInt() {
+        try {
+            return data.getInt();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public long getLong() {
+        try {
+            return data.getLong();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public boolean getBoolean() {
+        try {
+            return data.get() != 0;
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public Long getNullableLong() {
+        return getBoolean() ? getLong() : null;
+    }
+
+    public String getString() {
+        int length = getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > data.remaining()) {
+            throw truncated();
+        }
+        byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private SnapshotException truncated() {
+        return new SnapshotException("Section " + sectionName + " ends in the middle of a record");
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.learningspring.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+//Buffered writer for the data of one section. Every flushed byte goes into the section's CRC.
+public class SnapshotOutput {
+
+    private static final int NULL_LENGTH = -1;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024).order(SnapshotFormat.ORDER);
+    private final CRC32C crc = new CRC32C();
+    private long length;
+
+    SnapshotOutput(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public void putInt(int value) {
+        ensureRoom(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    public void putLong(long value) {
+        ensureRoom(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    public void putBoolean(boolean value) {
+        ensureRoom(1);
+        buffer.put(value ? (byte) 1 : 0);
+    }
+
+    public void putNullableLong(Long value) {
+        putBoolean(value != null);
+        if (value != null) {
+            putLong(value);
+        }
+    }
+
+    public void putString(String value) {
+        if (value == null) {
+            putInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        putBytes(ByteBuffer.wrap(bytes));
+    }
+
+    //Writes the remaining bytes of the source. Large direct buffers go to the file without another copy
+    public void putBytes(ByteBuffer source) {
+        ByteBuffer data = source.duplicate();
+        if (data.remaining() > buffer.capacity()) {
+            flush();
+            crc.update(data.duplicate());
+            length += data.remaining();
+            writeFully(data);
+            return;
+        }
+        ensureRoom(data.remaining());
+        buffer.put(data);
+    }
+
+    void flush() {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        length += buffer.remaining();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    long length() {
+        return length;
+    }
+
+    CRC32C crc() {
+        return crc;
+    }
+
+    private void ensureRoom(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void writeFully(ByteBuffer data) {
+        try {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.learningspring.snapshot;
+
+import java.util.Map;
+
+//Outcome of the last snapshot load or save
+public record SnapshotReport(String action, String file, long durationMillis, Map<String, Integer> recordCounts, String error) {
+}
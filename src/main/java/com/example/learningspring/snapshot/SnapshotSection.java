@@ -0,0 +1,11 @@
+package com.example.learningspring.snapshot;
+
+import java.nio.ByteBuffer;
+
+//One verified section of a snapshot file. data is a read-only view of the mapped file, nothing is copied.
+public record SnapshotSection(String name, int schemaVersion, int recordCount, ByteBuffer data) {
+
+    public SnapshotInput input() {
+        return new SnapshotInput(name, data);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.learningspring.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+//Writes a snapshot file (layout in SnapshotFormat).
+//Everything goes to <file>.tmp first; commit() fsyncs it and renames it over the old snapshot, so a crash
+//while writing leaves the previous snapshot intact, never a half written one.
+public class SnapshotWriter implements Closeable {
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private int sectionCount;
+    private boolean committed;
+
+    public SnapshotWriter(Path target) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        //The header is written last, when the section count is known
+        channel.position(SnapshotFormat.FILE_HEADER_SIZE);
+    }
+
+    public <T> void writeSection(Collection<? extends T> records, SnapshotCodec<T> codec) throws IOException {
+        writeSection(codec.sectionName(), codec.schemaVersion(), records.size(),
+                output -> records.forEach(record -> codec.write(record, output)));
+    }
+
+    public void writeSection(String name, int schemaVersion, int recordCount, Consumer<SnapshotOutput> body) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length == 0 || nameBytes.length > SnapshotFormat.SECTION_NAME_SIZE) {
+            throw new IllegalArgumentException("Section name must be 1-" + SnapshotFormat.SECTION_NAME_SIZE + " UTF-8 bytes: " + name);
+        }
+        long headerPosition = channel.position();
+        channel.position(headerPosition + SnapshotFormat.SECTION_HEADER_SIZE);
+        SnapshotOutput output = new SnapshotOutput(channel);
+        body.accept(output);
+        output.flush();
+
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.SECTION_HEADER_SIZE).order(SnapshotFormat.ORDER);
+        header.put(nameBytes);
+        header.putInt(SnapshotFormat.SECTION_SCHEMA_OFFSET, schemaVersion);
+        header.putInt(SnapshotFormat.SECTION_COUNT_OFFSET_IN_HEADER, recordCount);
+        header.putLong(SnapshotFormat.SECTION_LENGTH_OFFSET, output.length());
+        CRC32C crc = output.crc();
+        crc.update(header.array(), 0, SnapshotFormat.SECTION_CRC_OFFSET);
+        header.putInt(SnapshotFormat.SECTION_CRC_OFFSET, (int) crc.getValue());
+        writeFully(header.clear(), headerPosition);
+
+        long end = headerPosition + SnapshotFormat.SECTION_HEADER_SIZE + output.length();
+        long aligned = SnapshotFormat.align8(end);
+        writeFully(ByteBuffer.allocate((int) (aligned - end)), end);
+        channel.position(aligned);
+        sectionCount++;
+    }
+
+    public void commit() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.FILE_HEADER_SIZE).order(SnapshotFormat.ORDER);
+        header.putInt(0, SnapshotFormat.MAGIC);
+        header.putShort(4, SnapshotFormat.FORMAT_VERSION);
+        header.putLong(8, System.currentTimeMillis());
+        header.putInt(SnapshotFormat.SECTION_COUNT_OFFSET, sectionCount);
+        CRC32C crc = new CRC32C();
+        crc.update(header.array(), 0, SnapshotFormat.FILE_HEADER_CRC_OFFSET);
+        header.putInt(SnapshotFormat.FILE_HEADER_CRC_OFFSET, (int) crc.getValue());
+        writeFully(header, 0);
+
+        channel.force(true);
+        channel.close();
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        committed = true;
+    }
+
+    //Without commit(), the temporary file is deleted and the previous snapshot stays
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeFully(ByteBuffer data, long position) throws IOException {
+        while (data.hasRemaining()) {
+            position += channel.write(data, position);
+        }
+    }
+}
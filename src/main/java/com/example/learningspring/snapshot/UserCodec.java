@@ -0,0 +1,30 @@
+package com.example.learningspring.snapshot;
+
+import com.example.learningspring.layeredArchitecture.entity.User;
+
+//Section "accounts": layeredArchitecture User
+//v1: string userName
+public class UserCodec implements SnapshotCodec<User> {
+
+    @Override
+    public String sectionName() {
+        return "accounts";
+    }
+
+    @Override
+    public int schemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public void write(User user, SnapshotOutput output) {
+        output.putString(user.getUserName());
+    }
+
+    @Override
+    public User read(SnapshotInput input, int schemaVersion) {
+        User user = new User();
+        user.setUserName(input.getString());
+        return user;
+    }
+}
@@ -1,13 +1,29 @@
 package com.example.learningspring.springJpa.jdbcTemplate;
 
+import com.example.learningspring.javaConcepts.offheap.OffHeapUserStore;
+import com.example.learningspring.javaConcepts.parallelstreams.ParallelStreamExecutor;
+import com.example.learningspring.javaConcepts.parallelstreams.ParallelStreams;
+import com.example.learningspring.javaConcepts.parallelstreams.StreamOrder;
+import com.example.learningspring.javaConcepts.primitives.IntObjectHashMap;
+import com.example.learningspring.javaConcepts.primitives.PrimitiveStreams;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-//@Respository
+//LookupTables loads its off-heap users table through loadAllUsersOffHeap()
+@Repository
 public class UserRepository {
 
+    private static final int ID_BATCH_SIZE = 500;
+
     @Autowired
     JdbcTemplate jdbcTemplate;
 
@@ -36,4 +52,53 @@ public class UserRepository {
                 }
         );
     }
+
+    //Bulk processing of all users without loading them into one list first: rows are read in batches
+    //while the executor's workers (not the common pool) process the batches already read
+    public <R> R processAllUsers(ParallelStreamExecutor executor, StreamOrder order, Function<Stream<UserJdbcTemplate>, R> job) {
+        String sql = "SELECT id, name, email FROM users";
+        return jdbcTemplate.query(sql, (ResultSetExtractor<R>) rs -> executor.execute(() -> job.apply(ParallelStreams.ofResultSet(rs, row -> {
+            UserJdbcTemplate user = new UserJdbcTemplate();
+            user.setId(row.getInt("id"));
+            user.setName(row.getString("name"));
+            user.setEmail(row.getString("email"));
+            return user;
+        }, order))));
+    }
+
+    //Loads users for a list of ids, one IN (...) query per batch. Ids are de-duplicated with an int set and
+    //users are keyed by int id, so neither the id list nor the result allocates an Integer per user
+    public IntObjectHashMap<UserJdbcTemplate> getUsersByIds(int[] ids) {
+        int[] distinctIds = PrimitiveStreams.distinct(ids).toArray();
+        IntObjectHashMap<UserJdbcTemplate> users = new IntObjectHashMap<>(distinctIds.length);
+        RowCallbackHandler handler = rs -> {
+            UserJdbcTemplate user = new UserJdbcTemplate();
+            user.setId(rs.getInt("id"));
+            user.setName(rs.getString("name"));
+            user.setEmail(rs.getString("email"));
+            users.put(user.getId(), user);
+        };
+        for (int from = 0; from < distinctIds.length; from += ID_BATCH_SIZE) {
+            int[] batch = Arrays.copyOfRange(distinctIds, from, Math.min(distinctIds.length, from + ID_BATCH_SIZE));
+            String sql = "SELECT id, name, email FROM users WHERE id IN (" + String.join(",", Collections.nCopies(batch.length, "?")) + ")";
+            jdbcTemplate.query(sql, ps -> {
+                for (int i = 0; i < batch.length; i++) {
+                    ps.setInt(i + 1, batch[i]);
+                }
+            }, handler);
+        }
+        return users;
+    }
+
+    //Loads all users into an off-heap lookup table. Rows go straight from the result set into the store's
+    //buffers, without a List<UserJdbcTemplate> in between
+    public OffHeapUserStore loadAllUsersOffHeap() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        int expectedUsers = count == null ? 0 : count;
+        //Assume ~40 bytes of name and email per user, the store grows if that's too little
+        OffHeapUserStore store = new OffHeapUserStore(expectedUsers, expectedUsers * 40);
+        jdbcTemplate.query("SELECT id, name, email FROM users",
+                (RowCallbackHandler) rs -> store.put(rs.getInt("id"), rs.getString("name"), rs.getString("email")));
+        return store;
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.learningspring.threadPool.gracefulShutdown;
+
+/**
+ * Outcome of draining one executor on shutdown.
+ *
+ * @param executorName   Bean name (or registered name) of the executor
+ * @param drained        true if all queued and running tasks completed before the deadline
+ * @param droppedTasks   Queued tasks that never started; they were removed by shutdownNow() and their futures cancelled
+ * @param abandonedTasks Tasks still running at the deadline; they were interrupted. null if the executor doesn't tell
+ * @param elapsedMillis  Time spent waiting for this executor
+ */
+public record DrainResult(String executorName, boolean drained, int droppedTasks, Integer abandonedTasks, long elapsedMillis) {
+
+    @Override
+    public String toString() {
+        return drained
+                ? executorName + ": drained in " + elapsedMillis + "ms"
+                : executorName + ": NOT drained after " + elapsedMillis + "ms, dropped " + droppedTasks
+                + " queued task(s), interrupted " + (abandonedTasks != null ? abandonedTasks : "an unknown number of")
+                + " running task(s)";
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.learningspring.threadPool.gracefulShutdown;
+
+import com.example.learningspring.threadPool.rejectionPolicies.CountingRejectedExecutionHandler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+//shutdown() alone only stops intake, it doesn't wait for queued work and doesn't tell what was lost.
+//This is the usual shutdown() -> awaitTermination(deadline) -> shutdownNow() sequence, with a report at the end.
+public final class ExecutorDrainer {
+
+    private ExecutorDrainer() {
+    }
+
+    public static DrainResult drain(String name, ExecutorService executor, Duration timeout) {
+        executor.shutdown();
+        return awaitDrain(name, executor, System.nanoTime() + timeout.toNanos());
+    }
+
+    //Caller must already have called shutdown(). Several executors can share one deadline, so total shutdown time stays bounded.
+    public static DrainResult awaitDrain(String name, ExecutorService executor, long deadlineNanos) {
+        long start = System.nanoTime();
+        boolean terminated = false;
+        try {
+            terminated = executor.awaitTermination(Math.max(0, deadlineNanos - start), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Integer running = 0;
+        int queued = 0;
+        if (!terminated) {
+            //Unknown for other executor types
+            running = null;
+            if (executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+                running = threadPoolExecutor.getActiveCount();
+            } else if (executor instanceof ForkJoinPool forkJoinPool) {
+                running = forkJoinPool.getActiveThreadCount();
+                //ForkJoinPool.shutdownNow() always returns an empty list
+                queued = (int) Math.min(Integer.MAX_VALUE, forkJoinPool.getQueuedSubmissionCount() + forkJoinPool.getQueuedTaskCount());
+            }
+            //Abandoned, so whoever waits on their futures isn't left hanging
+            List<Runnable> neverStarted = executor.shutdownNow();
+            neverStarted.forEach(CountingRejectedExecutionHandler::abandon);
+            queued += neverStarted.size();
+        }
+        //Tasks held by the rejection handler (e.g. an overflow queue) never reach the executor's queue anymore
+        if (executor instanceof ThreadPoolExecutor threadPoolExecutor
+                && threadPoolExecutor.getRejectedExecutionHandler() instanceof ExternallyQueuedTasks externallyQueued) {
+            queued += externallyQueued.abandonQueuedTasks();
+        }
+        return new DrainResult(name, terminated && queued == 0, queued, running, elapsedMillis(start));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.learningspring.threadPool.gracefulShutdown;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+//Drains every executor of the app when the context closes, so in-flight @Async work isn't lost during deploys.
+//Executor beans are found automatically; executors which are not beans (e.g. the pool in AppConfig1) must call register().
+@Component
+public class ExecutorLifecycleManager implements SmartLifecycle {
+
+    //SmartLifecycle beans with higher phase stop first. The web server stops at Integer.MAX_VALUE - 2048
+    //(after graceful shutdown of in-flight requests at Integer.MAX_VALUE - 1024), so no new tasks arrive when we drain.
+    public static final int PHASE = Integer.MAX_VALUE - 4096;
+
+    @Autowired
+    ApplicationContext applicationContext;
+
+    //Keep spring.lifecycle.timeout-per-shutdown-phase larger than this
+    @Value("${executor.shutdown.drain-timeout:20s}")
+    Duration drainTimeout;
+
+    private final Map<String, ExecutorService> registeredExecutors = new ConcurrentHashMap<>();
+    private volatile List<DrainResult> lastShutdownReport = Collections.emptyList();
+    private volatile boolean running;
+
+    public void register(String name, ExecutorService executor) {
+        registeredExecutors.put(name, executor);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        Map<String, ExecutorService> executors = collectExecutors();
+
+        //Stop intake everywhere first, then wait for all of them against one shared deadline
+        executors.values().forEach(ExecutorService::shutdown);
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+
+        List<DrainResult> report = new ArrayList<>();
+        executors.forEach((name, executor) -> report.add(ExecutorDrainer.awaitDrain(name, executor, deadline)));
+        report.forEach(result -> System.out.println("Executor shutdown: " + result));
+
+        lastShutdownReport = Collections.unmodifiableList(report);
+        running = false;
+    }
+
+    private Map<String, ExecutorService> collectExecutors() {
+        Map<String, ExecutorService> executors = new LinkedHashMap<>(registeredExecutors);
+        //allowEagerInit = false: only executors that were actually created, don't create beans during shutdown
+        applicationContext.getBeansOfType(Executor.class, false, false).forEach((name, bean) -> {
+            ExecutorService executorService = unwrap(bean);
+            if (executorService != null && !executors.containsValue(executorService)) {
+                executors.put(name, executorService);
+            }
+        });
+        return executors;
+    }
+
+    private static ExecutorService unwrap(Executor executor) {
+        if (executor instanceof ExecutorService executorService) {
+            return executorService;
+        }
+        try {
+            if (executor instanceof ThreadPoolTaskExecutor taskExecutor) {
+                return taskExecutor.getThreadPoolExecutor();
+            }
+            if (executor instanceof ThreadPoolTaskScheduler taskScheduler) {
+                return taskScheduler.getScheduledExecutor();
+            }
+        } catch (IllegalStateException e) {
+            //Not initialized, nothing to drain
+        }
+        //e.g. SimpleAsyncTaskExecutor has no queue to drain
+        return null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public List<DrainResult> getLastShutdownReport() {
+        return lastShutdownReport;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.learningspring.threadPool.gracefulShutdown;
+
+//Implemented by rejection handlers that keep tasks outside the executor's own queue (e.g. SpillToOverflowQueuePolicy).
+//shutdownNow() doesn't return those, so ExecutorDrainer asks the handler for them when the pool has stopped.
+public interface ExternallyQueuedTasks {
+
+    //Abandons the tasks still held once the executor has stopped taking them.
+    //Returns how many were abandoned since the executor was shut down
+    int abandonQueuedTasks();
+}
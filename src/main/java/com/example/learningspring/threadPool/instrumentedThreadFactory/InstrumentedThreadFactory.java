@@ -0,0 +1,122 @@
+package com.example.learningspring.threadPool.instrumentedThreadFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+//Replacement for testThreadPoolExecutor.CustomThreadFactory, which names every thread "Custom Thread".
+//Threads are named "<pool>-<n>" so thread dumps show which pool a thread belongs to, and the CPU time and heap
+//allocation of every thread are summed per pool through ThreadMXBean.
+public class InstrumentedThreadFactory implements ThreadFactory {
+
+    private static final java.lang.management.ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    //The allocation counters are only available on the HotSpot specific interface
+    private static final com.sun.management.ThreadMXBean SUN_THREAD_MX_BEAN =
+            THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean sunBean ? sunBean : null;
+
+    static {
+        if (THREAD_MX_BEAN.isThreadCpuTimeSupported() && !THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+            THREAD_MX_BEAN.setThreadCpuTimeEnabled(true);
+        }
+        if (SUN_THREAD_MX_BEAN != null && SUN_THREAD_MX_BEAN.isThreadAllocatedMemorySupported()
+                && !SUN_THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled()) {
+            SUN_THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    private final String poolName;
+    private final boolean daemon;
+    private final AtomicLong threadNumber = new AtomicLong(1);
+    private final Set<Thread> liveThreads = ConcurrentHashMap.newKeySet();
+
+    //Totals of threads which already terminated (their ThreadMXBean values are gone after they die)
+    private final LongAdder finishedCpuNanos = new LongAdder();
+    private final LongAdder finishedAllocatedBytes = new LongAdder();
+    private final LongAdder uncaughtExceptions = new LongAdder();
+
+    public InstrumentedThreadFactory(String poolName) {
+        this(poolName, false);
+    }
+
+    public InstrumentedThreadFactory(String poolName, boolean daemon) {
+        this.poolName = poolName;
+        this.daemon = daemon;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Runnable accountedRunnable = () -> {
+            try {
+                r.run();
+            } finally {
+                recordFinishedThread();
+            }
+        };
+        Thread thread = new Thread(accountedRunnable, poolName + "-" + threadNumber.getAndIncrement());
+        thread.setDaemon(daemon);
+        thread.setPriority(Thread.NORM_PRIORITY);
+        thread.setUncaughtExceptionHandler((t, ex) -> {
+            uncaughtExceptions.increment();
+            System.out.println("Uncaught exception in thread " + t.getName() + ": " + ex);
+        });
+        liveThreads.add(thread);
+        return thread;
+    }
+
+    //Runs on the terminating thread itself, so the cheaper "current thread" methods can be used
+    private void recordFinishedThread() {
+        long cpu = THREAD_MX_BEAN.isThreadCpuTimeEnabled() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+        if (cpu > 0) {
+            finishedCpuNanos.add(cpu);
+        }
+        if (SUN_THREAD_MX_BEAN != null && SUN_THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled()) {
+            long allocated = SUN_THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+            if (allocated > 0) {
+                finishedAllocatedBytes.add(allocated);
+            }
+        }
+        liveThreads.remove(Thread.currentThread());
+    }
+
+    public PoolResourceUsage getUsage() {
+        Thread[] threads = liveThreads.toArray(new Thread[0]);
+        long[] ids = new long[threads.length];
+        for (int i = 0; i < threads.length; i++) {
+            ids[i] = threads[i].getId();
+        }
+
+        long cpuNanos = finishedCpuNanos.sum();
+        long allocatedBytes = finishedAllocatedBytes.sum();
+        if (SUN_THREAD_MX_BEAN != null) {
+            //Bulk calls: one call for all live threads instead of one call per thread
+            cpuNanos += sumPositive(SUN_THREAD_MX_BEAN.getThreadCpuTime(ids));
+            allocatedBytes += sumPositive(SUN_THREAD_MX_BEAN.getThreadAllocatedBytes(ids));
+        } else {
+            for (long id : ids) {
+                cpuNanos += Math.max(0, THREAD_MX_BEAN.getThreadCpuTime(id));
+            }
+        }
+
+        return new PoolResourceUsage(poolName, threads.length, threadNumber.get() - 1,
+                TimeUnit.NANOSECONDS.toMillis(cpuNanos), allocatedBytes / (1024 * 1024), uncaughtExceptions.sum());
+    }
+
+    //-1 is returned for threads which died in the meantime or when measurement is disabled
+    private static long sumPositive(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            if (value > 0) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.learningspring.threadPool.instrumentedThreadFactory;
+
+/**
+ * CPU time and heap allocation of all threads a pool ever created (finished threads included).
+ *
+ * @param poolName           Pool name, also the thread name prefix
+ * @param liveThreads        Threads currently alive
+ * @param threadsCreated     Threads created since startup
+ * @param cpuTimeMillis      Total CPU time consumed by the pool's threads
+ * @param allocatedMegabytes Total bytes allocated on the heap by the pool's threads, in MB
+ * @param uncaughtExceptions Exceptions which reached the uncaught exception handler
+ */
+public record PoolResourceUsage(String poolName, int liveThreads, long threadsCreated, long cpuTimeMillis,
+                                long allocatedMegabytes, long uncaughtExceptions) {
+}
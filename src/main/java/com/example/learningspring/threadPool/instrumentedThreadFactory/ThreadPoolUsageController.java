@@ -0,0 +1,22 @@
+package com.example.learningspring.threadPool.instrumentedThreadFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class ThreadPoolUsageController {
+
+    @Autowired
+    ThreadPoolUsageRegistry threadPoolUsageRegistry;
+
+    /*
+    curl --location --request GET 'http://localhost:8080/threadpool/usage'
+     */
+    @GetMapping("/threadpool/usage")
+    public List<PoolResourceUsage> getUsage() {
+        return threadPoolUsageRegistry.getUsage();
+    }
+}
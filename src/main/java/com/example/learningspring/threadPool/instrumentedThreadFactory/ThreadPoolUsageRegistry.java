@@ -0,0 +1,31 @@
+package com.example.learningspring.threadPool.instrumentedThreadFactory;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Creates the thread factory of each pool and keeps it by pool name, to answer "which pool burns our CPU?"
+@Component
+public class ThreadPoolUsageRegistry {
+
+    private final Map<String, InstrumentedThreadFactory> factories = new ConcurrentHashMap<>();
+
+    public InstrumentedThreadFactory create(String poolName) {
+        InstrumentedThreadFactory factory = new InstrumentedThreadFactory(poolName);
+        if (factories.putIfAbsent(poolName, factory) != null) {
+            throw new IllegalArgumentException("Thread factory already registered for pool " + poolName);
+        }
+        return factory;
+    }
+
+    //Sorted by CPU time, highest first
+    public List<PoolResourceUsage> getUsage() {
+        List<PoolResourceUsage> usage = new ArrayList<>();
+        factories.values().forEach(factory -> usage.add(factory.getUsage()));
+        usage.sort((a, b) -> Long.compare(b.cpuTimeMillis(), a.cpuTimeMillis()));
+        return usage;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+//Fail fast instead of CallerRunsPolicy: the request thread is freed immediately and the client is told when to retry.
+//Use for pools which are fed by web requests.
+public class AbortWithRetryAfterPolicy extends CountingRejectedExecutionHandler {
+
+    private final long retryAfterSeconds;
+
+    public AbortWithRetryAfterPolicy(Duration retryAfter) {
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    protected void handleRejection(Runnable r, ThreadPoolExecutor executor) {
+        throw new ServiceOverloadedException("Executor saturated: " + executor.getActiveCount() + " active, "
+                + executor.getQueue().size() + " queued", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+//The task and the future of submitCompletable() in one object, like FutureTask is for submit().
+//CompletableFuture.supplyAsync()/completeAsync() queue a task that can't reach its future: a policy that drops it
+//could only complete the future by running it. This one is itself the future, so a dropped task is completed
+//exceptionally (CountingRejectedExecutionHandler.abandon) and never runs.
+//Dependent stages (thenApply, ...) are plain CompletableFutures, only this stage can be run.
+public class CompletableTask<T> extends CompletableFuture<T> implements Runnable {
+
+    private final Callable<T> callable;
+
+    public CompletableTask(Callable<T> callable) {
+        this.callable = callable;
+    }
+
+    public static <T> CompletableFuture<T> submit(Executor executor, Callable<T> callable) {
+        CompletableTask<T> task = new CompletableTask<>(callable);
+        executor.execute(task);
+        return task;
+    }
+
+    @Override
+    public void run() {
+        //Cancelled or abandoned while it was queued
+        if (isDone()) {
+            return;
+        }
+        try {
+            complete(callable.call());
+        } catch (Throwable e) {
+            completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+//ThreadPoolTaskExecutor whose submitCompletable() (also used for @Async methods returning CompletableFuture) queues
+//a CompletableTask, so the policies in this package can complete the future of a task they drop without running it
+public class CompletableTaskExecutor extends ThreadPoolTaskExecutor {
+
+    @Override
+    public <T> CompletableFuture<T> submitCompletable(Callable<T> task) {
+        return CompletableTask.submit(this, task);
+    }
+
+    @Override
+    public CompletableFuture<Void> submitCompletable(Runnable task) {
+        return CompletableTask.submit(this, Executors.callable(task, null));
+    }
+}
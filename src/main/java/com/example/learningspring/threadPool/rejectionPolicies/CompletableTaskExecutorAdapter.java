@@ -0,0 +1,27 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+//The same as CompletableTaskExecutor for a plain Executor (e.g. a ThreadPoolExecutor returned by an AsyncConfigurer,
+//which Spring would otherwise wrap in a TaskExecutorAdapter)
+public class CompletableTaskExecutorAdapter extends TaskExecutorAdapter {
+
+    public CompletableTaskExecutorAdapter(Executor executor) {
+        super(executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submitCompletable(Callable<T> task) {
+        return CompletableTask.submit(this, task);
+    }
+
+    @Override
+    public CompletableFuture<Void> submitCompletable(Runnable task) {
+        return CompletableTask.submit(this, Executors.callable(task, null));
+    }
+}
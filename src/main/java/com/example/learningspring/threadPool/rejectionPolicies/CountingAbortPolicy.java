@@ -0,0 +1,14 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+//Same as ThreadPoolExecutor.AbortPolicy (the default), with counters
+public class CountingAbortPolicy extends CountingRejectedExecutionHandler {
+
+    private final ThreadPoolExecutor.AbortPolicy delegate = new ThreadPoolExecutor.AbortPolicy();
+
+    @Override
+    protected void handleRejection(Runnable r, ThreadPoolExecutor executor) {
+        delegate.rejectedExecution(r, executor);
+    }
+}
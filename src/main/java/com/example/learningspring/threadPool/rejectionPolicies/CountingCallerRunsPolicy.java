@@ -0,0 +1,19 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+//Same as ThreadPoolExecutor.CallerRunsPolicy, with counters to see how often request threads end up running pool work
+public class CountingCallerRunsPolicy extends CountingRejectedExecutionHandler {
+
+    private final ThreadPoolExecutor.CallerRunsPolicy delegate = new ThreadPoolExecutor.CallerRunsPolicy();
+
+    @Override
+    protected void handleRejection(Runnable r, ThreadPoolExecutor executor) {
+        //CallerRunsPolicy silently discards the task once the pool is shut down
+        if (executor.isShutdown()) {
+            abandon(r);
+            return;
+        }
+        delegate.rejectedExecution(r, executor);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import com.example.learningspring.javaConcepts.concurrency.cancellation.CancellationToken;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+//Base class of all policies in this package: counts every rejection, subclasses count what they did with it
+public abstract class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+    private static final CancellationToken CANCELLED = cancelledToken();
+    private static final CancellationToken EXPIRED = CancellationToken.withTimeout(Duration.ZERO);
+
+    private final LongAdder rejections = new LongAdder();
+
+    @Override
+    public final void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        rejections.increment();
+        handleRejection(r, executor);
+    }
+
+    protected abstract void handleRejection(Runnable r, ThreadPoolExecutor executor);
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("rejections", getRejections());
+        addCounters(counters);
+        return counters;
+    }
+
+    protected void addCounters(Map<String, Long> counters) {
+    }
+
+    //For tasks that are shed, dropped or left over at shutdown: whoever waits on the task's future must not hang forever.
+    //The task that was submitted is found through DeadlineTask (which also wraps the tasks of TaskDecorators in this repo)
+    //and handed to CancellationToken.abandon() with a cancelled token. It is never run (often this is the submitting
+    //thread, which must not do the pool's work):
+    //- a FutureTask (submit()) is cancelled
+    //- a CompletableTask (submitCompletable() of CompletableTaskExecutor) fails with CancellationException
+    //- a plain Runnable has nobody waiting on it, nor has a CompletableFuture.supplyAsync() task (it can't reach its
+    //  future, submit through CompletableTaskExecutor instead)
+    public static void abandon(Runnable task) {
+        abandon(task, CANCELLED);
+    }
+
+    //The same for a DeadlineTask past its deadline: the token is expired, so its future fails with DeadlineExceededException
+    public static void abandonExpired(Runnable task) {
+        abandon(task, EXPIRED);
+    }
+
+    private static void abandon(Runnable task, CancellationToken token) {
+        Runnable submitted = task;
+        //A policy that re-executes a rejected task gets it decorated a second time
+        while (submitted instanceof DeadlineTask deadlineTask) {
+            submitted = deadlineTask.getSubmittedTask();
+        }
+        token.abandon(submitted);
+    }
+
+    private static CancellationToken cancelledToken() {
+        CancellationToken token = CancellationToken.create();
+        token.cancel();
+        return token;
+    }
+}
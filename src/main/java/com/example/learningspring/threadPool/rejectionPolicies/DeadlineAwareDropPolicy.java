@@ -0,0 +1,50 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+//On rejection, first removes queued DeadlineTasks whose deadline has passed (nobody is waiting for them anymore),
+//then retries. If the queue is still full, the fallback policy decides.
+public class DeadlineAwareDropPolicy extends CountingRejectedExecutionHandler {
+
+    private final RejectedExecutionHandler fallback;
+    private final LongAdder expiredTasksDropped = new LongAdder();
+
+    public DeadlineAwareDropPolicy(RejectedExecutionHandler fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    protected void handleRejection(Runnable r, ThreadPoolExecutor executor) {
+        long now = System.nanoTime();
+        if (r instanceof DeadlineTask deadlineTask && deadlineTask.isExpired(now)) {
+            expiredTasksDropped.increment();
+            abandonExpired(r);
+            return;
+        }
+        if (!executor.isShutdown()) {
+            List<Runnable> expired = new ArrayList<>();
+            for (Runnable task : executor.getQueue()) {
+                if (task instanceof DeadlineTask deadlineTask && deadlineTask.isExpired(now) && executor.getQueue().remove(task)) {
+                    expired.add(task);
+                }
+            }
+            if (!expired.isEmpty()) {
+                expiredTasksDropped.add(expired.size());
+                expired.forEach(CountingRejectedExecutionHandler::abandonExpired);
+                executor.execute(r);
+                return;
+            }
+        }
+        fallback.rejectedExecution(r, executor);
+    }
+
+    @Override
+    protected void addCounters(Map<String, Long> counters) {
+        counters.put("expiredTasksDropped", expiredTasksDropped.sum());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import java.time.Duration;
+
+//A task which is worthless after its deadline (e.g. the HTTP client will have timed out by then)
+public class DeadlineTask implements Runnable {
+
+    private final Runnable task;
+    private final Runnable submittedTask;
+    private final long deadlineNanos;
+
+    public DeadlineTask(Runnable task, Duration timeout) {
+        this(task, task, timeout);
+    }
+
+    //For a TaskDecorator: task is the decorated task, submittedTask the one the executor got (e.g. the FutureTask of
+    //submit()), which has to be cancelled when the task doesn't run
+    public DeadlineTask(Runnable task, Runnable submittedTask, Duration timeout) {
+        this.task = task;
+        this.submittedTask = submittedTask;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public boolean isExpired(long nowNanos) {
+        return nowNanos - deadlineNanos >= 0;
+    }
+
+    public Runnable getSubmittedTask() {
+        return submittedTask;
+    }
+
+    @Override
+    public void run() {
+        //Skip the work if the task waited in the queue past its deadline, but don't leave its future incomplete
+        if (isExpired(System.nanoTime())) {
+            CountingRejectedExecutionHandler.abandonExpired(this);
+        } else {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Creates the rejection policy of each pool and keeps it by pool name, so the counters of all pools can be read in one place.
+//Pool configs choose their policy with a property, e.g. async.appConfig1.rejection-policy=ABORT_WITH_RETRY_AFTER
+@Component
+public class RejectionPolicyFactory {
+
+    @Value("${threadpool.rejection.overflow-capacity:100}")
+    int overflowCapacity;
+
+    @Value("${threadpool.rejection.retry-after:5s}")
+    Duration retryAfter;
+
+    private final Map<String, CountingRejectedExecutionHandler> policiesByPool = new ConcurrentHashMap<>();
+
+    public CountingRejectedExecutionHandler create(String poolName, RejectionPolicyType type) {
+        CountingRejectedExecutionHandler policy = switch (type) {
+            case ABORT -> new CountingAbortPolicy();
+            case CALLER_RUNS -> new CountingCallerRunsPolicy();
+            case SHED_OLDEST -> new ShedOldestPolicy();
+            case DEADLINE_AWARE_DROP -> new DeadlineAwareDropPolicy(new AbortWithRetryAfterPolicy(retryAfter));
+            case SPILL_TO_OVERFLOW -> new SpillToOverflowQueuePolicy(overflowCapacity, retryAfter);
+            case ABORT_WITH_RETRY_AFTER -> new AbortWithRetryAfterPolicy(retryAfter);
+        };
+        policiesByPool.put(poolName, policy);
+        return policy;
+    }
+
+    public Map<String, Map<String, Long>> getCounters() {
+        Map<String, Map<String, Long>> counters = new LinkedHashMap<>();
+        policiesByPool.forEach((pool, policy) -> counters.put(pool, policy.getCounters()));
+        return counters;
+    }
+}
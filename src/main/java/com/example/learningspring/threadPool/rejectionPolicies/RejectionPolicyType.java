@@ -0,0 +1,12 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+public enum RejectionPolicyType {
+    //JDK defaults, with counters
+    ABORT,
+    CALLER_RUNS,
+    //Policies of this package
+    SHED_OLDEST,
+    DEADLINE_AWARE_DROP,
+    SPILL_TO_OVERFLOW,
+    ABORT_WITH_RETRY_AFTER
+}
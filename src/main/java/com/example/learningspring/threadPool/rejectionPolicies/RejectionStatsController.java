@@ -0,0 +1,22 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class RejectionStatsController {
+
+    @Autowired
+    RejectionPolicyFactory rejectionPolicyFactory;
+
+    /*
+    curl --location --request GET 'http://localhost:8080/threadpool/rejections'
+     */
+    @GetMapping("/threadpool/rejections")
+    public Map<String, Map<String, Long>> getRejectionCounters() {
+        return rejectionPolicyFactory.getCounters();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import java.util.concurrent.RejectedExecutionException;
+
+//Thrown when a pool is saturated. GlobalExceptionHandling turns it into 503 Service Unavailable with a Retry-After header
+public class ServiceOverloadedException extends RejectedExecutionException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
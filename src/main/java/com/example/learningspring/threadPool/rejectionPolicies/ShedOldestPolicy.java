@@ -0,0 +1,32 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+//Like DiscardOldestPolicy: the oldest queued task is the most likely to be useless already (its caller may have given up),
+//so drop it and queue the new one. Shed tasks are never run: they are abandoned, i.e. their futures are completed with
+//CancellationException (see CountingRejectedExecutionHandler.abandon), so nobody waits on them forever.
+public class ShedOldestPolicy extends CountingRejectedExecutionHandler {
+
+    private final LongAdder shedTasks = new LongAdder();
+
+    @Override
+    protected void handleRejection(Runnable r, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            abandon(r);
+            return;
+        }
+        Runnable oldest = executor.getQueue().poll();
+        if (oldest != null) {
+            shedTasks.increment();
+            abandon(oldest);
+        }
+        executor.execute(r);
+    }
+
+    @Override
+    protected void addCounters(Map<String, Long> counters) {
+        counters.put("shedTasks", shedTasks.sum());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.learningspring.threadPool.rejectionPolicies;
+
+import com.example.learningspring.threadPool.gracefulShutdown.ExternallyQueuedTasks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+//Absorbs short bursts: rejected tasks go to a bounded overflow queue and a single daemon thread moves them back into
+//the pool's queue as soon as it has space. Only when the overflow queue is full as well, the request fails with 503.
+public class SpillToOverflowQueuePolicy extends CountingRejectedExecutionHandler implements ExternallyQueuedTasks {
+
+    private final BlockingQueue<Runnable> overflow;
+    private final long retryAfterSeconds;
+    private final LongAdder spilledTasks = new LongAdder();
+    private final LongAdder overflowRejections = new LongAdder();
+    private final AtomicInteger abandonedOnShutdown = new AtomicInteger();
+    private volatile Thread refillThread;
+
+    public SpillToOverflowQueuePolicy(int overflowCapacity, Duration retryAfter) {
+        this.overflow = new ArrayBlockingQueue<>(overflowCapacity);
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    protected void handleRejection(Runnable r, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            abandon(r);
+            return;
+        }
+        if (!overflow.offer(r)) {
+            overflowRejections.increment();
+            throw new ServiceOverloadedException("Executor and overflow queue saturated", retryAfterSeconds);
+        }
+        spilledTasks.increment();
+        startRefillThread(executor);
+    }
+
+    private void startRefillThread(ThreadPoolExecutor executor) {
+        if (refillThread != null) {
+            return;
+        }
+        synchronized (this) {
+            if (refillThread == null) {
+                Thread thread = new Thread(() -> refill(executor), "overflow-refill");
+                thread.setDaemon(true);
+                thread.start();
+                refillThread = thread;
+            }
+        }
+    }
+
+    //Moves overflow tasks into the pool's queue as workers make room. After shutdown() the workers still empty the queue,
+    //so this keeps refilling until the pool has terminated, then abandons whatever could not be handed over
+    private void refill(ThreadPoolExecutor executor) {
+        try {
+            while (!executor.isTerminated()) {
+                Runnable task = overflow.poll(1, TimeUnit.SECONDS);
+                if (task != null && !handOver(task, executor)) {
+                    abandonOnShutdown(task);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        //Tasks that reached the queue while the last worker was exiting are not run by anyone either
+        Runnable task;
+        while ((task = executor.getQueue().poll()) != null) {
+            abandonOnShutdown(task);
+        }
+        abandonQueuedTasks();
+    }
+
+    //Waits for room in the pool's queue, false if the pool terminated meanwhile
+    private static boolean handOver(Runnable task, ThreadPoolExecutor executor) throws InterruptedException {
+        while (!executor.getQueue().offer(task, 100, TimeUnit.MILLISECONDS)) {
+            if (executor.isTerminated()) {
+                return false;
+            }
+        }
+        //Tasks put directly in the queue don't start threads, make sure a core thread exists to take it.
+        //After shutdown() no thread is started, the remaining workers take it or the loop above finds it after termination
+        executor.prestartCoreThread();
+        return true;
+    }
+
+    private void abandonOnShutdown(Runnable task) {
+        abandonedOnShutdown.incrementAndGet();
+        abandon(task);
+    }
+
+    @Override
+    public int abandonQueuedTasks() {
+        Runnable task;
+        while ((task = overflow.poll()) != null) {
+            abandonOnShutdown(task);
+        }
+        return abandonedOnShutdown.get();
+    }
+
+    public int getOverflowSize() {
+        return overflow.size();
+    }
+
+    @Override
+    protected void addCounters(Map<String, Long> counters) {
+        counters.put("spilledTasks", spilledTasks.sum());
+        counters.put("overflowRejections", overflowRejections.sum());
+        counters.put("overflowSize", (long) overflow.size());
+        counters.put("abandonedOnShutdown", (long) abandonedOnShutdown.get());
+    }
+}
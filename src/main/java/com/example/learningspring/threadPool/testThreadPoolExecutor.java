@@ -1,13 +1,15 @@
 package com.example.learningspring.threadPool;
 
-import com.zaxxer.hikari.util.UtilityElf;
+import com.example.learningspring.threadPool.gracefulShutdown.ExecutorDrainer;
 
+import java.time.Duration;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class testThreadPoolExecutor {
     public static void main(String[] args) {
@@ -29,13 +31,18 @@ public class testThreadPoolExecutor {
             });
         }
 
-        executor.shutdown();
+        //shutdown() only stops intake. Wait for queued tasks up to a deadline and report anything that didn't finish
+        System.out.println(ExecutorDrainer.drain("testThreadPoolExecutor", executor, Duration.ofSeconds(30)));
     }
 
+    //For production use see instrumentedThreadFactory.InstrumentedThreadFactory (uncaught exception handler, CPU accounting)
     public class CustomThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
         @Override
         public Thread newThread(Runnable r) {
-            Thread thread = new Thread(r, "Custom Thread");
+            //Unique names, otherwise all threads look the same in a thread dump
+            Thread thread = new Thread(r, "Custom-Thread-" + threadNumber.getAndIncrement());
             thread.setDaemon(false);
             thread.setPriority(Thread.NORM_PRIORITY);
             return thread;
@@ -0,0 +1,109 @@
+package com.example.learningspring.aop;
+
+import com.example.learningspring.interceptorsAndFilters.customAnnotation.MyCustomAnnotationInterceptor;
+import com.example.learningspring.interceptorsAndFilters.customAnnotation.MyCustomAnnotationMetadataCache;
+import com.example.learningspring.interceptorsAndFilters.customAnnotation.TestCustomAnnotation;
+import com.example.learningspring.metrics.MetricRegistry;
+import org.aspectj.lang.Aspects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per call cost of ExecutionAop (timing every call) and MyCustomAnnotationInterceptor (without the log lines), applied
+ * through Spring AOP proxies or woven into the advised classes at load time. The mode depends on whether the JVM runs
+ * with the AspectJ weaver agent, run the benchmark in both modes and compare: the difference is the proxy and its
+ * interceptor chain. plainCall is the same work without any advice.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.includes=AspectWeaving
+ * and:      mvn -Pjmh,aspectj-ltw test-compile exec:exec -Djmh.includes=AspectWeaving
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AspectWeavingBenchmark {
+
+    private PlainService plainService;
+    private TimedController timedHandler;
+    private TestCustomAnnotation annotatedMethod;
+
+    @Setup
+    public void setUp() {
+        boolean woven = ClassUtils.getStaticMethod(ExecutionAop.class, "aspectOf") != null;
+        System.out.println(woven ? "Aspects woven at load time" : "Aspects applied through Spring AOP proxies");
+
+        //Woven, the advice always runs on AspectJ's instance of the aspect
+        ExecutionAop timing = woven ? Aspects.aspectOf(ExecutionAop.class) : new ExecutionAop();
+        timing.metricRegistry = new MetricRegistry();
+        timing.setTimingEnabled(true);
+        timing.setSampleRate(1.0);
+
+        MyCustomAnnotationInterceptor annotationAdvice = woven
+                ? Aspects.aspectOf(MyCustomAnnotationInterceptor.class) : new MyCustomAnnotationInterceptor();
+        ReflectionTestUtils.setField(annotationAdvice, "metadataCache", new MyCustomAnnotationMetadataCache());
+        ReflectionTestUtils.setField(annotationAdvice, "traceCalls", false);
+
+        plainService = new PlainService();
+        timedHandler = woven ? new TimedController() : proxy(new TimedController(), timing);
+        annotatedMethod = woven ? new TestCustomAnnotation() : proxy(new TestCustomAnnotation(), annotationAdvice);
+    }
+
+    private static <T> T proxy(T target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Benchmark
+    public String plainCall() {
+        return plainService.getUserData();
+    }
+
+    @Benchmark
+    public String timedHandler() {
+        return timedHandler.getUserData();
+    }
+
+    @Benchmark
+    public String annotatedMethod() {
+        return annotatedMethod.getUserData();
+    }
+
+    public static class PlainService {
+        public String getUserData() {
+            return "User Data";
+        }
+    }
+
+    @RestController
+    public static class TimedController {
+        public String getUserData() {
+            return "User Data";
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AspectWeavingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.learningspring.async.forkJoinTaskExecutor;
+
+import com.example.learningspring.async.bestPracticeForConfig.AppConfig1;
+import com.example.learningspring.async.customThreadPoolTaskExecutor.AppConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submit-to-complete latency of a small CPU bound task on the app's executors, at 1/4/16/64 producer threads.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.includes=ExecutorSubmitLatency
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutorSubmitLatencyBenchmark {
+
+    @Param({"appConfig1", "customTaskExecutor", "testThreadPoolExecutor", "forkJoinTaskExecutor"})
+    String executorName;
+
+    private Executor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = switch (executorName) {
+            case "appConfig1" -> new AppConfig1().getAsyncExecutor();
+            case "customTaskExecutor" -> {
+                ThreadPoolTaskExecutor taskExecutor = (ThreadPoolTaskExecutor) new AppConfig().customTaskExecutor();
+                // The bean uses AbortPolicy with a queue of 3, which would reject most tasks at 16+ producers
+                taskExecutor.getThreadPoolExecutor().setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+                yield taskExecutor;
+            }
+            // Same settings as the pool in threadPool.testThreadPoolExecutor
+            case "testThreadPoolExecutor" -> new ThreadPoolExecutor(2, 3, 1, TimeUnit.MINUTES,
+                    new LinkedBlockingQueue<>(2), new ThreadPoolExecutor.CallerRunsPolicy());
+            case "forkJoinTaskExecutor" -> new AppConfig4().forkJoinTaskExecutor();
+            default -> throw new IllegalArgumentException("Unknown executor: " + executorName);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor taskExecutor) {
+            taskExecutor.shutdown();
+        } else if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private long submitAndWait() {
+        return CompletableFuture.supplyAsync(ExecutorSubmitLatencyBenchmark::cpuBoundTask, executor).join();
+    }
+
+    private static long cpuBoundTask() {
+        long hash = 17;
+        for (int i = 0; i < 200; i++) {
+            hash = 31 * hash + i;
+        }
+        return hash;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long producers01() {
+        return submitAndWait();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long producers04() {
+        return submitAndWait();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long producers16() {
+        return submitAndWait();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long producers64() {
+        return submitAndWait();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExecutorSubmitLatencyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
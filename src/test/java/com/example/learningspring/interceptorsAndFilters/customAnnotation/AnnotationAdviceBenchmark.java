@@ -0,0 +1,131 @@
+package com.example.learningspring.interceptorsAndFilters.customAnnotation;
+
+import com.example.learningspring.metrics.AsyncLogAppender;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of calling a @MyCustomAnnotation method through a Spring AOP proxy: without advice, with advice that reads
+ * the annotation reflectively on every call (as MyCustomAnnotationInterceptor did, minus the console output), and
+ * with MyCustomAnnotationInterceptor and its metadata cache, with and without the before/after log lines. The advice
+ * overhead is the difference to the proxy without advice.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.includes=AnnotationAdvice
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotationAdviceBenchmark {
+
+    private TestCustomAnnotation proxyWithoutAdvice;
+    private TestCustomAnnotation reflectiveAdvice;
+    private TestCustomAnnotation cachedAdvice;
+    private TestCustomAnnotation cachedAdviceWithTrace;
+    private AsyncLogAppender log;
+
+    @Setup
+    public void setUp() {
+        TestCustomAnnotation target = new TestCustomAnnotation();
+
+        proxyWithoutAdvice = proxy(target, null);
+        reflectiveAdvice = proxy(target, new ReflectiveAdvice());
+
+        MyCustomAnnotationMetadataCache metadataCache = new MyCustomAnnotationMetadataCache();
+        metadataCache.postProcessBeforeInitialization(target, "testCustomAnnotation");
+        log = new AsyncLogAppender(new PrintStream(OutputStream.nullOutputStream()));
+        log.start();
+        cachedAdvice = proxy(target, interceptor(metadataCache, false));
+        cachedAdviceWithTrace = proxy(target, interceptor(metadataCache, true));
+    }
+
+    @TearDown
+    public void tearDown() {
+        log.stop();
+    }
+
+    private MyCustomAnnotationInterceptor interceptor(MyCustomAnnotationMetadataCache metadataCache, boolean traceCalls) {
+        MyCustomAnnotationInterceptor interceptor = new MyCustomAnnotationInterceptor();
+        interceptor.metadataCache = metadataCache;
+        interceptor.log = log;
+        interceptor.traceCalls = traceCalls;
+        return interceptor;
+    }
+
+    private static TestCustomAnnotation proxy(TestCustomAnnotation target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        if (aspect != null) {
+            factory.addAspect(aspect);
+        }
+        return factory.getProxy();
+    }
+
+    @Benchmark
+    public String proxyWithoutAdvice() {
+        return proxyWithoutAdvice.getUserData();
+    }
+
+    @Benchmark
+    public String reflectiveAdvice() {
+        return reflectiveAdvice.getUserData();
+    }
+
+    @Benchmark
+    public String cachedAdvice() {
+        return cachedAdvice.getUserData();
+    }
+
+    @Benchmark
+    public String cachedAdviceWithTrace() {
+        return cachedAdviceWithTrace.getUserData();
+    }
+
+    @Aspect
+    public static class ReflectiveAdvice {
+        @Around("@annotation(com.example.learningspring.interceptorsAndFilters.customAnnotation.MyCustomAnnotation)")
+        public Object invoke(ProceedingJoinPoint joinPoint) throws Throwable {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            if (method.isAnnotationPresent(MyCustomAnnotation.class)) {
+                MyCustomAnnotation annotation = method.getAnnotation(MyCustomAnnotation.class);
+                consume(annotation.intKey(), annotation.stringKey(), annotation.classKey(), annotation.enumKey());
+            }
+            return joinPoint.proceed();
+        }
+
+        private static volatile Object sink;
+
+        private static void consume(int intKey, String stringKey, Class<?> classKey, MyCustomEnum enumKey) {
+            sink = intKey + stringKey.length() + classKey.hashCode() + enumKey.ordinal();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AnnotationAdviceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
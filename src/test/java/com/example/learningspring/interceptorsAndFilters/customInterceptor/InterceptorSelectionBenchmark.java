@@ -0,0 +1,93 @@
+package com.example.learningspring.interceptorsAndFilters.customInterceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selecting the interceptors for one request with n path based registrations: a MappedInterceptor per
+ * registration (what InterceptorRegistry builds) vs CompiledInterceptorChain, by handler pattern (cached)
+ * and by path (trie walk).
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.includes=InterceptorSelection
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorSelectionBenchmark {
+
+    private static final String PATH = "/service7/orders/42";
+
+    @Param({"10", "100", "1000"})
+    public int registrations;
+
+    private final List<MappedInterceptor> mappedInterceptors = new ArrayList<>();
+    private CompiledInterceptorChain chain;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        CompiledInterceptorChain.Builder builder = CompiledInterceptorChain.builder();
+        for (int i = 0; i < registrations; i++) {
+            HandlerInterceptor interceptor = new HandlerInterceptor() {
+            };
+            String[] includes = {"/service" + i + "/**"};
+            String[] excludes = {"/service" + i + "/internal/*"};
+            mappedInterceptors.add(new MappedInterceptor(includes, excludes, interceptor));
+            builder.add(interceptor).addPathPatterns(includes).excludePathPatterns(excludes);
+        }
+        chain = builder.build();
+        request = new MockHttpServletRequest("GET", PATH);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/service7/orders/{id}");
+        ServletRequestPathUtils.parseAndCache(request);
+    }
+
+    @Benchmark
+    public int mappedInterceptors() {
+        int selected = 0;
+        for (MappedInterceptor interceptor : mappedInterceptors) {
+            if (interceptor.matches(request)) {
+                selected++;
+            }
+        }
+        return selected;
+    }
+
+    @Benchmark
+    public int compiledByHandlerPattern() {
+        return chain.select(request).length;
+    }
+
+    @Benchmark
+    public int compiledByPath() {
+        return chain.selectForPath(PATH).length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InterceptorSelectionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
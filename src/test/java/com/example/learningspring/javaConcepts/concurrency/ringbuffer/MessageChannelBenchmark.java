@@ -0,0 +1,138 @@
+package com.example.learningspring.javaConcepts.concurrency.ringbuffer;
+
+import com.example.learningspring.javaConcepts.concurrency.producerconsumer.MessageChannel;
+import com.example.learningspring.javaConcepts.concurrency.producerconsumer.ProducerConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One producer thread to one consumer (the benchmark thread): messages per second through MessageRepo,
+ * ArrayBlockingQueue and the ring buffers. The "-drain" variants consume with RingBuffer.drain().
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.includes=MessageChannel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageChannelBenchmark {
+
+    private static final int MESSAGES_PER_OP = 1024;
+    private static final String MESSAGE = "message";
+
+    @Param({"messageRepo", "arrayBlockingQueue", "spsc", "spsc-drain", "mpmc", "mpmc-drain"})
+    String impl;
+
+    @Param({"YIELD"})
+    WaitStrategy waitStrategy;
+
+    private MessageChannel<String> channel;
+    private RingBuffer<String> drainBuffer;
+    private Thread producer;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        channel = switch (impl) {
+            case "messageRepo" -> new ProducerConsumer.MessageRepo(false);
+            case "arrayBlockingQueue" -> new BlockingQueueChannel(1024);
+            case "spsc", "spsc-drain" -> new SpscRingBuffer<>(1024, waitStrategy);
+            case "mpmc", "mpmc-drain" -> new MpmcRingBuffer<>(1024, waitStrategy);
+            default -> throw new IllegalArgumentException("Unknown channel: " + impl);
+        };
+        drainBuffer = impl.endsWith("-drain") ? (RingBuffer<String>) channel : null;
+
+        running = true;
+        producer = new Thread(() -> {
+            while (running) {
+                channel.write(MESSAGE);
+            }
+        }, "Benchmark-Producer");
+        // The producer may stay blocked on a full channel after the trial, don't let it keep the fork alive
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        running = false;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_OP)
+    public void transfer(Blackhole blackhole) {
+        if (drainBuffer != null) {
+            int received = 0;
+            while (received < MESSAGES_PER_OP) {
+                int drained = drainBuffer.drain(blackhole::consume, MESSAGES_PER_OP - received);
+                if (drained == 0) {
+                    // Wait for the next message like read() would, then continue draining
+                    blackhole.consume(drainBuffer.read());
+                    drained = 1;
+                }
+                received += drained;
+            }
+        } else {
+            for (int i = 0; i < MESSAGES_PER_OP; i++) {
+                blackhole.consume(channel.read());
+            }
+        }
+    }
+
+    /**
+     * ArrayBlockingQueue behind the MessageChannel API, as the JDK baseline.
+     */
+    static class BlockingQueueChannel implements MessageChannel<String> {
+
+        private final ArrayBlockingQueue<String> queue;
+
+        BlockingQueueChannel(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void write(String message) {
+            try {
+                queue.put(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public String read() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MessageChannelBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.learningspring.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cost of recording one request from 4 threads at once: synchronized and AtomicLong counters vs Counter,
+ * and a shared AtomicLongArray histogram vs LatencyRecorder.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.includes=MetricsContention
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class MetricsContentionBenchmark {
+
+    private long synchronizedCount;
+    private final AtomicLong atomicCount = new AtomicLong();
+    private final Counter counter = new Counter();
+    private final AtomicLongArray sharedBuckets = new AtomicLongArray(64);
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final MaxGauge maxGauge = new MaxGauge(0);
+
+    @Benchmark
+    public void synchronizedCounter() {
+        synchronized (this) {
+            synchronizedCount++;
+        }
+    }
+
+    @Benchmark
+    public long atomicLongCounter() {
+        return atomicCount.incrementAndGet();
+    }
+
+    @Benchmark
+    public void stripedCounter() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void sharedHistogram() {
+        long nanos = ThreadLocalRandom.current().nextLong(1_000, 10_000_000);
+        sharedBuckets.incrementAndGet(64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    @Benchmark
+    public void latencyRecorder() {
+        recorder.record(ThreadLocalRandom.current().nextLong(1_000, 10_000_000));
+    }
+
+    @Benchmark
+    public void maxGauge() {
+        maxGauge.update(ThreadLocalRandom.current().nextLong(1_000, 10_000_000));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MetricsContentionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}